@@ -0,0 +1,74 @@
+package com.academy.actuator;
+
+import com.academy.cache.CacheMetrics;
+import com.academy.cache.TwoLevelCacheManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Actuator endpoint showing how each cache behaves and evicting caches or single keys
+ * Exposed at {@code /actuator/cacheadmin}; {@code DELETE /actuator/cacheadmin/{cache}} clears a cache
+ * and {@code ?key=student:42} evicts one key, on every node. Numbers are this node's since start;
+ * the same series are in the academy.cache.* metrics.
+ */
+@Component
+@Endpoint(id = "cacheadmin")
+@RequiredArgsConstructor
+public class CacheAdminEndpoint {
+
+    private final CacheManager cacheManager;
+    private final CacheMetrics cacheMetrics;
+
+    @ReadOperation
+    public List<CacheStatus> caches() {
+        return cacheManager.getCacheNames().stream().sorted().map(this::status).toList();
+    }
+
+    @ReadOperation
+    public CacheStatus cache(@Selector String name) {
+        return cacheManager.getCacheNames().contains(name) ? status(name) : null;
+    }
+
+    @DeleteOperation
+    public Invalidation invalidate(@Selector String name, @Nullable String key) {
+        if (!cacheManager.getCacheNames().contains(name)) {
+            return null;
+        }
+        Cache cache = cacheManager.getCache(name);
+        if (key != null) {
+            return new Invalidation(name, key, cache.evictIfPresent(key));
+        }
+        cache.clear();
+        return new Invalidation(name, null, true);
+    }
+
+    private CacheStatus status(String name) {
+        return new CacheStatus(ttlOf(name), cacheMetrics.summarize(name));
+    }
+
+    private Duration ttlOf(String name) {
+        Cache shared = cacheManager instanceof TwoLevelCacheManager twoLevel
+            ? twoLevel.getSharedCache(name) : cacheManager.getCache(name);
+        return shared instanceof RedisCache redisCache ? redisCache.getCacheConfiguration().getTtl() : null;
+    }
+
+    public record CacheStatus(Duration ttl, CacheMetrics.Summary stats) {
+    }
+
+    /**
+     * @param removed whether the key was present in Redis; always true for a whole cache
+     */
+    public record Invalidation(String cache, String key, boolean removed) {
+    }
+}
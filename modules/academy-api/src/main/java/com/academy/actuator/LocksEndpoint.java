@@ -0,0 +1,52 @@
+package com.academy.actuator;
+
+import com.academy.service.CustomLockService;
+import com.academy.service.DistributedSemaphoreService;
+import com.academy.service.LeaseWatchdog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Actuator endpoint listing the locks and semaphore permits this node currently holds, oldest first
+ * Exposed at {@code /actuator/locks}; contention over time is in the academy.lock.* metrics.
+ */
+@Component
+@Endpoint(id = "locks")
+@RequiredArgsConstructor
+public class LocksEndpoint {
+
+    private final LeaseWatchdog leaseWatchdog;
+    private final CustomLockService customLockService;
+
+    @ReadOperation
+    public List<HeldLock> heldLocks() {
+        Instant now = Instant.now();
+        List<HeldLock> held = new ArrayList<>();
+
+        for (LeaseWatchdog.Lease lease : leaseWatchdog.getHeldLeases()) {
+            boolean permit = lease.getRedisKey().startsWith(DistributedSemaphoreService.PERMIT_PREFIX);
+            String mode = permit ? "PERMIT" : lease.getToken().startsWith("r:") ? "SHARED" : "EXCLUSIVE";
+            held.add(new HeldLock(permit ? "semaphore" : "distributed", lease.getRedisKey(), mode,
+                lease.getAcquiredAt(), Duration.between(lease.getAcquiredAt(), now).toMillis(), lease.getHoldDeadline()));
+        }
+        for (CustomLockService.LockMetadata lock : customLockService.getHeldLocks()) {
+            held.add(new HeldLock("custom", lock.getLockKey(), "EXCLUSIVE", lock.getAcquiredAt(),
+                Duration.between(lock.getAcquiredAt(), now).toMillis(), lock.getAcquiredAt().plus(lock.getTimeout())));
+        }
+
+        held.sort(Comparator.comparing(HeldLock::acquiredAt));
+        return held;
+    }
+
+    public record HeldLock(String type, String key, String mode, Instant acquiredAt, long ageMs,
+                           Instant holdDeadline) {
+    }
+}
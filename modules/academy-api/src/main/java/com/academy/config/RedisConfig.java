@@ -1,17 +1,21 @@
 package com.academy.config;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.academy.cache.CacheInvalidationBus;
+import com.academy.cache.CacheLoadCoordinator;
+import com.academy.cache.CacheMetrics;
+import com.academy.cache.CacheValueCodec;
+import com.academy.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
@@ -21,14 +25,19 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Redis configuration for production-ready caching using Spring Cache abstraction
  * - Configures connection pooling with Lettuce
- * - Sets up JSON serialization
+ * - Serves hot reads from a bounded in-heap near-cache, invalidated across nodes over pub/sub
+ * - Loads a missing key once across concurrent readers and nodes, and refreshes hot keys before they expire
+ * - Clears whole caches with SCAN, never KEYS; writes normally evict by key and bump list tags instead
+ * - Stores cache values as typed JSON or Smile, LZ4-compressed when large, chosen per cache
  * - Configures TTL for cache keys per cache name
+ * - Reports hits, misses, load time, evictions, encoded sizes and key counts per cache name
  * - Uses standard Spring Cache annotations (@Cacheable, @CacheEvict, etc.)
  */
 @Configuration
@@ -64,16 +73,8 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
         
-        // Use JSON serializer for values
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        objectMapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
-        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.activateDefaultTyping(
-            LaissezFaireSubTypeValidator.instance,
-            ObjectMapper.DefaultTyping.NON_FINAL,
-            JsonTypeInfo.As.WRAPPER_ARRAY
-        );
+        // Use JSON serializer for values, typed the same way as cache values
+        ObjectMapper objectMapper = CacheValueCodec.typedObjectMapper(new JsonFactory());
 
         GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
         template.setValueSerializer(jsonSerializer);
@@ -84,29 +85,24 @@ public class RedisConfig {
     }
     
     /**
-     * Configure Redis Cache Manager with TTL support
-     * Different cache names can have different TTL values
+     * Configure the two-level Cache Manager: a Caffeine near-cache per cache name in front of Redis
+     * Different cache names can have different TTL values in both levels (academy.cache.local for L1)
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Configure JSON serialization for cache values
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        objectMapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
-        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.activateDefaultTyping(
-            LaissezFaireSubTypeValidator.instance,
-            ObjectMapper.DefaultTyping.NON_FINAL,
-            JsonTypeInfo.As.WRAPPER_ARRAY
-        );
-        
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, NearCacheProperties nearCacheProperties,
+                                     CacheCodecProperties codecProperties, CacheInvalidationBus invalidationBus,
+                                     CacheLoadCoordinator loadCoordinator, CacheMetrics cacheMetrics) {
+        // One codec per format; each cache picks its format from academy.cache.codec
+        Map<CacheValueCodec.Format, CacheValueCodec> codecs = new EnumMap<>(CacheValueCodec.Format.class);
+        for (CacheValueCodec.Format format : CacheValueCodec.Format.values()) {
+            codecs.put(format, new CacheValueCodec(format, codecProperties.getCompressThreshold()));
+        }
         
         // Default cache configuration (30 minutes TTL)
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
             .entryTtl(Duration.ofMinutes(30))
             .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer))
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(codecs.get(codecProperties.getFormat())))
             .disableCachingNullValues(); // Only cache non-null values
         
         // Cache-specific configurations with different TTLs
@@ -130,13 +126,32 @@ public class RedisConfig {
         cacheConfigurations.put("classes", defaultConfig);
         cacheConfigurations.put("class", defaultConfig);
         
-        return RedisCacheManager.builder(connectionFactory)
+        // Per-cache format overrides, each cache's codec timed and its value sizes recorded under its name
+        cacheConfigurations.replaceAll((cacheName, config) -> config.serializeValuesWith(
+            RedisSerializationContext.SerializationPair.fromSerializer(
+                cacheMetrics.metered(cacheName, codecs.get(codecProperties.formatFor(cacheName))))));
+        
+        // Redis is the shared L2; transaction awareness sits on the composite so both levels change after commit
+        // allEntries evictions clear with SCAN in batches rather than a blocking KEYS
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(CLEAR_SCAN_BATCH_SIZE)))
             .cacheDefaults(defaultConfig)
             .withInitialCacheConfigurations(cacheConfigurations)
-            .transactionAware()
             .build();
+        redisCacheManager.initializeCaches();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, nearCacheProperties, invalidationBus);
+        cacheManager.setLoadCoordinator(loadCoordinator);
+        cacheManager.setCacheMetrics(cacheMetrics);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
     }
     
+    /**
+     * Keys fetched per SCAN when a whole cache is cleared
+     */
+    public static final int CLEAR_SCAN_BATCH_SIZE = 1000;
+
     /**
      * Default TTL for cache entries (30 minutes)
      */
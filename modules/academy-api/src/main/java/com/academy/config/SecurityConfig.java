@@ -4,6 +4,7 @@ import com.academy.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -38,6 +39,10 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Evicting caches is an admin operation; reading cache statistics stays open like other actuator endpoints
+                .requestMatchers(HttpMethod.DELETE, "/actuator/cacheadmin/**").hasRole("ADMIN")
+                // Held lock keys embed request values such as student e-mails
+                .requestMatchers("/actuator/locks", "/actuator/locks/**").hasRole("ADMIN")
                 .requestMatchers(
                     "/api/auth/**",
                     "/api/dev/**",
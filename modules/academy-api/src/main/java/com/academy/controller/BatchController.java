@@ -9,27 +9,41 @@ import com.academy.mapper.ApiModelMapper;
 import com.academy.service.BatchService;
 import com.academy.service.WebSocketEventPublisher;
 import com.academy.util.PageableUtil;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
-@RequiredArgsConstructor
 @Slf4j
 public class BatchController implements BatchesApi {
 
     private final BatchService batchService;
     private final ApiModelMapper mapper;
     private final WebSocketEventPublisher eventPublisher;
+    private final boolean locklessCreate;
+
+    /**
+     * @param locklessCreate insert and let the unique index reject duplicates instead of locking the create
+     */
+    public BatchController(BatchService batchService, ApiModelMapper mapper, WebSocketEventPublisher eventPublisher,
+                           @Value("${academy.create.lockless:false}") boolean locklessCreate) {
+        this.batchService = batchService;
+        this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+        this.locklessCreate = locklessCreate;
+    }
 
     @Override
     public ResponseEntity<Batch> createBatch(BatchInput batchInput) {
         log.debug("POST /batches — name={}", batchInput.getName());
-        BatchDTO created = batchService.createBatch(mapper.toDTO(batchInput));
+        BatchDTO request = mapper.toDTO(batchInput);
+        BatchDTO created = locklessCreate ? batchService.createBatchLockless(request) : batchService.createBatch(request);
         eventPublisher.publishBatchCreated(created.getId(), created.getName());
         return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toModel(created));
     }
@@ -56,6 +70,12 @@ public class BatchController implements BatchesApi {
         return ResponseEntity.ok(mapper.toModel(batchService.getBatchById(id)));
     }
 
+    @Override
+    public ResponseEntity<List<Batch>> getBatchesByIds(List<Long> ids) {
+        log.debug("GET /batches/bulk count={}", ids.size());
+        return ResponseEntity.ok(mapper.toBatchModelList(batchService.getBatchesByIds(ids)));
+    }
+
     @Override
     public ResponseEntity<PageBatch> getAllBatches(Integer page, Integer size, String sort) {
         log.debug("GET /batches page={} size={}", page, size);
@@ -47,6 +47,12 @@ public class ClassController implements ClassesApi {
         return ResponseEntity.ok(mapper.toModel(classService.getClassById(id)));
     }
 
+    @Override
+    public ResponseEntity<List<ModelClass>> getClassesByIds(List<Long> ids) {
+        log.debug("GET /classes/bulk count={}", ids.size());
+        return ResponseEntity.ok(mapper.toClassModelList(classService.getClassesByIds(ids)));
+    }
+
     @Override
     public ResponseEntity<List<ModelClass>> getAllClasses() {
         log.debug("GET /classes");
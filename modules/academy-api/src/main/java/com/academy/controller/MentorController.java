@@ -47,6 +47,12 @@ public class MentorController implements MentorsApi {
         return ResponseEntity.ok(mapper.toModel(mentorService.getMentorById(id)));
     }
 
+    @Override
+    public ResponseEntity<List<Mentor>> getMentorsByIds(List<Long> ids) {
+        log.debug("GET /mentors/bulk count={}", ids.size());
+        return ResponseEntity.ok(mapper.toMentorModelList(mentorService.getMentorsByIds(ids)));
+    }
+
     @Override
     public ResponseEntity<List<Mentor>> getAllMentors() {
         log.debug("GET /mentors");
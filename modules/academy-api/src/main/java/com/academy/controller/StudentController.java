@@ -9,8 +9,8 @@ import com.academy.mapper.ApiModelMapper;
 import com.academy.service.StudentService;
 import com.academy.service.WebSocketEventPublisher;
 import com.academy.util.PageableUtil;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -20,18 +20,30 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
 
 @RestController
-@RequiredArgsConstructor
 @Slf4j
 public class StudentController implements StudentsApi {
 
     private final StudentService studentService;
     private final ApiModelMapper mapper;
     private final WebSocketEventPublisher eventPublisher;
+    private final boolean locklessCreate;
+
+    /**
+     * @param locklessCreate insert and let the unique index reject duplicates instead of locking the create
+     */
+    public StudentController(StudentService studentService, ApiModelMapper mapper, WebSocketEventPublisher eventPublisher,
+                             @Value("${academy.create.lockless:false}") boolean locklessCreate) {
+        this.studentService = studentService;
+        this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+        this.locklessCreate = locklessCreate;
+    }
 
     @Override
     public ResponseEntity<Student> createStudent(StudentInput studentInput) {
         log.debug("POST /students — email={}", studentInput.getEmail());
-        StudentDTO created = studentService.createStudent(mapper.toDTO(studentInput));
+        StudentDTO request = mapper.toDTO(studentInput);
+        StudentDTO created = locklessCreate ? studentService.createStudentLockless(request) : studentService.createStudent(request);
         eventPublisher.publishStudentCreated(created.getId(), created.getEmail());
         return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toModel(created));
     }
@@ -58,6 +70,12 @@ public class StudentController implements StudentsApi {
         return ResponseEntity.ok(mapper.toModel(studentService.getStudentById(id)));
     }
 
+    @Override
+    public ResponseEntity<List<Student>> getStudentsByIds(List<Long> ids) {
+        log.debug("GET /students/bulk count={}", ids.size());
+        return ResponseEntity.ok(mapper.toStudentModelList(studentService.getStudentsByIds(ids)));
+    }
+
     @Override
     public ResponseEntity<List<Student>> getAllStudents(Long batchId) {
         log.debug("GET /students batchId={}", batchId);
@@ -62,6 +62,8 @@ public interface ApiModelMapper {
     @Mapping(target = "classIds", expression = "java(dto.getClassIds() != null ? new java.util.ArrayList<>(dto.getClassIds()) : null)")
     Batch toModel(BatchDTO dto);
 
+    List<Batch> toBatchModelList(List<BatchDTO> dtos);
+
     default PageBatch toPageBatch(Page<BatchDTO> page) {
         PageBatch result = new PageBatch();
         result.setContent(page.getContent().stream().map(this::toModel).toList());
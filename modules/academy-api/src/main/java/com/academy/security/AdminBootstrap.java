@@ -0,0 +1,59 @@
+package com.academy.security;
+
+import com.academy.entity.User;
+import com.academy.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grants ROLE_ADMIN to the account named by academy.security.admin at startup
+ * The admin-only actuator operations (cache eviction, held locks) need that role, and no
+ * migration grants it, so it exists only where the deployment supplies an admin username and
+ * password through the environment. The account is created if missing and its password set
+ * to the configured one; the seeded default password is refused.
+ */
+@Component
+@Slf4j
+public class AdminBootstrap implements ApplicationRunner {
+
+    static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    // Password of the accounts seeded by V3, published in the README
+    private static final String SEEDED_PASSWORD = "password123";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final String username;
+    private final String password;
+
+    public AdminBootstrap(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                          @Value("${academy.security.admin.username:}") String username,
+                          @Value("${academy.security.admin.password:}") String password) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (username.isBlank() || password.isBlank()) {
+            log.info("No admin account configured; admin-only actuator operations are unavailable");
+            return;
+        }
+        if (SEEDED_PASSWORD.equals(password)) {
+            log.warn("Refusing to grant {} to '{}' with the seeded default password", ADMIN_ROLE, username);
+            return;
+        }
+        User admin = userRepository.findByUsername(username)
+            .orElseGet(() -> User.builder().username(username).enabled(true).build());
+        admin.setPassword(passwordEncoder.encode(password));
+        admin.setRole(ADMIN_ROLE);
+        userRepository.save(admin);
+        log.info("Granted {} to '{}'", ADMIN_ROLE, username);
+    }
+}
@@ -0,0 +1,80 @@
+package com.academy.security;
+
+import com.academy.entity.User;
+import com.academy.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AdminBootstrap
+ */
+@DisplayName("AdminBootstrap Tests")
+class AdminBootstrapTest {
+
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        passwordEncoder = new BCryptPasswordEncoder();
+    }
+
+    @Test
+    @DisplayName("Should grant no one the admin role when no account is configured")
+    void run_NotConfigured_GrantsNothing() {
+        new AdminBootstrap(userRepository, passwordEncoder, "", "").run(null);
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse the seeded default password")
+    void run_SeededPassword_GrantsNothing() {
+        new AdminBootstrap(userRepository, passwordEncoder, "admin@academy.com", "password123").run(null);
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should give an existing account the admin role and the configured password")
+    void run_ExistingAccount_GrantsAdminWithNewPassword() {
+        User seeded = User.builder().id(1L).username("admin@academy.com").password("seeded-hash")
+            .role("ROLE_USER").enabled(true).build();
+        when(userRepository.findByUsername("admin@academy.com")).thenReturn(Optional.of(seeded));
+
+        new AdminBootstrap(userRepository, passwordEncoder, "admin@academy.com", "s3cret-from-vault").run(null);
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertThat(saved.getValue().getRole()).isEqualTo("ROLE_ADMIN");
+        assertThat(passwordEncoder.matches("s3cret-from-vault", saved.getValue().getPassword())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should create the configured account when it does not exist")
+    void run_MissingAccount_CreatesAdmin() {
+        when(userRepository.findByUsername("ops@academy.com")).thenReturn(Optional.empty());
+
+        new AdminBootstrap(userRepository, passwordEncoder, "ops@academy.com", "s3cret-from-vault").run(null);
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertThat(saved.getValue().getUsername()).isEqualTo("ops@academy.com");
+        assertThat(saved.getValue().getRole()).isEqualTo("ROLE_ADMIN");
+        assertThat(saved.getValue().getEnabled()).isTrue();
+    }
+}
@@ -23,7 +23,7 @@ public class Batch {
     @Version
     private Long version;
 
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private String name;
 
     @Column(name = "current_instructor", nullable = false)
@@ -2,12 +2,16 @@ package com.academy.repository;
 
 import com.academy.entity.Batch;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,5 +23,17 @@ public interface BatchRepository extends JpaRepository<Batch, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT b FROM Batch b WHERE b.id = :id")
     Optional<Batch> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * Ids of the newest batches, highest first
+     */
+    @Query("SELECT b.id FROM Batch b ORDER BY b.id DESC")
+    List<Long> findNewestIds(Pageable pageable);
+
+    /**
+     * Batches with their type and classes fetched in the same query, for mapping many to DTOs
+     */
+    @EntityGraph(attributePaths = {"batchType", "classes"})
+    List<Batch> findAllWithTypeAndClassesByIdIn(Collection<Long> ids);
 }
 
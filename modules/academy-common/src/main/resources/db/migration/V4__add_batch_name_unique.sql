@@ -0,0 +1,3 @@
+-- Enforce unique batch names so batches can be created without a distributed lock
+-- Fails if duplicate names already exist; rename them before migrating
+ALTER TABLE batches ADD CONSTRAINT uk_batches_name UNIQUE (name);
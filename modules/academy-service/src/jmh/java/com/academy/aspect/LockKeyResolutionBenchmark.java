@@ -0,0 +1,88 @@
+package com.academy.aspect;
+
+import com.academy.annotation.WithLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lock key resolution cost per {@code @WithLock} call
+ * {@code perCallParse} reproduces the original aspect: a fresh StandardEvaluationContext,
+ * reflective parameter names and a full parse on every call. {@code precompiled} goes
+ * through the startup-built resolver.
+ *
+ * Run with: ./gradlew :academy-service:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LockKeyResolutionBenchmark {
+
+    private static final String KEY = "#{#request.batchId != null ? 'batch:' + #request.batchId : ''}";
+
+    private final ExpressionParser perCallParser = new SpelExpressionParser();
+    private final DefaultParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private Method method;
+    private Object[] args;
+    private LockKeyResolver resolver;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = StudentWrites.class.getDeclaredMethod("updateStudent", Long.class, Request.class);
+        args = new Object[]{7L, new Request(3L)};
+        resolver = new LockKeyResolverRegistry().resolverFor(method);
+    }
+
+    @Benchmark
+    public String perCallParse() {
+        EvaluationContext ctx = new StandardEvaluationContext();
+        String[] paramNames = parameterNameDiscoverer.getParameterNames(method);
+        for (int i = 0; i < args.length; i++) {
+            if (paramNames != null && i < paramNames.length) {
+                ctx.setVariable(paramNames[i], args[i]);
+            }
+            ctx.setVariable("arg" + i, args[i]);
+        }
+        Object value = perCallParser.parseExpression(KEY, new TemplateParserContext()).getValue(ctx);
+        return value != null ? value.toString() : KEY;
+    }
+
+    @Benchmark
+    public List<String> precompiled() {
+        return resolver.resolve(args);
+    }
+
+    public static class Request {
+        private final Long batchId;
+
+        Request(Long batchId) {
+            this.batchId = batchId;
+        }
+
+        public Long getBatchId() {
+            return batchId;
+        }
+    }
+
+    static class StudentWrites {
+
+        @WithLock(key = KEY)
+        void updateStudent(Long id, Request request) {
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.academy.cache;
+
+import com.academy.dto.StudentDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of cache values per codec
+ * {@code json} is the previous GenericJackson2JsonRedisSerializer format; {@code smile-lz4}
+ * compresses from 1KB, the default threshold. Setup logs the stored bytes per entry
+ * for a single student and for a cached page of 20.
+ *
+ * Run with: ./gradlew :academy-service:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheCodecBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheCodecBenchmark.class);
+
+    @Param({"json", "smile", "smile-lz4"})
+    public String codecName;
+
+    private CacheValueCodec codec;
+    private StudentDTO student;
+    private PageSnapshot page;
+    private byte[] encodedStudent;
+    private byte[] encodedPage;
+
+    @Setup
+    public void setUp() {
+        codec = switch (codecName) {
+            case "json" -> new CacheValueCodec(CacheValueCodec.Format.JSON, 0);
+            case "smile" -> new CacheValueCodec(CacheValueCodec.Format.SMILE, 0);
+            default -> new CacheValueCodec(CacheValueCodec.Format.SMILE, 1024);
+        };
+        ArrayList<StudentDTO> students = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            students.add(student(i));
+        }
+        student = students.get(0);
+        page = PageSnapshot.of(new PageImpl<>(students, PageRequest.of(0, 20), 500));
+        encodedStudent = codec.serialize(student);
+        encodedPage = codec.serialize(page);
+        log.info("[{}] bytes per entry: student={} page-of-20={}",
+            codecName, encodedStudent.length, encodedPage.length);
+    }
+
+    @Benchmark
+    public byte[] encodeStudent() {
+        return codec.serialize(student);
+    }
+
+    @Benchmark
+    public Object decodeStudent() {
+        return codec.deserialize(encodedStudent);
+    }
+
+    @Benchmark
+    public byte[] encodePage() {
+        return codec.serialize(page);
+    }
+
+    @Benchmark
+    public Object decodePage() {
+        return codec.deserialize(encodedPage);
+    }
+
+    private static StudentDTO student(int i) {
+        return StudentDTO.builder()
+            .id((long) i)
+            .name("Student " + i)
+            .email("student" + i + "@academy.com")
+            .phoneNumber("+91-98765-4" + String.format("%04d", i))
+            .universityName("Indian Institute of Technology")
+            .graduationYear(2024)
+            .batchId(3L)
+            .build();
+    }
+}
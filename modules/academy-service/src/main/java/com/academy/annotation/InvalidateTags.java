@@ -0,0 +1,34 @@
+package com.academy.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bumps cache tag generations once a write has committed
+ * For caches whose entries span many rows (lists, pages) and so cannot be evicted by
+ * key. Single entries are still evicted by key with {@code @CacheEvict}.
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * @CacheEvict(value = "student", key = "'student:' + #id")
+ * @InvalidateTags("students")
+ * public StudentDTO updateStudent(Long id, StudentDTO request) {
+ *     // After commit, every cached student list and page is orphaned
+ * }
+ * }
+ * </pre>
+ *
+ * @see com.academy.cache.CacheGenerations
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InvalidateTags {
+
+    /**
+     * Tags to bump, conventionally the name of the list cache (e.g. "students")
+     */
+    String[] value();
+}
@@ -0,0 +1,18 @@
+package com.academy.annotation;
+
+/**
+ * Lock modes supported by {@link WithLock}
+ */
+public enum LockMode {
+
+    /**
+     * Single holder; waits for every reader and writer to leave. Use for writes.
+     */
+    EXCLUSIVE,
+
+    /**
+     * Any number of holders at once, excluded only by an exclusive holder. Use for
+     * reads that need a consistent view. A waiting writer holds back new readers.
+     */
+    SHARED
+}
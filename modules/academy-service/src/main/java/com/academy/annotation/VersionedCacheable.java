@@ -0,0 +1,33 @@
+package com.academy.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches a list or page result under the current generation of its cache tag
+ * The key is {@code <cache>:g<generation>:<method>:<arguments>}, with a {@link org.springframework.data.domain.Pageable}
+ * argument written as page number, size and sort. A write annotated with
+ * {@link InvalidateTags} for the same name moves the tag on, so every cached list and
+ * page of that entity type is dropped with one INCR. Pages past
+ * academy.cache.pages.max-page are not cached; with academy.cache.pages.prefetch-next
+ * serving page N also loads page N+1 in the background.
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * @VersionedCacheable("students")
+ * public Page<StudentDTO> getAllStudents(Pageable pageable) { ... }
+ * }
+ * </pre>
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VersionedCacheable {
+
+    /**
+     * Cache name, also the tag whose generation versions the key
+     */
+    String value();
+}
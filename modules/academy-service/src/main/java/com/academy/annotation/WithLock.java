@@ -19,6 +19,22 @@ import java.util.concurrent.TimeUnit;
  * }
  * }
  * </pre>
+ *
+ * Operations that touch several resources list one expression per resource in {@link #keys()}:
+ * <pre>
+ * {@code
+ * @WithLock(keys = {"batch:#{#batchId}", "class:#{#classId}"})
+ * public BatchDTO assignClassToBatch(Long batchId, Long classId) { ... }
+ * }
+ * </pre>
+ *
+ * Reads that only need the resource not to change underneath them take the same key shared:
+ * <pre>
+ * {@code
+ * @WithLock(key = "batch:#{#batchId}", mode = LockMode.SHARED)
+ * public List<StudentDTO> getAllStudents(Long batchId) { ... }
+ * }
+ * </pre>
  */
 @Target({ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
@@ -28,13 +44,28 @@ public @interface WithLock {
      * Lock key expression (supports SpEL)
      * Examples:
      * - "student:onboarding:#{#dto.email}"
-     * - "batch:update:#{#id}"
+     * - "batch:#{#id}"
      * - "student:update:email:#{#dto.email}"
      */
-    String key();
+    String key() default "";
+
+    /**
+     * Additional lock key expressions, acquired together with {@link #key()}
+     * Resolved keys are sorted and taken all-or-nothing from the backend configured for
+     * their namespace (academy.lock.backend); a key that resolves to blank is skipped,
+     * which allows locking a resource only when present.
+     */
+    String[] keys() default {};
+
+    /**
+     * Lock mode (default: EXCLUSIVE)
+     * SHARED holders of a key run in parallel and only exclude EXCLUSIVE holders
+     */
+    LockMode mode() default LockMode.EXCLUSIVE;
     
     /**
-     * Lock timeout in seconds (default: 30)
+     * Maximum time the lock may be held, in seconds (default: 30)
+     * The Redis lease itself is shorter and renewed until release or until this timeout passes
      */
     int timeout() default 30;
     
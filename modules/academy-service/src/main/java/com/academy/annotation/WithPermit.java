@@ -0,0 +1,67 @@
+package com.academy.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many calls of an operation run at once across all nodes
+ * Each call takes one permit of a Redis-backed semaphore and gives it back when it
+ * returns; permits of a crashed node free up within one lease.
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * @WithPermit(key = "student:bulk-import", permits = 2)
+ * public List<StudentDTO> importStudents(List<StudentDTO> students) {
+ *     // At most two imports run cluster-wide; the rest wait up to waitTimeout
+ * }
+ * }
+ * </pre>
+ *
+ * Combined with {@link WithLock} the permit is taken first, so callers turned away by
+ * the cap never hold locks.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WithPermit {
+
+    /**
+     * Semaphore name, shared by every method that draws from the same cap
+     */
+    String key();
+
+    /**
+     * Number of calls allowed to run at once across the cluster (default: 1)
+     */
+    int permits() default 1;
+
+    /**
+     * Maximum time a permit may be held, in seconds (default: 300)
+     * The Redis lease itself is shorter and renewed until release or until this timeout passes
+     */
+    int timeout() default 300;
+
+    /**
+     * Wait timeout in seconds - maximum time to wait for a permit (default: 10)
+     */
+    int waitTimeout() default 10;
+
+    /**
+     * Time unit for timeout values (default: SECONDS)
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * Whether to throw exception if no permit is available in time (default: true)
+     * If false, method execution is skipped when no permit can be taken
+     */
+    boolean throwOnFailure() default true;
+
+    /**
+     * Custom error message when no permit is available
+     */
+    String errorMessage() default "Too many concurrent requests for this operation. Please retry later.";
+}
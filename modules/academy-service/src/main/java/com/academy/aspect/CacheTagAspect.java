@@ -0,0 +1,53 @@
+package com.academy.aspect;
+
+import com.academy.annotation.InvalidateTags;
+import com.academy.cache.CacheGenerations;
+import com.academy.config.TransactionConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bumps the tags of {@link InvalidateTags} methods that returned normally
+ * Inside a transaction the bump waits for commit, so a reader cannot cache the
+ * pre-commit state under the new generation; a rolled-back write bumps nothing.
+ */
+@Aspect
+@Component
+@Order(TransactionConfig.TRANSACTION_ORDER + 1)
+@RequiredArgsConstructor
+@Slf4j
+public class CacheTagAspect {
+
+    private final CacheGenerations cacheGenerations;
+
+    @AfterReturning("@annotation(invalidateTags)")
+    public void invalidate(InvalidateTags invalidateTags) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpAll(invalidateTags.value());
+                }
+            });
+        } else {
+            bumpAll(invalidateTags.value());
+        }
+    }
+
+    private void bumpAll(String[] tags) {
+        for (String tag : tags) {
+            try {
+                cacheGenerations.bump(tag);
+            } catch (Exception ex) {
+                // The write itself succeeded; stale lists age out through their TTL
+                log.warn("Could not bump cache tag '{}': {}", tag, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.academy.aspect;
+
+import com.academy.cache.ExistenceFilters;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Answers repository lookups of ids and student emails the existence filters rule out
+ * {@code findById} returns empty and {@code existsById} false without a query, so every
+ * {@code fetchOrThrow}, delete-path existence check and email duplicate check of a missing
+ * key fails in memory. Keys the filters may hold go to the database as before.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ExistenceFilterAspect {
+
+    private final ExistenceFilters existenceFilters;
+
+    @Around("execution(* org.springframework.data.repository.CrudRepository+.findById(..)) && this(repository) && args(id)")
+    public Object findById(ProceedingJoinPoint pjp, Object repository, Object id) throws Throwable {
+        return existenceFilters.idDefinitelyMissing(repository, id) ? Optional.empty() : pjp.proceed();
+    }
+
+    @Around("execution(* org.springframework.data.repository.CrudRepository+.existsById(..)) && this(repository) && args(id)")
+    public Object existsById(ProceedingJoinPoint pjp, Object repository, Object id) throws Throwable {
+        return existenceFilters.idDefinitelyMissing(repository, id) ? Boolean.FALSE : pjp.proceed();
+    }
+
+    @Around("execution(* com.academy.repository.StudentRepository.findByEmail(..)) && args(email)")
+    public Object findByEmail(ProceedingJoinPoint pjp, String email) throws Throwable {
+        return existenceFilters.emailDefinitelyMissing(email) ? Optional.empty() : pjp.proceed();
+    }
+}
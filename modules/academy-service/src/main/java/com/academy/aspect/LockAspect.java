@@ -2,7 +2,9 @@ package com.academy.aspect;
 
 import com.academy.annotation.WithLock;
 import com.academy.exception.LockAcquisitionException;
-import com.academy.service.DistributedLockService;
+import com.academy.service.LockMetrics;
+import com.academy.service.LockProvider;
+import com.academy.service.LockProviderRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -10,13 +12,15 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
-import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
 
 @Aspect
 @Component
@@ -25,24 +29,32 @@ import java.time.Duration;
 @Order(1)
 public class LockAspect {
 
-    private final DistributedLockService lockService;
-    private final ExpressionParser spelParser = new SpelExpressionParser();
+    // Locks of the @WithLock calls running on this thread, innermost first
+    private static final ThreadLocal<Deque<HeldLocks>> HELD_LOCKS = new ThreadLocal<>();
+
+    private final LockProviderRegistry lockProviders;
+    private final LockKeyResolverRegistry keyResolvers;
 
     @Around("@annotation(withLock)")
     public Object executeWithLock(ProceedingJoinPoint pjp, WithLock withLock) throws Throwable {
-        String resolvedKey = evaluateLockKey(pjp, withLock.key());
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        LockKeyResolver resolver = keyResolvers.resolverFor(method);
+        List<String> resolvedKeys = resolver.resolve(pjp.getArgs());
+        if (resolvedKeys.isEmpty()) {
+            log.debug("No lock keys resolved for {}, proceeding unlocked", pjp.getSignature().getName());
+            return pjp.proceed();
+        }
 
         Duration holdTimeout = Duration.ofSeconds(withLock.timeUnit().toSeconds(withLock.timeout()));
         Duration acquireTimeout = Duration.ofSeconds(withLock.timeUnit().toSeconds(withLock.waitTimeout()));
 
-        log.debug("Acquiring lock '{}' for {}", resolvedKey, pjp.getSignature().getName());
+        log.debug("Acquiring {} locks {} for {}", withLock.mode(), resolvedKeys, pjp.getSignature().getName());
 
-        DistributedLockService.LockHandle handle = lockService.acquireLockWithRetry(
-            resolvedKey, holdTimeout, withLock.maxRetries(), acquireTimeout
-        );
+        List<LockProvider.Lease> leases = LockMetrics.withKeyPattern(resolver.getPattern(),
+            () -> acquire(resolvedKeys, withLock, holdTimeout, acquireTimeout));
 
-        if (handle == null) {
-            log.warn("Could not acquire lock '{}' for {}", resolvedKey, pjp.getSignature().getName());
+        if (leases == null) {
+            log.warn("Could not acquire locks {} for {}", resolvedKeys, pjp.getSignature().getName());
             if (withLock.throwOnFailure()) {
                 throw new LockAcquisitionException(withLock.errorMessage());
             }
@@ -50,49 +62,115 @@ public class LockAspect {
             return null;
         }
 
+        HeldLocks held = new HeldLocks(method, leases);
+        Deque<HeldLocks> stack = HELD_LOCKS.get();
+        if (stack == null) {
+            stack = new ArrayDeque<>();
+            HELD_LOCKS.set(stack);
+        }
+        stack.push(held);
         try {
-            log.debug("Lock '{}' acquired, proceeding", resolvedKey);
-            return pjp.proceed();
+            log.debug("Locks {} acquired, proceeding", resolvedKeys);
+            Object result = pjp.proceed();
+            if (!held.verifiedAtCommit) {
+                // No transaction of this call checked the leases before committing
+                held.verify();
+            }
+            return result;
         } finally {
-            boolean freed = lockService.releaseLock(handle);
+            stack.pop();
+            if (stack.isEmpty()) {
+                HELD_LOCKS.remove();
+            }
+            boolean freed = release(leases);
             if (freed) {
-                log.debug("Lock '{}' released", resolvedKey);
+                log.debug("Locks {} released", resolvedKeys);
             } else {
-                log.warn("Lock '{}' could not be released", resolvedKey);
+                log.warn("Locks {} could not be released", resolvedKeys);
             }
         }
     }
 
-    // -------------------------------------------------------------------------
+    /**
+     * Acquire keys from their configured backends, all or nothing
+     * Backends are visited in a fixed order within one shared wait budget.
+     *
+     * @return The held leases, or null if any backend refused its keys
+     * @throws LockAcquisitionException if a backend aborted the wait to break a deadlock
+     */
+    private List<LockProvider.Lease> acquire(List<String> keys, WithLock withLock, Duration holdTimeout,
+                                             Duration acquireTimeout) {
+        Map<LockProvider, List<String>> byProvider = lockProviders.partition(keys);
+        long deadline = System.nanoTime() + acquireTimeout.toNanos();
+        List<LockProvider.Lease> leases = new ArrayList<>(byProvider.size());
+
+        for (Map.Entry<LockProvider, List<String>> entry : byProvider.entrySet()) {
+            Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+            LockProvider.Lease lease;
+            try {
+                lease = entry.getKey().acquire(
+                    entry.getValue(), withLock.mode(), holdTimeout, withLock.maxRetries(), remaining);
+            } catch (RuntimeException ex) {
+                // e.g. chosen as a deadlock victim; give back what the other backends granted
+                release(leases);
+                throw ex;
+            }
+            if (lease == null) {
+                log.debug("Backend '{}' refused locks {}", entry.getKey().getName(), entry.getValue());
+                release(leases);
+                return null;
+            }
+            leases.add(lease);
+        }
+        return leases;
+    }
 
-    private String evaluateLockKey(ProceedingJoinPoint pjp, String keyExpression) {
-        try {
-            EvaluationContext ctx = new StandardEvaluationContext();
-            String[] paramNames = extractParamNames(pjp);
-            Object[] args = pjp.getArgs();
+    private static boolean release(List<LockProvider.Lease> leases) {
+        boolean freed = true;
+        for (int i = leases.size() - 1; i >= 0; i--) {
+            freed &= leases.get(i).release();
+        }
+        return freed;
+    }
 
-            for (int i = 0; i < args.length; i++) {
-                if (paramNames != null && i < paramNames.length) {
-                    ctx.setVariable(paramNames[i], args[i]);
-                }
-                ctx.setVariable("arg" + i, args[i]);
-            }
+    /**
+     * Locks held by the innermost {@code @WithLock} call on this thread, if it is a call of {@code method}
+     */
+    static HeldLocks heldBy(Method method) {
+        Deque<HeldLocks> stack = HELD_LOCKS.get();
+        HeldLocks held = stack != null ? stack.peek() : null;
+        return held != null && held.method.equals(method) ? held : null;
+    }
 
-            Object value = spelParser.parseExpression(keyExpression).getValue(ctx);
-            return value != null ? value.toString() : keyExpression;
+    /**
+     * Leases of one {@code @WithLock} call
+     * Verified before the call's transaction commits, see {@link LockLeaseAspect}, or after the call returns
+     * when it ran without one.
+     */
+    static final class HeldLocks {
+        private final Method method;
+        private final List<LockProvider.Lease> leases;
+        private boolean verifiedAtCommit;
+
+        private HeldLocks(Method method, List<LockProvider.Lease> leases) {
+            this.method = method;
+            this.leases = leases;
+        }
 
-        } catch (Exception ex) {
-            log.warn("SpEL evaluation failed for key '{}': {} — using literal", keyExpression, ex.getMessage());
-            return keyExpression;
+        void markVerifiedAtCommit() {
+            verifiedAtCommit = true;
         }
-    }
 
-    private String[] extractParamNames(ProceedingJoinPoint pjp) {
-        try {
-            return ((MethodSignature) pjp.getSignature()).getParameterNames();
-        } catch (Exception ex) {
-            log.debug("Could not extract parameter names: {}", ex.getMessage());
-            return null;
+        /**
+         * @throws LockAcquisitionException if a lock may have passed to another holder during the call
+         */
+        void verify() {
+            for (LockProvider.Lease lease : leases) {
+                if (!lease.isHeld()) {
+                    throw new LockAcquisitionException(
+                        "Lock on " + lease.getLockKeys() + " was lost before " + method.getName() + " completed");
+                }
+            }
         }
     }
 }
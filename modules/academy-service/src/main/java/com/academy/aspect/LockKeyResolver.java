@@ -0,0 +1,119 @@
+package com.academy.aspect;
+
+import com.academy.exception.LockAcquisitionException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Lock keys of one {@code @WithLock} method, parsed once at startup
+ * Arguments are bound to variables by index, so resolving a key costs no parsing,
+ * reflection or context set-up beyond one small wrapper around the argument array.
+ */
+final class LockKeyResolver {
+
+    /**
+     * Shared, stateless evaluation infrastructure: read-only property access and instance methods
+     */
+    private static final EvaluationContext SHARED_CONTEXT =
+        SimpleEvaluationContext.forReadOnlyDataBinding().withInstanceMethods().build();
+
+    private final List<Expression> expressions;
+    private final Map<String, Integer> argumentIndexes;
+    private final String pattern;
+
+    LockKeyResolver(List<Expression> expressions, Map<String, Integer> argumentIndexes, String pattern) {
+        this.expressions = expressions;
+        this.argumentIndexes = argumentIndexes;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Key pattern lock metrics are tagged with, e.g. "batch:*,class:*"
+     */
+    String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Resolve every key expression into a sorted, de-duplicated list
+     * A key that resolves to blank is dropped on purpose, e.g. {@code #{#batchId != null ? 'batch:' + #batchId : ''}}.
+     *
+     * @throws LockAcquisitionException if a key cannot be evaluated or contains a null value
+     */
+    List<String> resolve(Object[] args) {
+        EvaluationContext ctx = new ArgumentsContext(argumentIndexes, args);
+        TreeSet<String> resolved = new TreeSet<>();
+        for (Expression expression : expressions) {
+            String key = evaluate(expression, ctx);
+            if (!key.isBlank()) {
+                resolved.add(key);
+            }
+        }
+        return List.copyOf(resolved);
+    }
+
+    /**
+     * Evaluate a key, part by part for a template so a null argument cannot vanish from the key
+     *
+     * @throws LockAcquisitionException if the key or a part of it fails or evaluates to null
+     */
+    private static String evaluate(Expression expression, EvaluationContext ctx) {
+        if (expression instanceof CompositeStringExpression template) {
+            StringBuilder key = new StringBuilder();
+            for (Expression part : template.getExpressions()) {
+                key.append(valueOf(part, ctx, expression));
+            }
+            return key.toString();
+        }
+        return valueOf(expression, ctx, expression);
+    }
+
+    private static String valueOf(Expression part, EvaluationContext ctx, Expression key) {
+        Object value;
+        try {
+            value = part.getValue(ctx);
+        } catch (RuntimeException ex) {
+            throw new LockAcquisitionException(
+                "Lock key '" + key.getExpressionString() + "' could not be evaluated: " + ex.getMessage(), ex);
+        }
+        if (value == null) {
+            throw new LockAcquisitionException(
+                "Lock key '" + key.getExpressionString() + "' evaluated '" + part.getExpressionString() + "' to null");
+        }
+        return value.toString();
+    }
+
+    /**
+     * Evaluation context exposing method arguments as variables without copying them
+     * Restricted like {@link #SHARED_CONTEXT}: read-only properties, instance methods, no type references
+     * and no constructors.
+     */
+    private static final class ArgumentsContext extends StandardEvaluationContext {
+
+        private final Map<String, Integer> argumentIndexes;
+        private final Object[] args;
+
+        private ArgumentsContext(Map<String, Integer> argumentIndexes, Object[] args) {
+            this.argumentIndexes = argumentIndexes;
+            this.args = args;
+            setPropertyAccessors(SHARED_CONTEXT.getPropertyAccessors());
+            setMethodResolvers(SHARED_CONTEXT.getMethodResolvers());
+            setConstructorResolvers(List.of());
+            setTypeLocator(SHARED_CONTEXT.getTypeLocator());
+            setTypeConverter(SHARED_CONTEXT.getTypeConverter());
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            Integer index = argumentIndexes.get(name);
+            return index != null ? args[index] : super.lookupVariable(name);
+        }
+    }
+}
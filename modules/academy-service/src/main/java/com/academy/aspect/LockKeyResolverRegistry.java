@@ -0,0 +1,181 @@
+package com.academy.aspect;
+
+import com.academy.annotation.WithLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.VariableReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds a {@link LockKeyResolver} for every {@code @WithLock} method as its bean is created
+ * Expressions are parsed once with the SpEL compiler enabled, and parameter names are
+ * bound to argument indexes up front. A key that does not parse, or that references a
+ * variable the method does not have, fails the application context at startup instead
+ * of silently locking on a literal key at runtime. Each method's key templates also give the
+ * pattern its lock metrics are tagged with.
+ */
+@Component
+@Slf4j
+public class LockKeyResolverRegistry implements BeanPostProcessor {
+
+    private static final ParserContext TEMPLATE = new TemplateParserContext();
+
+    private static final Set<String> BUILT_IN_VARIABLES = Set.of("this", "root");
+
+    // MIXED compiles hot expressions to bytecode and falls back to interpretation if argument types change
+    private final SpelExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, LockKeyResolverRegistry.class.getClassLoader()));
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<Method, LockKeyResolver> resolvers = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        ReflectionUtils.doWithMethods(targetClass,
+            method -> resolvers.computeIfAbsent(method, this::createResolver),
+            method -> !method.isBridge() && method.isAnnotationPresent(WithLock.class));
+        return bean;
+    }
+
+    /**
+     * Resolver for an intercepted method; methods not seen at startup are registered on first use
+     */
+    LockKeyResolver resolverFor(Method method) {
+        return resolvers.computeIfAbsent(method, this::createResolver);
+    }
+
+    /**
+     * Number of {@code @WithLock} methods with a registered resolver
+     */
+    public int size() {
+        return resolvers.size();
+    }
+
+    private LockKeyResolver createResolver(Method method) {
+        WithLock withLock = method.getAnnotation(WithLock.class);
+        if (withLock == null) {
+            throw new IllegalStateException("No @WithLock on " + describe(method));
+        }
+        Map<String, Integer> argumentIndexes = bindArguments(method);
+
+        List<String> keyExpressions = new ArrayList<>();
+        keyExpressions.add(withLock.key());
+        keyExpressions.addAll(List.of(withLock.keys()));
+
+        List<Expression> expressions = new ArrayList<>();
+        TreeSet<String> patterns = new TreeSet<>();
+        for (String keyExpression : keyExpressions) {
+            if (keyExpression.isBlank()) {
+                continue;
+            }
+            Expression expression = parse(method, keyExpression);
+            checkVariables(method, keyExpression, expression, argumentIndexes);
+            expressions.add(expression);
+            patterns.add(patternOf(expression));
+        }
+
+        if (expressions.isEmpty()) {
+            throw new IllegalStateException("@WithLock on " + describe(method) + " declares no key");
+        }
+        log.debug("Registered {} lock key expression(s) for {}", expressions.size(), describe(method));
+        return new LockKeyResolver(List.copyOf(expressions), Map.copyOf(argumentIndexes), String.join(",", patterns));
+    }
+
+    private Map<String, Integer> bindArguments(Method method) {
+        Map<String, Integer> indexes = new HashMap<>();
+        String[] names = parameterNameDiscoverer.getParameterNames(method);
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            if (names != null) {
+                indexes.put(names[i], i);
+            }
+            indexes.put("arg" + i, i);
+        }
+        return indexes;
+    }
+
+    private Expression parse(Method method, String keyExpression) {
+        try {
+            return parser.parseExpression(keyExpression, TEMPLATE);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("Invalid @WithLock key '" + keyExpression + "' on "
+                + describe(method) + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    private void checkVariables(Method method, String keyExpression, Expression expression,
+                                Map<String, Integer> argumentIndexes) {
+        for (String variable : referencedVariables(expression)) {
+            if (!argumentIndexes.containsKey(variable) && !BUILT_IN_VARIABLES.contains(variable)) {
+                throw new IllegalStateException("@WithLock key '" + keyExpression + "' on " + describe(method)
+                    + " references #" + variable + ", which is not a parameter");
+            }
+        }
+    }
+
+    /**
+     * Metrics pattern of a key: its literal text with every evaluated part shown as {@code *}
+     */
+    private static String patternOf(Expression expression) {
+        if (expression instanceof LiteralExpression) {
+            return expression.getExpressionString();
+        }
+        if (expression instanceof CompositeStringExpression composite) {
+            StringBuilder pattern = new StringBuilder();
+            for (Expression part : composite.getExpressions()) {
+                pattern.append(part instanceof LiteralExpression ? part.getExpressionString() : "*");
+            }
+            return pattern.toString();
+        }
+        return "*";
+    }
+
+    private static List<String> referencedVariables(Expression expression) {
+        List<String> variables = new ArrayList<>();
+        if (expression instanceof CompositeStringExpression composite) {
+            for (Expression part : composite.getExpressions()) {
+                variables.addAll(referencedVariables(part));
+            }
+        } else if (expression instanceof SpelExpression spel) {
+            collectVariables(spel.getAST(), variables);
+        }
+        return variables;
+    }
+
+    private static void collectVariables(SpelNode node, List<String> variables) {
+        if (node instanceof VariableReference) {
+            // toStringAST() renders a variable reference as "#name"
+            variables.add(node.toStringAST().substring(1));
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            collectVariables(node.getChild(i), variables);
+        }
+    }
+
+    private static String describe(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,39 @@
+package com.academy.aspect;
+
+import com.academy.annotation.WithLock;
+import com.academy.config.TransactionConfig;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Fails the commit of a {@code @WithLock} method whose locks were lost while it ran
+ * {@link LockAspect} holds the locks outside the method's transaction; this advice runs inside it,
+ * so a lease that was taken over or left to lapse rolls the work back instead of committing it
+ * unprotected. Without a transaction, {@link LockAspect} checks the leases when the call returns.
+ */
+@Aspect
+@Component
+@Order(TransactionConfig.TRANSACTION_ORDER + 1)
+public class LockLeaseAspect {
+
+    @AfterReturning("@annotation(withLock)")
+    public void verifyBeforeCommit(JoinPoint joinPoint, WithLock withLock) {
+        LockAspect.HeldLocks held = LockAspect.heldBy(((MethodSignature) joinPoint.getSignature()).getMethod());
+        if (held == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        held.markVerifiedAtCommit();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                held.verify();
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.academy.aspect;
+
+import com.academy.annotation.WithPermit;
+import com.academy.exception.LockAcquisitionException;
+import com.academy.service.DistributedSemaphoreService;
+import com.academy.service.LockMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Takes a permit of a cluster-wide semaphore around {@link WithPermit} methods
+ * Ordered before {@link LockAspect}, so a call waiting for a permit holds no locks.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Order(0)
+public class PermitAspect {
+
+    private final DistributedSemaphoreService semaphoreService;
+
+    @Around("@annotation(withPermit)")
+    public Object executeWithPermit(ProceedingJoinPoint pjp, WithPermit withPermit) throws Throwable {
+        Duration holdTimeout = Duration.ofMillis(withPermit.timeUnit().toMillis(withPermit.timeout()));
+        Duration waitTimeout = Duration.ofMillis(withPermit.timeUnit().toMillis(withPermit.waitTimeout()));
+
+        log.debug("Acquiring permit of '{}' (limit: {}) for {}", withPermit.key(), withPermit.permits(),
+            pjp.getSignature().getName());
+
+        DistributedSemaphoreService.Permit permit = LockMetrics.withKeyPattern(withPermit.key(),
+            () -> semaphoreService.acquirePermit(withPermit.key(), withPermit.permits(), holdTimeout, waitTimeout));
+
+        if (permit == null) {
+            log.warn("No permit of '{}' for {}", withPermit.key(), pjp.getSignature().getName());
+            if (withPermit.throwOnFailure()) {
+                throw new LockAcquisitionException(withPermit.errorMessage());
+            }
+            log.info("Skipping execution of {} — no permit and throwOnFailure=false", pjp.getSignature().getName());
+            return null;
+        }
+
+        try {
+            return pjp.proceed();
+        } finally {
+            if (!semaphoreService.releasePermit(permit)) {
+                log.warn("Permit of '{}' could not be released", withPermit.key());
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.academy.aspect;
+
+import com.academy.annotation.VersionedCacheable;
+import com.academy.cache.CacheGenerations;
+import com.academy.cache.PageSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@link VersionedCacheable} methods from the cache under generation-versioned keys
+ * Ordered before the lock aspects and the transaction interceptor, so a cache hit takes
+ * no lock and opens no transaction. A cache failure falls back to calling the method.
+ * Prefetching calls the method again through its proxy on a background thread, so the
+ * next page is loaded with the same locks and transaction as a normal call.
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(-1)
+public class VersionedCacheAspect {
+
+    // Set on prefetch threads so a prefetched page does not prefetch the one after it
+    private static final ThreadLocal<Boolean> PREFETCHING = ThreadLocal.withInitial(() -> false);
+
+    private final CacheManager cacheManager;
+    private final CacheGenerations cacheGenerations;
+    private final ExecutorService prefetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<String> prefetchesInFlight = ConcurrentHashMap.newKeySet();
+    private final int maxCachedPage;
+    private final boolean prefetchNext;
+
+    public VersionedCacheAspect(CacheManager cacheManager,
+                                CacheGenerations cacheGenerations,
+                                @Value("${academy.cache.pages.max-page:10}") int maxCachedPage,
+                                @Value("${academy.cache.pages.prefetch-next:false}") boolean prefetchNext) {
+        this.cacheManager = cacheManager;
+        this.cacheGenerations = cacheGenerations;
+        this.maxCachedPage = maxCachedPage;
+        this.prefetchNext = prefetchNext;
+    }
+
+    @PreDestroy
+    void shutdownPrefetchExecutor() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    @Around("@annotation(versionedCacheable)")
+    public Object cached(ProceedingJoinPoint pjp, VersionedCacheable versionedCacheable) throws Throwable {
+        Pageable pageable = pageableOf(pjp.getArgs());
+        if (pageable != null && (pageable.isUnpaged() || pageable.getPageNumber() > maxCachedPage)) {
+            return pjp.proceed();
+        }
+
+        String cacheName = versionedCacheable.value();
+        Cache cache = cacheManager.getCache(cacheName);
+        String key;
+        Cache.ValueWrapper cached;
+        try {
+            key = keyFor(cacheName, pjp, pjp.getArgs());
+            cached = cache != null ? cache.get(key) : null;
+        } catch (RuntimeException ex) {
+            log.warn("Cache '{}' unavailable, loading {} directly: {}", cacheName, pjp.getSignature().getName(),
+                ex.getMessage());
+            return pjp.proceed();
+        }
+
+        Object result;
+        if (cached != null) {
+            result = fromCached(cached.get(), pageable);
+        } else {
+            result = load(cache, key, pjp, pageable);
+        }
+
+        if (prefetchNext && result instanceof Page<?> page && page.hasNext() && !PREFETCHING.get()) {
+            prefetch(pjp, cacheName, cache, pageable.next());
+        }
+        return result;
+    }
+
+    private Object fromCached(Object value, Pageable pageable) {
+        if (value instanceof PageSnapshot snapshot) {
+            return snapshot.toPage(pageable);
+        }
+        return value;
+    }
+
+    /**
+     * Load through the cache, so concurrent misses of a key run the method once
+     */
+    private Object load(Cache cache, String key, ProceedingJoinPoint pjp, Pageable pageable) throws Throwable {
+        if (cache == null) {
+            return pjp.proceed();
+        }
+        Object[] loaded = new Object[1];
+        try {
+            Object stored = cache.get(key, () -> {
+                loaded[0] = proceed(pjp);
+                return cacheableForm(loaded[0]);
+            });
+            return loaded[0] != null ? loaded[0] : fromCached(stored, pageable);
+        } catch (Cache.ValueRetrievalException ex) {
+            throw ex.getCause();
+        } catch (RuntimeException ex) {
+            if (loaded[0] == null) {
+                throw ex;
+            }
+            log.warn("Could not cache '{}': {}", key, ex.getMessage());
+            return loaded[0];
+        }
+    }
+
+    private static Object proceed(ProceedingJoinPoint pjp) throws Exception {
+        try {
+            return pjp.proceed();
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new UndeclaredThrowableException(ex);
+        }
+    }
+
+    private static Object cacheableForm(Object result) {
+        if (result instanceof Page<?> page) {
+            return PageSnapshot.of(page);
+        }
+        if (result instanceof List<?> list) {
+            // Immutable list implementations cannot be read back by the JSON serializer
+            return new ArrayList<>(list);
+        }
+        return result;
+    }
+
+    private void prefetch(ProceedingJoinPoint pjp, String cacheName, Cache cache, Pageable next) {
+        if (cache == null || next.getPageNumber() > maxCachedPage) {
+            return;
+        }
+        Object[] args = pjp.getArgs().clone();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof Pageable) {
+                args[i] = next;
+            }
+        }
+        String key = keyFor(cacheName, pjp, args);
+        if (cache.get(key) != null || !prefetchesInFlight.add(key)) {
+            return;
+        }
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        // getThis() is the proxy, so the call goes through this aspect, the locks and the transaction again
+        Object proxy = pjp.getThis();
+        prefetchExecutor.execute(() -> {
+            PREFETCHING.set(true);
+            try {
+                method.invoke(proxy, args);
+                log.debug("Prefetched {}", key);
+            } catch (InvocationTargetException ex) {
+                log.debug("Prefetch of {} failed: {}", key, ex.getTargetException().getMessage());
+            } catch (Exception ex) {
+                log.debug("Prefetch of {} failed: {}", key, ex.getMessage());
+            } finally {
+                PREFETCHING.remove();
+                prefetchesInFlight.remove(key);
+            }
+        });
+    }
+
+    private String keyFor(String cacheName, ProceedingJoinPoint pjp, Object[] args) {
+        StringJoiner key = new StringJoiner(":");
+        key.add(cacheName).add("g" + cacheGenerations.current(cacheName)).add(pjp.getSignature().getName());
+        for (Object arg : args) {
+            if (arg instanceof Pageable pageable) {
+                key.add("p" + pageable.getPageNumber()).add("s" + pageable.getPageSize()).add(pageable.getSort().toString());
+            } else {
+                key.add(String.valueOf(arg));
+            }
+        }
+        return key.toString();
+    }
+
+    private static Pageable pageableOf(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Pageable pageable) {
+                return pageable;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,233 @@
+package com.academy.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Multi-key reads and writes against the cache in as few round-trips as possible
+ * Reads check this node's heap, then fetch the remaining keys from Redis with one MGET, then
+ * load what is still missing with one loader call; writes go to Redis as pipelined SETs
+ * carrying the cache's TTL. Keys and values use the cache's own prefix and codec, so entries
+ * are interchangeable with those of the by-id {@code @Cacheable} methods. When the cache
+ * manager is not Redis-backed, every key goes through the Cache API one at a time.
+ */
+@Component
+@Slf4j
+public class CacheBulkOperations {
+
+    /**
+     * Most ids a single bulk read accepts
+     */
+    public static final int MAX_KEYS = 100;
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheLoadCoordinator loadCoordinator;
+
+    /**
+     * @param loadCoordinator When enabled, shared entries are stored stamped as {@link SingleFlightCache}
+     *                        stores them; null stores plain values
+     */
+    public CacheBulkOperations(CacheManager cacheManager, StringRedisTemplate redisTemplate,
+                               PlatformTransactionManager transactionManager, CacheLoadCoordinator loadCoordinator) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.loadCoordinator = loadCoordinator;
+    }
+
+    /**
+     * Look up many ids of one cache, loading every miss with a single loader call
+     * Cached under {@code keyPrefix + id}. The loader runs in a read-only transaction, only
+     * when something is missing, and its results are written back to the cache.
+     *
+     * @param loader Loads the given ids, e.g. with findAllById; ids it does not return are skipped
+     * @return Values in the order of {@code ids}, without duplicates or unknown ids
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getAll(String cacheName, String keyPrefix, Collection<Long> ids,
+                              Function<List<Long>, Map<Long, T>> loader) {
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.size() > MAX_KEYS) {
+            throw new IllegalArgumentException("At most " + MAX_KEYS + " ids per request, got " + distinct.size());
+        }
+        Map<Long, Object> found = new HashMap<>();
+        TwoLevelCache near = nearCache(cacheName);
+        List<Long> remaining = new ArrayList<>();
+        for (Long id : distinct) {
+            Cache.ValueWrapper local = near != null ? near.getLocal(keyPrefix + id) : null;
+            if (local != null && local.get() != null) {
+                found.put(id, local.get());
+            } else {
+                remaining.add(id);
+            }
+        }
+
+        if (!remaining.isEmpty()) {
+            Map<Long, Long> stamps = new HashMap<>();
+            if (near != null) {
+                remaining.forEach(id -> stamps.put(id, near.invalidationStamp(keyPrefix + id)));
+            }
+            Map<Long, Object> shared = getShared(cacheName, keyPrefix, remaining);
+            shared.forEach((id, value) -> {
+                found.put(id, value);
+                if (near != null) {
+                    // Not kept if another node invalidated the key while the MGET ran
+                    near.putLocal(keyPrefix + id, value, stamps.get(id));
+                }
+            });
+        }
+
+        List<Long> missing = remaining.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            Map<Long, T> loaded = readOnlyTransaction.execute(status -> loader.apply(missing));
+            if (loaded != null && !loaded.isEmpty()) {
+                Map<String, Object> entries = new LinkedHashMap<>();
+                loaded.forEach((id, value) -> {
+                    found.put(id, value);
+                    entries.put(keyPrefix + id, value);
+                });
+                putAll(cacheName, entries);
+            }
+            log.debug("Bulk read of '{}': {} cached, {} loaded of {} requested", cacheName,
+                distinct.size() - missing.size(), loaded != null ? loaded.size() : 0, distinct.size());
+        }
+        return distinct.stream().map(found::get).filter(Objects::nonNull).map(value -> (T) value).toList();
+    }
+
+    /**
+     * Write entries to one cache in pipelined SETs of at most {@value #MAX_KEYS}
+     * New values for every node, so no invalidation is published. With single-flight on they
+     * are stored as {@link StampedValue}s, like values its loads store.
+     */
+    public void putAll(String cacheName, Map<String, ?> entries) {
+        putAll(cacheName, entries, MAX_KEYS);
+    }
+
+    /**
+     * Write entries to one cache, flushing the pipeline every {@code pipelineSize} SETs
+     */
+    public void putAll(String cacheName, Map<String, ?> entries, int pipelineSize) {
+        TwoLevelCache near = nearCache(cacheName);
+        if (near != null) {
+            entries.forEach(near::putLocal);
+        }
+        Cache shared = sharedCache(cacheName);
+        if (!(shared instanceof RedisCache redisCache)) {
+            if (shared != null) {
+                entries.forEach((key, value) -> shared.put(key, stamped(value, Duration.ZERO)));
+            }
+            return;
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        Duration ttl = config.getTtl();
+        Expiration expiration = ttl.isZero() ? Expiration.persistent() : Expiration.from(ttl);
+        String prefix = config.getKeyPrefixFor(cacheName);
+
+        List<? extends Map.Entry<String, ?>> pending = List.copyOf(entries.entrySet());
+        for (int from = 0; from < pending.size(); from += pipelineSize) {
+            List<? extends Map.Entry<String, ?>> chunk = pending.subList(from, Math.min(from + pipelineSize, pending.size()));
+            try {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (Map.Entry<String, ?> entry : chunk) {
+                        connection.stringCommands().set(
+                            (prefix + entry.getKey()).getBytes(StandardCharsets.UTF_8),
+                            ByteUtils.getBytes(config.getValueSerializationPair().write(stamped(entry.getValue(), ttl))),
+                            expiration, RedisStringCommands.SetOption.upsert());
+                    }
+                    return null;
+                });
+            } catch (RuntimeException ex) {
+                log.warn("Could not write {} entries to cache '{}': {}", chunk.size(), cacheName, ex.getMessage());
+            }
+        }
+    }
+
+    private Map<Long, Object> getShared(String cacheName, String keyPrefix, List<Long> ids) {
+        Map<Long, Object> hits = new HashMap<>();
+        Cache shared = sharedCache(cacheName);
+        if (!(shared instanceof RedisCache redisCache)) {
+            if (shared != null) {
+                for (Long id : ids) {
+                    Cache.ValueWrapper wrapper = shared.get(keyPrefix + id);
+                    if (wrapper != null && wrapper.get() != null) {
+                        hits.put(id, unwrap(wrapper.get()));
+                    }
+                }
+            }
+            return hits;
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        String prefix = config.getKeyPrefixFor(cacheName);
+        byte[][] keys = ids.stream()
+            .map(id -> (prefix + keyPrefix + id).getBytes(StandardCharsets.UTF_8))
+            .toArray(byte[][]::new);
+        try {
+            List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(keys));
+            for (int i = 0; values != null && i < values.size(); i++) {
+                byte[] bytes = values.get(i);
+                if (bytes != null && bytes.length > 0) {
+                    hits.put(ids.get(i), unwrap(config.getValueSerializationPair().read(ByteBuffer.wrap(bytes))));
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("MGET of {} keys from cache '{}' failed, loading them: {}", ids.size(), cacheName, ex.getMessage());
+        }
+        return hits;
+    }
+
+    private TwoLevelCache nearCache(String cacheName) {
+        if (cacheManager instanceof TwoLevelCacheManager twoLevel) {
+            return twoLevel.getNearCache(cacheName);
+        }
+        return null;
+    }
+
+    private Cache sharedCache(String cacheName) {
+        return cacheManager instanceof TwoLevelCacheManager twoLevel
+            ? twoLevel.getSharedCache(cacheName) : cacheManager.getCache(cacheName);
+    }
+
+    /**
+     * A value as single-flight would have stored it: stamped with no compute time, so it
+     * expires with its TTL rather than being refreshed early
+     */
+    private Object stamped(Object value, Duration ttl) {
+        if (loadCoordinator == null || !loadCoordinator.isEnabled()) {
+            return value;
+        }
+        long expiresAt = ttl.isZero() ? Long.MAX_VALUE : System.currentTimeMillis() + ttl.toMillis();
+        return new StampedValue(value, 0, expiresAt);
+    }
+
+    private static Object unwrap(Object value) {
+        return value instanceof StampedValue stamped ? stamped.getValue() : value;
+    }
+}
@@ -0,0 +1,69 @@
+package com.academy.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Generation counters for cache tags
+ * Entries that depend on many rows (lists, pages) put the current generation of their
+ * tag into their key, e.g. {@code "students:g" + @cacheGenerations.current('students') + ":page:0"}.
+ * A write bumps the tag instead of searching for affected entries: old keys become
+ * unreachable at once and expire through their TTL, with no SCAN or KEYS.
+ * Counters live in Redis; each node memoises them and forgets its copy when another
+ * node publishes a bump, or after {@code academy.cache.generation-refresh} at the latest.
+ */
+@Component("cacheGenerations")
+@Slf4j
+public class CacheGenerations implements CacheInvalidationBus.Listener {
+
+    static final String GENERATION_PREFIX = "academy-cache:generation:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final Cache<String, Long> generations;
+
+    public CacheGenerations(StringRedisTemplate redisTemplate, CacheInvalidationBus invalidationBus,
+                            @Value("${academy.cache.generation-refresh:5s}") Duration refresh) {
+        this.redisTemplate = redisTemplate;
+        this.invalidationBus = invalidationBus;
+        this.generations = Caffeine.newBuilder().expireAfterWrite(refresh).build();
+        invalidationBus.addListener(this);
+    }
+
+    /**
+     * Current generation of a tag, 0 until it is first bumped
+     */
+    public long current(String tag) {
+        return generations.get(tag, this::read);
+    }
+
+    /**
+     * Move a tag to a new generation, orphaning every entry keyed by the old one
+     *
+     * @return The new generation
+     */
+    public long bump(String tag) {
+        Long generation = redisTemplate.opsForValue().increment(GENERATION_PREFIX + tag);
+        long next = generation != null ? generation : read(tag);
+        generations.put(tag, next);
+        invalidationBus.publishTagInvalidated(tag);
+        log.debug("Cache tag '{}' now at generation {}", tag, next);
+        return next;
+    }
+
+    @Override
+    public void onTagInvalidated(String tag) {
+        generations.invalidate(tag);
+    }
+
+    private long read(String tag) {
+        String stored = redisTemplate.opsForValue().get(GENERATION_PREFIX + tag);
+        return stored != null ? Long.parseLong(stored) : 0;
+    }
+}
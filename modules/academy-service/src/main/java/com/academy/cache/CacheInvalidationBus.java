@@ -0,0 +1,158 @@
+package com.academy.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Broadcasts near-cache invalidations between nodes over Redis pub/sub
+ * A node that writes or evicts a cache entry publishes on a single channel; every other
+ * node drops its heap copy. Pub/sub is fire-and-forget, so a node that is disconnected
+ * when a message goes out keeps its copy until the near-cache TTL expires it. Listeners hear
+ * when the subscription is re-established, e.g. after a Redis restart, so they can resync.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus implements MessageListener, SubscriptionListener {
+
+    public static final String CHANNEL = "academy-cache:invalidate";
+
+    // Message: <node id>\n<kind>\n<cache name or tag>[\n<key>]
+    private static final String SEPARATOR = "\n";
+    private static final String EVICT = "evict";
+    private static final String CLEAR = "clear";
+    private static final String TAG = "tag";
+    private static final String EXISTS = "exists";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean subscribedOnce = new AtomicBoolean();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Tell other nodes to drop one key of a cache
+     */
+    public void publishEvict(String cacheName, String key) {
+        publish(String.join(SEPARATOR, nodeId, EVICT, cacheName, key));
+    }
+
+    /**
+     * Tell other nodes to drop every key of a cache
+     */
+    public void publishClear(String cacheName) {
+        publish(String.join(SEPARATOR, nodeId, CLEAR, cacheName));
+    }
+
+    /**
+     * Tell other nodes that a cache tag moved to a new generation
+     */
+    public void publishTagInvalidated(String tag) {
+        publish(String.join(SEPARATOR, nodeId, TAG, tag));
+    }
+
+    /**
+     * Tell other nodes that a key now exists, so their existence filters stop ruling it out
+     */
+    public void publishExists(String filterName, String key) {
+        publish(String.join(SEPARATOR, nodeId, EXISTS, filterName, key));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            // Malformed, or our own message: the local copy was already dropped
+            return;
+        }
+        for (Listener listener : listeners) {
+            switch (parts[1]) {
+                case EVICT -> {
+                    if (parts.length == 4) {
+                        listener.onEvict(parts[2], parts[3]);
+                    }
+                }
+                case CLEAR -> listener.onClear(parts[2]);
+                case TAG -> listener.onTagInvalidated(parts[2]);
+                case EXISTS -> {
+                    if (parts.length == 4) {
+                        listener.onExists(parts[2], parts[3]);
+                    }
+                }
+                default -> log.debug("Ignoring cache invalidation of unknown kind '{}'", parts[1]);
+            }
+        }
+    }
+
+    /**
+     * The listener container calls this on the first subscription and again after each reconnect
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (!subscribedOnce.compareAndSet(false, true)) {
+            log.info("Resubscribed to cache invalidations; messages published meanwhile were missed");
+            for (Listener listener : listeners) {
+                listener.onResubscribed();
+            }
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception ex) {
+            // The Redis write this follows has already happened; other nodes fall back to their TTL
+            log.warn("Could not publish cache invalidation: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Receiver of invalidations published by other nodes
+     */
+    public interface Listener {
+
+        default void onEvict(String cacheName, String key) {
+        }
+
+        default void onClear(String cacheName) {
+        }
+
+        default void onTagInvalidated(String tag) {
+        }
+
+        default void onExists(String filterName, String key) {
+        }
+
+        /**
+         * The subscription was re-established; anything published while it was down was missed
+         */
+        default void onResubscribed() {
+        }
+    }
+}
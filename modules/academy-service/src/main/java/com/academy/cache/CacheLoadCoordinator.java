@@ -0,0 +1,132 @@
+package com.academy.cache;
+
+import com.academy.config.SingleFlightProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shared state for {@link SingleFlightCache}: the loads in flight on this node, the
+ * short Redis leases that elect one loader per key across nodes, and the early refresh draw
+ * A lease only says "a node is loading this key"; it expires after
+ * {@code academy.cache.single-flight.lease} so a loader that dies cannot hold a key back.
+ */
+@Component
+@Slf4j
+public class CacheLoadCoordinator {
+
+    static final String LEASE_PREFIX = "academy-cache:loading:";
+
+    private static final RedisScript<Long> RELEASE_LEASE = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class);
+
+    private static final long REMOTE_POLL_MS = 20;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final SingleFlightProperties properties;
+
+    public CacheLoadCoordinator(StringRedisTemplate redisTemplate, SingleFlightProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Whether this reader should recompute an entry before it expires (XFetch)
+     * Draws {@code now + computeMillis * beta * -ln(rand) >= expiresAt}: the closer the
+     * expiry and the slower the loader, the likelier, so usually one reader of a hot key
+     * refreshes it shortly before it would have expired for everyone.
+     */
+    boolean shouldRefreshEarly(StampedValue stamped) {
+        double beta = properties.getEarlyRefreshBeta();
+        if (beta <= 0 || stamped.getComputeMillis() <= 0) {
+            return false;
+        }
+        double gap = stamped.getComputeMillis() * beta * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= stamped.getExpiresAtMillis();
+    }
+
+    /**
+     * Register a load of {@code flightKey} on this node
+     *
+     * @return The load already in flight for the key, or null if {@code flight} is now the one
+     */
+    CompletableFuture<Object> join(String flightKey, CompletableFuture<Object> flight) {
+        return inFlight.putIfAbsent(flightKey, flight);
+    }
+
+    void land(String flightKey, CompletableFuture<Object> flight) {
+        inFlight.remove(flightKey, flight);
+    }
+
+    /**
+     * How long a reader waits on another thread's or node's load before loading itself
+     */
+    Duration getLease() {
+        return properties.getLease();
+    }
+
+    /**
+     * Try to become the node loading a key
+     *
+     * @return Token to release the lease with, or null if another node holds it
+     */
+    String tryLease(String flightKey) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LEASE_PREFIX + flightKey, token, properties.getLease());
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException ex) {
+            // Without Redis there is nobody to coordinate with; load here
+            log.warn("Could not take load lease for '{}': {}", flightKey, ex.getMessage());
+            return token;
+        }
+    }
+
+    void releaseLease(String flightKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_LEASE, List.of(LEASE_PREFIX + flightKey), token);
+        } catch (RuntimeException ex) {
+            log.debug("Could not release load lease for '{}', it will expire: {}", flightKey, ex.getMessage());
+        }
+    }
+
+    /**
+     * Wait for another node to store a key, for at most one lease
+     *
+     * @return The stored entry, or null if none appeared in time
+     */
+    Cache.ValueWrapper awaitRemote(Cache remote, Object key) {
+        long deadline = System.nanoTime() + properties.getLease().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(REMOTE_POLL_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Cache.ValueWrapper stored = remote.get(key);
+            if (stored != null) {
+                return stored;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,235 @@
+package com.academy.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-cache metrics, tagged by cache name
+ * <ul>
+ *   <li>{@code academy.cache.gets} hits and misses as callers see them, near-cache and Redis together</li>
+ *   <li>{@code academy.cache.load} time spent computing missing values</li>
+ *   <li>{@code academy.cache.evictions} key and whole-cache evictions by the application</li>
+ *   <li>{@code academy.cache.serialization} and {@code academy.cache.value.bytes} codec time and encoded size</li>
+ *   <li>{@code academy.cache.keys} approximate Redis key count, refreshed by one SCAN over all caches
+ *   on one node per interval and shared with the others through Redis</li>
+ *   <li>{@code cache.*} with {@code level=local}: the Caffeine near-cache's own statistics</li>
+ * </ul>
+ * Redis TTL expiries are not observable per key; they show as a falling key count.
+ */
+@Component
+@Slf4j
+public class CacheMetrics {
+
+    private static final String PREFIX_SEPARATOR = "::";
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    static final String KEY_COUNT_LEASE = "academy-cache:key-count:lease";
+    static final String KEY_COUNTS = "academy-cache:key-counts";
+
+    private final MeterRegistry meterRegistry;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, String> cacheByKeyPrefix = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> remoteKeys = new ConcurrentHashMap<>();
+    private final Duration keyCountInterval;
+
+    public CacheMetrics(MeterRegistry meterRegistry, StringRedisTemplate redisTemplate,
+                        @Value("${academy.cache.metrics.key-count-interval-ms:60000}") long keyCountIntervalMs) {
+        this.meterRegistry = meterRegistry;
+        this.redisTemplate = redisTemplate;
+        this.keyCountInterval = Duration.ofMillis(keyCountIntervalMs);
+    }
+
+    public void recordHit(String cacheName) {
+        gets(cacheName, "hit").increment();
+    }
+
+    public void recordMiss(String cacheName) {
+        gets(cacheName, "miss").increment();
+    }
+
+    /**
+     * Time the value loader of a missing key ran, whether it returned or threw
+     */
+    public void recordLoad(String cacheName, long nanos, boolean success) {
+        Timer.builder("academy.cache.load")
+            .description("Time spent computing values missing from the cache")
+            .tags("cache", cacheName, "outcome", success ? "success" : "failure")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param scope "key" for a single key, "all" for a whole cache
+     */
+    public void recordEviction(String cacheName, String scope) {
+        Counter.builder("academy.cache.evictions")
+            .description("Cache entries evicted by the application")
+            .tags("cache", cacheName, "scope", scope)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Wrap a value serializer so encode and decode are timed and encoded sizes recorded
+     */
+    public RedisSerializer<Object> metered(String cacheName, RedisSerializer<Object> serializer) {
+        return new MeteredValueSerializer(cacheName, serializer, this);
+    }
+
+    void recordSerialization(String cacheName, String operation, long nanos, int bytes) {
+        Timer.builder("academy.cache.serialization")
+            .description("Time spent encoding and decoding cache values")
+            .tags("cache", cacheName, "operation", operation)
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+        if ("encode".equals(operation)) {
+            DistributionSummary.builder("academy.cache.value.bytes")
+                .description("Encoded size of values written to Redis")
+                .baseUnit("bytes")
+                .tags("cache", cacheName)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(bytes);
+        }
+    }
+
+    /**
+     * Publish the Caffeine near-cache statistics of a cache; the cache must record stats
+     */
+    public void monitorLocal(String cacheName, com.github.benmanes.caffeine.cache.Cache<?, ?> local) {
+        CaffeineCacheMetrics.monitor(meterRegistry, local, cacheName, "level", "local");
+    }
+
+    /**
+     * Count the Redis keys of a cache in {@link #countRemoteKeys()}
+     *
+     * @param keyPrefix the cache's Redis key prefix, "name::" by default
+     */
+    public void monitorRemote(String cacheName, String keyPrefix) {
+        cacheByKeyPrefix.put(keyPrefix, cacheName);
+        AtomicLong count = remoteKeys.computeIfAbsent(cacheName, name -> new AtomicLong(-1));
+        Gauge.builder("academy.cache.keys", count, AtomicLong::get)
+            .description("Approximate number of keys of the cache in Redis, -1 until first counted")
+            .tags("cache", cacheName, "level", "remote")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Refresh the Redis key count of every monitored cache
+     * The node that takes the interval's lease counts in one incremental SCAN and stores the
+     * counts in Redis; every other node reads them, so the keyspace is scanned once per interval
+     * however many nodes run. SCAN may report a key twice while the keyspace is rehashing, hence approximate.
+     */
+    @Scheduled(fixedDelayString = "${academy.cache.metrics.key-count-interval-ms:60000}")
+    public void countRemoteKeys() {
+        if (cacheByKeyPrefix.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Long> counts = Boolean.TRUE.equals(
+                redisTemplate.opsForValue().setIfAbsent(KEY_COUNT_LEASE, "1", keyCountInterval))
+                ? scanAndShareCounts() : sharedCounts();
+            if (counts != null) {
+                remoteKeys.forEach((cacheName, count) -> count.set(counts.getOrDefault(cacheName, 0L)));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not count cache keys in Redis: {}", ex.getMessage());
+        }
+    }
+
+    private Map<String, Long> scanAndShareCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        ScanOptions options = ScanOptions.scanOptions().match("*" + PREFIX_SEPARATOR + "*").count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                String cacheName = cacheByKeyPrefix.get(key.substring(0, key.indexOf(PREFIX_SEPARATOR) + PREFIX_SEPARATOR.length()));
+                if (cacheName != null) {
+                    counts.merge(cacheName, 1L, Long::sum);
+                }
+            }
+        }
+        Map<String, String> shared = new HashMap<>();
+        remoteKeys.keySet().forEach(cacheName -> shared.put(cacheName, String.valueOf(counts.getOrDefault(cacheName, 0L))));
+        redisTemplate.opsForHash().putAll(KEY_COUNTS, shared);
+        // Outlives a missed interval or two, then stops reporting counts nobody refreshes
+        redisTemplate.expire(KEY_COUNTS, keyCountInterval.multipliedBy(3));
+        return counts;
+    }
+
+    /**
+     * The counts the last counting node stored, or null before any node has counted
+     */
+    private Map<String, Long> sharedCounts() {
+        Map<Object, Object> stored = redisTemplate.opsForHash().entries(KEY_COUNTS);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        Map<String, Long> counts = new HashMap<>();
+        stored.forEach((cacheName, count) -> counts.put(cacheName.toString(), Long.parseLong(count.toString())));
+        return counts;
+    }
+
+    /**
+     * Totals of one cache since this node started, for the cache admin endpoint
+     */
+    public Summary summarize(String cacheName) {
+        long hits = count("academy.cache.gets", cacheName, "result", "hit");
+        long misses = count("academy.cache.gets", cacheName, "result", "miss");
+        Timer load = meterRegistry.find("academy.cache.load").tags("cache", cacheName, "outcome", "success").timer();
+        DistributionSummary bytes = meterRegistry.find("academy.cache.value.bytes").tags("cache", cacheName).summary();
+        Gauge localSize = meterRegistry.find("cache.size").tags("cache", cacheName, "level", "local").gauge();
+        AtomicLong keys = remoteKeys.get(cacheName);
+        return new Summary(cacheName, hits, misses,
+            hits + misses == 0 ? 0.0 : (double) hits / (hits + misses),
+            load != null ? load.count() : 0,
+            load != null ? load.mean(TimeUnit.MILLISECONDS) : 0.0,
+            load != null ? load.max(TimeUnit.MILLISECONDS) : 0.0,
+            count("academy.cache.evictions", cacheName, "scope", "key")
+                + count("academy.cache.evictions", cacheName, "scope", "all"),
+            bytes != null ? bytes.mean() : 0.0,
+            bytes != null ? bytes.max() : 0.0,
+            localSize != null ? (long) localSize.value() : -1,
+            keys != null ? keys.get() : -1);
+    }
+
+    private Counter gets(String cacheName, String result) {
+        return Counter.builder("academy.cache.gets")
+            .description("Cache reads by result; a miss ran or awaited the value loader")
+            .tags("cache", cacheName, "result", result)
+            .register(meterRegistry);
+    }
+
+    private long count(String name, String cacheName, String tag, String value) {
+        Counter counter = meterRegistry.find(name).tags("cache", cacheName, tag, value).counter();
+        return counter != null ? (long) counter.count() : 0;
+    }
+
+    /**
+     * Local sizes and remote key counts are -1 when not tracked
+     */
+    public record Summary(String cache, long hits, long misses, double hitRatio, long loads, double meanLoadMs,
+                          double maxLoadMs, long evictions, double meanValueBytes, double maxValueBytes,
+                          long localEntries, long remoteKeys) {
+    }
+}
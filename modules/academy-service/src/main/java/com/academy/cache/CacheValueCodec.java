@@ -0,0 +1,158 @@
+package com.academy.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Redis value serializer for the cache, writing either typed JSON or Smile (binary JSON)
+ * Both formats carry the same Jackson default typing, so any value the JSON serializer
+ * could cache is cached the same way in Smile. Values of at least {@code compressThreshold}
+ * bytes are LZ4-compressed.
+ *
+ * Plain JSON is written without a header, byte for byte what GenericJackson2JsonRedisSerializer
+ * wrote. Every other encoding starts with a format byte that JSON text can never start with:
+ * <pre>
+ * 0x01 [smile]
+ * 0x02 [original length: int] [lz4(smile)]
+ * 0x03 [original length: int] [lz4(json)]
+ * </pre>
+ * Any codec reads all of them, so a cache can switch format without a flush; entries in
+ * the old format are read until they expire.
+ */
+public class CacheValueCodec implements RedisSerializer<Object> {
+
+    public enum Format { JSON, SMILE }
+
+    static final byte SMILE = 0x01;
+    static final byte SMILE_LZ4 = 0x02;
+    static final byte JSON_LZ4 = 0x03;
+
+    private static final int LZ4_HEADER_LENGTH = 1 + Integer.BYTES;
+
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+    // Classes a type id in Redis may name; anything else fails to decode instead of being instantiated
+    private static final PolymorphicTypeValidator CACHED_TYPES = BasicPolymorphicTypeValidator.builder()
+        .allowIfSubType("com.academy.dto.")
+        .allowIfSubType(StampedValue.class)
+        .allowIfSubType(PageSnapshot.class)
+        .allowIfSubType(Collection.class)
+        .allowIfSubType(Map.class)
+        .allowIfSubType(Number.class)
+        .allowIfSubType("java.time.")
+        .build();
+
+    private final Format format;
+    private final int compressThreshold;
+    private final ObjectMapper jsonMapper = typedObjectMapper(new JsonFactory());
+    private final ObjectMapper smileMapper = typedObjectMapper(new SmileFactory());
+
+    /**
+     * @param format            Encoding for values written by this codec
+     * @param compressThreshold Encoded size from which values are compressed; 0 never compresses
+     */
+    public CacheValueCodec(Format format, int compressThreshold) {
+        this.format = format;
+        this.compressThreshold = compressThreshold;
+    }
+
+    /**
+     * ObjectMapper with the typing the cache has always used: every non-final value
+     * records its class, so cached DTOs and lists come back as the same types. Only DTOs,
+     * the cache's own wrappers, collections, numbers and java.time values are read back.
+     */
+    public static ObjectMapper typedObjectMapper(JsonFactory factory) {
+        ObjectMapper objectMapper = new ObjectMapper(factory);
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.activateDefaultTyping(
+            CACHED_TYPES,
+            ObjectMapper.DefaultTyping.NON_FINAL,
+            JsonTypeInfo.As.WRAPPER_ARRAY
+        );
+        return objectMapper;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            if (format == Format.SMILE) {
+                byte[] smile = smileMapper.writeValueAsBytes(value);
+                return shouldCompress(smile) ? compress(SMILE_LZ4, smile) : prefixed(smile);
+            }
+            byte[] json = jsonMapper.writeValueAsBytes(value);
+            return shouldCompress(json) ? compress(JSON_LZ4, json) : json;
+        } catch (IOException ex) {
+            throw new SerializationException("Could not encode cache value of type " + value.getClass().getName(), ex);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return switch (bytes[0]) {
+                case SMILE -> smileMapper.readValue(bytes, 1, bytes.length - 1, Object.class);
+                case SMILE_LZ4 -> smileMapper.readValue(decompress(bytes), Object.class);
+                case JSON_LZ4 -> jsonMapper.readValue(decompress(bytes), Object.class);
+                default -> jsonMapper.readValue(bytes, Object.class);
+            };
+        } catch (IOException | RuntimeException ex) {
+            throw new SerializationException("Could not decode cache value of " + bytes.length + " bytes", ex);
+        }
+    }
+
+    private boolean shouldCompress(byte[] encoded) {
+        return compressThreshold > 0 && encoded.length >= compressThreshold;
+    }
+
+    private static byte[] prefixed(byte[] smile) {
+        byte[] out = new byte[smile.length + 1];
+        out[0] = SMILE;
+        System.arraycopy(smile, 0, out, 1, smile.length);
+        return out;
+    }
+
+    private static byte[] compress(byte header, byte[] encoded) {
+        int maxLength = COMPRESSOR.maxCompressedLength(encoded.length);
+        byte[] out = new byte[LZ4_HEADER_LENGTH + maxLength];
+        ByteBuffer.wrap(out).put(header).putInt(encoded.length);
+        int compressedLength = COMPRESSOR.compress(encoded, 0, encoded.length, out, LZ4_HEADER_LENGTH, maxLength);
+        return Arrays.copyOf(out, LZ4_HEADER_LENGTH + compressedLength);
+    }
+
+    private static byte[] decompress(byte[] bytes) {
+        int originalLength = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+        return DECOMPRESSOR.decompress(bytes, LZ4_HEADER_LENGTH, originalLength);
+    }
+}
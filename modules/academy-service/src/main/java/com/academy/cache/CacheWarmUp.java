@@ -0,0 +1,199 @@
+package com.academy.cache;
+
+import com.academy.config.CacheWarmUpProperties;
+import com.academy.entity.Batch;
+import com.academy.entity.BatchType;
+import com.academy.entity.ClassEntity;
+import com.academy.entity.Mentor;
+import com.academy.mapper.BatchMapper;
+import com.academy.mapper.BatchTypeMapper;
+import com.academy.mapper.ClassMapper;
+import com.academy.mapper.MentorMapper;
+import com.academy.repository.BatchRepository;
+import com.academy.repository.BatchTypeRepository;
+import com.academy.repository.ClassRepository;
+import com.academy.repository.MentorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loads the hot reference data into the cache before the node takes traffic
+ * Each group (batch types, mentors, classes, newest batches) is read with one bulk query, two
+ * for batches, and written to Redis in pipelined SETs through {@link CacheBulkOperations}, under the
+ * same keys and TTLs the by-id {@code @Cacheable} methods use. Runs as an ApplicationRunner, so readiness only turns to
+ * ACCEPTING_TRAFFIC once it and the other runners are done; {@link #warmUp()} can be run again
+ * after a Redis restart, refusing traffic until it succeeds.
+ */
+@Component
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+    private final CacheWarmUpProperties properties;
+    private final CacheBulkOperations cacheBulkOperations;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final BatchTypeRepository batchTypeRepository;
+    private final MentorRepository mentorRepository;
+    private final ClassRepository classRepository;
+    private final BatchRepository batchRepository;
+    private final BatchTypeMapper batchTypeMapper;
+    private final MentorMapper mentorMapper;
+    private final ClassMapper classMapper;
+    private final BatchMapper batchMapper;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CacheWarmUp(CacheWarmUpProperties properties, CacheBulkOperations cacheBulkOperations,
+                       PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry, BatchTypeRepository batchTypeRepository,
+                       MentorRepository mentorRepository, ClassRepository classRepository,
+                       BatchRepository batchRepository, BatchTypeMapper batchTypeMapper, MentorMapper mentorMapper,
+                       ClassMapper classMapper, BatchMapper batchMapper) {
+        this.properties = properties;
+        this.cacheBulkOperations = cacheBulkOperations;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.batchTypeRepository = batchTypeRepository;
+        this.mentorRepository = mentorRepository;
+        this.classRepository = classRepository;
+        this.batchRepository = batchRepository;
+        this.batchTypeMapper = batchTypeMapper;
+        this.mentorMapper = mentorMapper;
+        this.classMapper = classMapper;
+        this.batchMapper = batchMapper;
+    }
+
+    /**
+     * Warm at startup; Boot turns readiness to ACCEPTING_TRAFFIC once every runner is done
+     * A failed warm-up is logged and the node starts cold.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.isEnabled() && running.compareAndSet(false, true)) {
+            try {
+                load();
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    /**
+     * Load the configured hot set again, e.g. after a Redis restart, refusing traffic until it is done
+     * Traffic is accepted again only once a warm-up succeeds; after a failure the node stays out
+     * of rotation until this is run again.
+     *
+     * @return Number of entries written, or -1 if a warm-up was already running or this one failed
+     */
+    public int warmUp() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Cache warm-up already running");
+            return -1;
+        }
+        try {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            int written = load();
+            if (written >= 0) {
+                AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+            } else {
+                log.warn("Still refusing traffic after the failed cache warm-up; run it again once Redis and the database are back");
+            }
+            return written;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return Number of entries written, or -1 if a group failed to load
+     */
+    private int load() {
+        long startedAt = System.nanoTime();
+        String outcome = "success";
+        int written = 0;
+        try {
+            if (properties.isBatchTypes()) {
+                written += warm("batchType", "batchType:", batchTypeRepository::findAll,
+                    BatchType::getId, batchTypeMapper::toDTO);
+            }
+            if (properties.isMentors()) {
+                written += warm("mentor", "mentor:", mentorRepository::findAll,
+                    Mentor::getId, mentorMapper::toDTO);
+            }
+            if (properties.isClasses()) {
+                written += warm("class", "class:", classRepository::findAll,
+                    ClassEntity::getId, classMapper::toDTO);
+            }
+            if (properties.getRecentBatches() > 0) {
+                // Ids first, then the batches with their type and classes in one query, since
+                // paging a collection fetch-join would happen in memory
+                PageRequest newest = PageRequest.of(0, properties.getRecentBatches());
+                written += warm("batch", "batch:",
+                    () -> batchRepository.findAllWithTypeAndClassesByIdIn(batchRepository.findNewestIds(newest)),
+                    Batch::getId, batchMapper::toDTO);
+            }
+            log.info("Cache warm-up wrote {} entries in {}ms", written, elapsedMs(startedAt));
+            return written;
+        } catch (RuntimeException ex) {
+            outcome = "failure";
+            log.warn("Cache warm-up failed after {} entries: {}", written, ex.getMessage());
+            return -1;
+        } finally {
+            Timer.builder("academy.cache.warmup")
+                .description("Time to load the hot set into the cache")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+    }
+
+    /**
+     * Read one group in a single query and write it under {@code keyPrefix + id}
+     */
+    private <E> int warm(String cacheName, String keyPrefix, Supplier<List<E>> query, Function<E, Long> idOf,
+                         Function<E, ?> toDTO) {
+        Map<String, Object> entries = readOnlyTransaction.execute(status -> {
+            Map<String, Object> loaded = new LinkedHashMap<>();
+            for (E entity : query.get()) {
+                loaded.put(keyPrefix + idOf.apply(entity), toDTO.apply(entity));
+            }
+            return loaded;
+        });
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+        cacheBulkOperations.putAll(cacheName, entries, properties.getPipelineSize());
+        Counter.builder("academy.cache.warmup.entries")
+            .description("Entries written by cache warm-up")
+            .tag("cache", cacheName)
+            .register(meterRegistry)
+            .increment(entries.size());
+        log.debug("Warmed '{}' with {} entries", cacheName, entries.size());
+        return entries.size();
+    }
+
+    private static long elapsedMs(long startedAt) {
+        return Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+    }
+}
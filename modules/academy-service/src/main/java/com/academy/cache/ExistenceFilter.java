@@ -0,0 +1,130 @@
+package com.academy.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * One named Bloom filter of keys known to exist in a table
+ * Answers "definitely missing" or "maybe present"; until the first rebuild completes it
+ * always says "maybe", so a cold or disabled filter never hides a row. A rebuild fills a
+ * fresh filter from the database and swaps it in. Keys added meanwhile go to both filters,
+ * and keys added shortly before the scan started are replayed into the new one, because
+ * their transaction may not have been visible to the scan yet. An id filter only rules out
+ * ids up to the highest one its last rebuild saw; newer ids always reach the database, so a
+ * missed insert notification cannot hide a new row.
+ */
+public class ExistenceFilter {
+
+    static final Duration REPLAY_WINDOW = Duration.ofMinutes(1);
+
+    private final String name;
+    private final ConcurrentLinkedQueue<Added> recent = new ConcurrentLinkedQueue<>();
+    private volatile Built current;
+    private volatile BloomFilter building;
+    private final AtomicLong keyCount = new AtomicLong();
+
+    public ExistenceFilter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Approximate number of keys in the filter: the last rebuild plus adds since
+     */
+    public long getKeyCount() {
+        return keyCount.get();
+    }
+
+    public void add(String key) {
+        Built built = current;
+        if (built != null) {
+            built.filter().put(key);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+        long now = System.currentTimeMillis();
+        recent.add(new Added(key, now));
+        trimRecent(now);
+        keyCount.incrementAndGet();
+    }
+
+    /**
+     * True only when the key was certainly never added since the last rebuild
+     */
+    public boolean definitelyMissing(String key) {
+        Built built = current;
+        return built != null && !built.filter().mightContain(key);
+    }
+
+    /**
+     * True only when the id is no higher than any the last rebuild saw and was certainly never added
+     */
+    public boolean definitelyMissing(long id) {
+        Built built = current;
+        return built != null && id <= built.highestId() && !built.filter().mightContain(String.valueOf(id));
+    }
+
+    /**
+     * Replace the filter with one holding every key the scanner emits
+     *
+     * @param expectedKeys sizing hint, usually the table's row count
+     * @param scanner      pushes every existing key into the consumer
+     */
+    public void rebuild(long expectedKeys, double falsePositiveRate, Consumer<Consumer<String>> scanner) {
+        rebuild(expectedKeys, falsePositiveRate, Long.MAX_VALUE, scanner);
+    }
+
+    /**
+     * Replace an id filter with one holding every id the scanner emits
+     *
+     * @param highestId highest id in the table as of the scan; higher ids are never ruled out
+     */
+    public synchronized void rebuild(long expectedKeys, double falsePositiveRate, long highestId,
+                                     Consumer<Consumer<String>> scanner) {
+        BloomFilter next = new BloomFilter(Math.max(expectedKeys * 2, 1024), falsePositiveRate);
+        building = next;
+        try {
+            long[] scanned = {0};
+            scanner.accept(key -> {
+                next.put(key);
+                scanned[0]++;
+            });
+            long cutoff = System.currentTimeMillis() - REPLAY_WINDOW.toMillis();
+            for (Added added : recent) {
+                if (added.atMillis() >= cutoff) {
+                    next.put(added.key());
+                }
+            }
+            current = new Built(next, highestId);
+            keyCount.set(scanned[0]);
+        } finally {
+            building = null;
+        }
+    }
+
+    private void trimRecent(long now) {
+        long cutoff = now - REPLAY_WINDOW.toMillis();
+        Iterator<Added> it = recent.iterator();
+        while (it.hasNext() && it.next().atMillis() < cutoff) {
+            it.remove();
+        }
+    }
+
+    private record Added(String key, long atMillis) {
+    }
+
+    private record Built(BloomFilter filter, long highestId) {
+    }
+}
@@ -0,0 +1,265 @@
+package com.academy.cache;
+
+import com.academy.config.ExistenceFilterProperties;
+import com.academy.entity.Batch;
+import com.academy.entity.BatchType;
+import com.academy.entity.ClassEntity;
+import com.academy.entity.Mentor;
+import com.academy.entity.MentorSession;
+import com.academy.entity.Student;
+import com.academy.repository.BatchRepository;
+import com.academy.repository.BatchTypeRepository;
+import com.academy.repository.ClassRepository;
+import com.academy.repository.MentorRepository;
+import com.academy.repository.MentorSessionRepository;
+import com.academy.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Existence Bloom filters for entity ids and student emails
+ * Filters are rebuilt from id (and email) projections at startup and every
+ * {@code rebuild-interval-ms}. Inserts are added by {@link ExistenceFilterListener} at flush,
+ * before commit, and published to other nodes over the {@link CacheInvalidationBus}. Deleted
+ * keys stay "maybe present" until the next rebuild, which costs a query, never a wrong answer.
+ * Ids above the highest one a rebuild saw are never ruled out, so a missed pub/sub message
+ * cannot hide a new row by id; it can hide a new email until the next rebuild, which also runs
+ * whenever the invalidation subscription is re-established. Rows inserted outside the application
+ * are hidden the same way; set {@code academy.cache.existence.enabled=false} where other writers exist.
+ */
+@Component
+@Slf4j
+public class ExistenceFilters implements ApplicationRunner, CacheInvalidationBus.Listener {
+
+    public static final String STUDENT = "student";
+    public static final String STUDENT_EMAIL = "studentEmail";
+    public static final String BATCH = "batch";
+    public static final String BATCH_TYPE = "batchType";
+    public static final String CLASS = "class";
+    public static final String MENTOR = "mentor";
+    public static final String MENTOR_SESSION = "mentorSession";
+
+    private static final List<Spec> SPECS = List.of(
+        Spec.ofIds(STUDENT, Student.class, StudentRepository.class),
+        new Spec(STUDENT_EMAIL, Student.class, "email", null, value -> emailKey((String) value)),
+        Spec.ofIds(BATCH, Batch.class, BatchRepository.class),
+        Spec.ofIds(BATCH_TYPE, BatchType.class, BatchTypeRepository.class),
+        Spec.ofIds(CLASS, ClassEntity.class, ClassRepository.class),
+        Spec.ofIds(MENTOR, Mentor.class, MentorRepository.class),
+        Spec.ofIds(MENTOR_SESSION, MentorSession.class, MentorSessionRepository.class)
+    );
+
+    private final ExistenceFilterProperties properties;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ExistenceFilter> filters = new LinkedHashMap<>();
+
+    public ExistenceFilters(ExistenceFilterProperties properties, EntityManager entityManager,
+                            PlatformTransactionManager transactionManager, CacheInvalidationBus invalidationBus,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        for (Spec spec : SPECS) {
+            filters.put(spec.name(), new ExistenceFilter(spec.name()));
+        }
+        invalidationBus.addListener(this);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuildAll();
+    }
+
+    /**
+     * Refill every filter from the database, dropping keys deleted since the last rebuild
+     */
+    @Scheduled(initialDelayString = "${academy.cache.existence.rebuild-interval-ms:600000}",
+        fixedDelayString = "${academy.cache.existence.rebuild-interval-ms:600000}")
+    public void rebuildAll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (Spec spec : SPECS) {
+            try {
+                rebuild(spec);
+            } catch (Exception ex) {
+                // The previous filter, or none, stays in place; lookups keep reaching the database
+                log.warn("Could not rebuild existence filter '{}': {}", spec.name(), ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * True when the repository's entity certainly has no row with this id
+     */
+    public boolean idDefinitelyMissing(Object repository, Object id) {
+        if (!properties.isEnabled() || id == null) {
+            return false;
+        }
+        for (Spec spec : SPECS) {
+            if (spec.repository() != null && spec.repository().isInstance(repository)) {
+                return id instanceof Number number
+                    && rejected(spec.name(), filters.get(spec.name()).definitelyMissing(number.longValue()));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True when no student certainly has this email
+     */
+    public boolean emailDefinitelyMissing(String email) {
+        String key = emailKey(email);
+        return properties.isEnabled() && key != null
+            && rejected(STUDENT_EMAIL, filters.get(STUDENT_EMAIL).definitelyMissing(key));
+    }
+
+    /**
+     * Add a freshly inserted entity's keys here and on every other node
+     */
+    public void recordInsert(Object entity, Object id) {
+        for (Spec spec : SPECS) {
+            if (spec.entity().isInstance(entity)) {
+                Object value = "id".equals(spec.attribute()) ? id : emailOf(entity);
+                String key = value == null ? null : spec.key().apply(value);
+                if (key != null) {
+                    filters.get(spec.name()).add(key);
+                    invalidationBus.publishExists(spec.name(), key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add keys an update may have introduced; only a student's email can change
+     */
+    public void recordUpdate(Object entity) {
+        if (entity instanceof Student student) {
+            String key = emailKey(student.getEmail());
+            if (key != null) {
+                filters.get(STUDENT_EMAIL).add(key);
+                invalidationBus.publishExists(STUDENT_EMAIL, key);
+            }
+        }
+    }
+
+    public Collection<ExistenceFilter> getFilters() {
+        return filters.values();
+    }
+
+    ExistenceFilter filter(String name) {
+        return filters.get(name);
+    }
+
+    @Override
+    public void onExists(String filterName, String key) {
+        ExistenceFilter filter = filters.get(filterName);
+        if (filter != null) {
+            filter.add(key);
+        }
+    }
+
+    /**
+     * Inserts published while this node was unsubscribed were lost; rebuild off the subscriber's thread
+     */
+    @Override
+    public void onResubscribed() {
+        if (properties.isEnabled()) {
+            Thread.ofVirtual().name("existence-filters-rebuild").start(this::rebuildAll);
+        }
+    }
+
+    private boolean rejected(String filterName, boolean definitelyMissing) {
+        if (!definitelyMissing) {
+            return false;
+        }
+        meterRegistry.counter("academy.cache.existence.rejected", "filter", filterName).increment();
+        return true;
+    }
+
+    private void rebuild(Spec spec) {
+        long started = System.currentTimeMillis();
+        String entityName = spec.entity().getSimpleName();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Long rows = entityManager.createQuery("select count(e) from " + entityName + " e", Long.class)
+                .getSingleResult();
+            filters.get(spec.name()).rebuild(rows, properties.getFalsePositiveRate(), highestId(spec), sink -> {
+                try (Stream<Object> values = entityManager
+                        .createQuery("select e." + spec.attribute() + " from " + entityName + " e", Object.class)
+                        .getResultStream()) {
+                    values.filter(Objects::nonNull)
+                        .map(spec.key())
+                        .filter(Objects::nonNull)
+                        .forEach(sink);
+                }
+            });
+        });
+        log.info("Rebuilt existence filter '{}' with {} keys in {} ms",
+            spec.name(), filters.get(spec.name()).getKeyCount(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Highest id of an id filter's table, read in the scan's transaction so every id up to it
+     * was visible to the scan; no ceiling for the email filter
+     */
+    private long highestId(Spec spec) {
+        if (spec.repository() == null) {
+            return Long.MAX_VALUE;
+        }
+        Long maxId = entityManager
+            .createQuery("select max(e.id) from " + spec.entity().getSimpleName() + " e", Long.class)
+            .getSingleResult();
+        return maxId != null ? maxId : 0;
+    }
+
+    private static Object emailOf(Object entity) {
+        return entity instanceof Student student ? student.getEmail() : null;
+    }
+
+    /**
+     * Filter key of an email, or null when it cannot be ruled out safely
+     * MySQL compares emails case- and accent-insensitively, so ASCII is lower-cased and
+     * anything else is left to the database.
+     */
+    static String emailKey(String email) {
+        if (email == null) {
+            return null;
+        }
+        for (int i = 0; i < email.length(); i++) {
+            if (email.charAt(i) > 0x7f) {
+                return null;
+            }
+        }
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private record Spec(String name, Class<?> entity, String attribute, Class<?> repository,
+                        Function<Object, String> key) {
+
+        static Spec ofIds(String name, Class<?> entity, Class<?> repository) {
+            return new Spec(name, entity, "id", repository, String::valueOf);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.academy.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache that reports reads, loads and evictions of the cache it wraps to {@link CacheMetrics}
+ * Sits outermost, so a hit is a value served from either level. Under single-flight, a reader
+ * that received another reader's load counts as a hit: it did not run the loader itself.
+ */
+public class MeteredCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheMetrics metrics;
+
+    public MeteredCache(Cache delegate, CacheMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        recordRead(wrapper != null);
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        recordRead(value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = delegate.get(key, () -> {
+            loaded.set(true);
+            long started = System.nanoTime();
+            boolean success = false;
+            try {
+                T computed = valueLoader.call();
+                success = true;
+                return computed;
+            } finally {
+                metrics.recordLoad(getName(), System.nanoTime() - started, success);
+            }
+        });
+        recordRead(!loaded.get());
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        metrics.recordEviction(getName(), "key");
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        metrics.recordEviction(getName(), "key");
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        metrics.recordEviction(getName(), "all");
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        metrics.recordEviction(getName(), "all");
+        return invalidated;
+    }
+
+    private void recordRead(boolean hit) {
+        if (hit) {
+            metrics.recordHit(getName());
+        } else {
+            metrics.recordMiss(getName());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.academy.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Value serializer of one cache that reports codec time and encoded size to {@link CacheMetrics}
+ * The codec itself is shared between caches of a format; this wrapper supplies the cache name.
+ */
+class MeteredValueSerializer implements RedisSerializer<Object> {
+
+    private final String cacheName;
+    private final RedisSerializer<Object> delegate;
+    private final CacheMetrics metrics;
+
+    MeteredValueSerializer(String cacheName, RedisSerializer<Object> delegate, CacheMetrics metrics) {
+        this.cacheName = cacheName;
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        long started = System.nanoTime();
+        byte[] bytes = delegate.serialize(value);
+        metrics.recordSerialization(cacheName, "encode", System.nanoTime() - started, bytes != null ? bytes.length : 0);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        long started = System.nanoTime();
+        Object value = delegate.deserialize(bytes);
+        metrics.recordSerialization(cacheName, "decode", System.nanoTime() - started, bytes != null ? bytes.length : 0);
+        return value;
+    }
+}
@@ -0,0 +1,42 @@
+package com.academy.cache;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cacheable form of a {@link Page}
+ * PageImpl cannot be read back by the cache's JSON serializer, so only the content and
+ * the total are stored; the page is rebuilt around the Pageable of the request.
+ * Non-final with a no-arg constructor so the serializer records and restores its type.
+ */
+public class PageSnapshot {
+
+    private ArrayList<Object> content;
+    private long totalElements;
+
+    PageSnapshot() {
+    }
+
+    public static PageSnapshot of(Page<?> page) {
+        PageSnapshot snapshot = new PageSnapshot();
+        snapshot.content = new ArrayList<>(page.getContent());
+        snapshot.totalElements = page.getTotalElements();
+        return snapshot;
+    }
+
+    public Page<Object> toPage(Pageable pageable) {
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+
+    public List<Object> getContent() {
+        return content;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+}
@@ -0,0 +1,185 @@
+package com.academy.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cache that loads each missing key once, however many readers miss it at the same time
+ * Applies to {@link #get(Object, Callable)}, i.e. {@code @Cacheable(sync = true)}. On this
+ * node, concurrent misses wait for the first reader's load; across nodes, a short Redis lease
+ * picks one loader and the other nodes poll the shared cache for its result. A waiter that
+ * sees no result within a lease loads the value itself.
+ * Loaded values are stored as a {@link StampedValue} so a reader can refresh a hot entry
+ * shortly before its TTL runs out (XFetch); meanwhile the other readers keep the current value.
+ */
+@Slf4j
+public class SingleFlightCache implements Cache {
+
+    private final Cache remote;
+    private final Duration ttl;
+    private final CacheLoadCoordinator coordinator;
+
+    public SingleFlightCache(Cache remote, Duration ttl, CacheLoadCoordinator coordinator) {
+        this.remote = remote;
+        this.ttl = ttl;
+        this.coordinator = coordinator;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return unwrap(remote.get(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = remote.get(key);
+        StampedValue current = null;
+        if (cached != null) {
+            if (!(cached.get() instanceof StampedValue stamped)) {
+                return (T) cached.get();
+            }
+            if (!coordinator.shouldRefreshEarly(stamped)) {
+                return (T) stamped.getValue();
+            }
+            current = stamped;
+        }
+
+        String flightKey = getName() + ":" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = coordinator.join(flightKey, flight);
+        if (inFlight != null) {
+            // Another reader is loading; a refresh keeps serving the current value meanwhile
+            return current != null ? (T) current.getValue() : (T) await(inFlight, key, valueLoader);
+        }
+        try {
+            Object value = loadOnce(flightKey, key, valueLoader, current);
+            flight.complete(value);
+            return (T) value;
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            coordinator.land(flightKey, flight);
+        }
+    }
+
+    private Object loadOnce(String flightKey, Object key, Callable<?> valueLoader, StampedValue current) {
+        String token = coordinator.tryLease(flightKey);
+        if (token == null) {
+            if (current != null) {
+                return current.getValue();
+            }
+            ValueWrapper stored = unwrap(coordinator.awaitRemote(remote, key));
+            if (stored != null) {
+                return stored.get();
+            }
+            log.debug("No other node stored '{}' within {}, loading here", flightKey, coordinator.getLease());
+        }
+        try {
+            return loadAndStore(key, valueLoader);
+        } finally {
+            if (token != null) {
+                coordinator.releaseLease(flightKey, token);
+            }
+        }
+    }
+
+    private Object loadAndStore(Object key, Callable<?> valueLoader) {
+        long startedAt = System.currentTimeMillis();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        if (value != null) {
+            long now = System.currentTimeMillis();
+            remote.put(key, ttl.isZero() ? value : new StampedValue(value, now - startedAt, now + ttl.toMillis()));
+        }
+        return value;
+    }
+
+    private Object await(CompletableFuture<Object> inFlight, Object key, Callable<?> valueLoader) {
+        try {
+            return inFlight.get(coordinator.getLease().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.debug("Load of '{}' in '{}' still running after {}, loading here", key, getName(), coordinator.getLease());
+            return loadAndStore(key, valueLoader);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return unwrap(remote.putIfAbsent(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return remote.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return remote.invalidate();
+    }
+
+    private static ValueWrapper unwrap(ValueWrapper wrapper) {
+        if (wrapper != null && wrapper.get() instanceof StampedValue stamped) {
+            return new SimpleValueWrapper(stamped.getValue());
+        }
+        return wrapper;
+    }
+}
@@ -0,0 +1,35 @@
+package com.academy.cache;
+
+/**
+ * Cache value stored with what early refresh needs to know about it
+ * {@code computeMillis} is how long the loader took, {@code expiresAtMillis} when the
+ * entry's TTL runs out. Non-final with a no-arg constructor so the cache codec records
+ * and restores its type.
+ */
+public class StampedValue {
+
+    private Object value;
+    private long computeMillis;
+    private long expiresAtMillis;
+
+    StampedValue() {
+    }
+
+    StampedValue(Object value, long computeMillis, long expiresAtMillis) {
+        this.value = value;
+        this.computeMillis = computeMillis;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
@@ -0,0 +1,209 @@
+package com.academy.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache with a bounded in-heap L1 in front of a shared L2 (Redis)
+ * Reads are served from the heap when possible and otherwise from L2, copying the
+ * entry into L1 on the way. Writes and evictions go to L2 first, then L1, and are then
+ * broadcast through the {@link CacheInvalidationBus} so other nodes drop their copy.
+ * L1 is keyed by the key's string form, the same form L2 and the invalidation messages use.
+ * A read that misses L1 notes the key's invalidation stamp before reading L2 and only fills L1
+ * if no eviction, write or clear touched the key meanwhile; otherwise the value it read may be
+ * the one just invalidated, and the next read goes to L2 again.
+ */
+public class TwoLevelCache implements Cache {
+
+    private static final int STRIPES = 1024;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+    private final Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    // Invalidations per key stripe, and of the whole cache; a shared stripe only skips an L1 fill
+    private final AtomicLongArray stripeInvalidations = new AtomicLongArray(STRIPES);
+    private final AtomicLong clears = new AtomicLong();
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local,
+                         Cache remote, CacheInvalidationBus invalidationBus) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = invalidationStamp(localKey);
+        ValueWrapper loaded = remote.get(key);
+        if (loaded != null) {
+            fill(localKey, loaded, stamp);
+        }
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        ValueWrapper cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long stamp = invalidationStamp(localKey);
+        // A value loaded here is new to every node, so there is nothing to invalidate
+        T value = remote.get(key, valueLoader);
+        fill(localKey, new SimpleValueWrapper(value), stamp);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        remote.put(key, value);
+        invalidated(localKey);
+        local.put(localKey, new SimpleValueWrapper(value));
+        invalidationBus.publishEvict(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String localKey = localKey(key);
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.put(localKey, existing != null ? existing : new SimpleValueWrapper(value));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remote.evict(key);
+        invalidated(localKey);
+        local.invalidate(localKey);
+        invalidationBus.publishEvict(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String localKey = localKey(key);
+        boolean evicted = remote.evictIfPresent(key);
+        invalidated(localKey);
+        local.invalidate(localKey);
+        invalidationBus.publishEvict(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clears.incrementAndGet();
+        local.invalidateAll();
+        invalidationBus.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        clears.incrementAndGet();
+        local.invalidateAll();
+        invalidationBus.publishClear(name);
+        return invalidated;
+    }
+
+    /**
+     * This node's heap copy of a key, without falling through to L2
+     */
+    ValueWrapper getLocal(String key) {
+        return local.getIfPresent(key);
+    }
+
+    /**
+     * Keep a value loaded in bulk on this node's heap
+     */
+    void putLocal(String key, Object value) {
+        local.put(key, new SimpleValueWrapper(value));
+    }
+
+    /**
+     * Keep a value read from L2 on this node's heap, unless the key was invalidated since {@code stamp}
+     */
+    void putLocal(String key, Object value, long stamp) {
+        fill(key, new SimpleValueWrapper(value), stamp);
+    }
+
+    /**
+     * Taken before reading a key from L2; changes whenever the key or the whole cache is invalidated
+     */
+    long invalidationStamp(String key) {
+        // Both counters only grow, so their sum moves whenever either does
+        return clears.get() + stripeInvalidations.get(stripe(key));
+    }
+
+    /**
+     * Drop a key from this node's heap only, on another node's invalidation
+     */
+    void evictLocal(String key) {
+        invalidated(key);
+        local.invalidate(key);
+    }
+
+    /**
+     * Drop every key from this node's heap only, on another node's invalidation
+     */
+    void clearLocal() {
+        clears.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    private void fill(String key, ValueWrapper wrapper, long stamp) {
+        local.put(key, wrapper);
+        if (invalidationStamp(key) != stamp) {
+            // Invalidated while L2 was read, or while storing: the value may be the stale one
+            local.invalidate(key);
+        }
+    }
+
+    private void invalidated(String key) {
+        stripeInvalidations.incrementAndGet(stripe(key));
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,146 @@
+package com.academy.cache;
+
+import com.academy.config.NearCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache manager putting a Caffeine near-cache in front of every cache of another manager
+ * The wrapped manager (Redis) stays the shared source of truth; each of its caches is
+ * exposed as a {@link TwoLevelCache} sized and timed per cache name from
+ * {@link NearCacheProperties}. Invalidations from other nodes arrive through the
+ * {@link CacheInvalidationBus}. With a {@link CacheLoadCoordinator}, misses on the shared
+ * level are loaded once per key across readers and nodes, and with {@link CacheMetrics} every
+ * cache reports its reads, loads and sizes. The wrapped manager should not
+ * be transaction-aware itself; set it on this one instead so both levels change together
+ * after commit.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager
+    implements CacheInvalidationBus.Listener {
+
+    private final CacheManager remoteManager;
+    private final NearCacheProperties properties;
+    private final CacheInvalidationBus invalidationBus;
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+    private CacheLoadCoordinator loadCoordinator;
+    private CacheMetrics cacheMetrics;
+
+    public TwoLevelCacheManager(CacheManager remoteManager, NearCacheProperties properties,
+                                CacheInvalidationBus invalidationBus) {
+        this.remoteManager = remoteManager;
+        this.properties = properties;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.addListener(this);
+    }
+
+    /**
+     * Coalesce concurrent misses of a key through {@link SingleFlightCache}; unset, each miss loads
+     */
+    public void setLoadCoordinator(CacheLoadCoordinator loadCoordinator) {
+        this.loadCoordinator = loadCoordinator;
+    }
+
+    /**
+     * Report hits, misses, loads, evictions and sizes of every cache; unset, nothing is measured
+     */
+    public void setCacheMetrics(CacheMetrics cacheMetrics) {
+        this.cacheMetrics = cacheMetrics;
+    }
+
+    /**
+     * The shared (Redis) cache behind a name, without near-cache or single-flight
+     * For bulk writers that talk to Redis directly, such as the cache warm-up.
+     */
+    public Cache getSharedCache(String name) {
+        return remoteManager.getCache(name);
+    }
+
+    /**
+     * The near-cache of a name, or null if near-caching is off
+     */
+    TwoLevelCache getNearCache(String name) {
+        getCache(name);
+        return twoLevelCaches.get(name);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return remoteManager.getCacheNames().stream()
+            .map(name -> decorate(remoteManager.getCache(name)))
+            .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = remoteManager.getCache(name);
+        return remote != null ? decorate(remote) : null;
+    }
+
+    @Override
+    public void onEvict(String cacheName, String key) {
+        TwoLevelCache cache = twoLevelCaches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    @Override
+    public void onClear(String cacheName) {
+        TwoLevelCache cache = twoLevelCaches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    private Cache decorate(Cache shared) {
+        Cache cache = withNearCache(shared);
+        if (cacheMetrics == null) {
+            return cache;
+        }
+        if (shared instanceof RedisCache redisCache) {
+            cacheMetrics.monitorRemote(shared.getName(), redisCache.getCacheConfiguration().getKeyPrefixFor(shared.getName()));
+        }
+        return new MeteredCache(cache, cacheMetrics);
+    }
+
+    private Cache withNearCache(Cache shared) {
+        Cache remote = withSingleFlight(shared);
+        if (!properties.isEnabled()) {
+            return remote;
+        }
+        NearCacheProperties.Spec spec = properties.specFor(remote.getName());
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(spec.getMaximumSize())
+            .expireAfterWrite(spec.getTtl());
+        if (cacheMetrics != null) {
+            builder.recordStats();
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local = builder.build();
+        if (cacheMetrics != null) {
+            cacheMetrics.monitorLocal(remote.getName(), local);
+        }
+        TwoLevelCache cache = new TwoLevelCache(remote.getName(), local, remote, invalidationBus);
+        twoLevelCaches.put(remote.getName(), cache);
+        log.debug("Near-cache for '{}': max {} entries, ttl {}", remote.getName(), spec.getMaximumSize(), spec.getTtl());
+        return cache;
+    }
+
+    private Cache withSingleFlight(Cache remote) {
+        if (loadCoordinator == null || !loadCoordinator.isEnabled()) {
+            return remote;
+        }
+        Duration ttl = remote instanceof RedisCache redisCache ? redisCache.getCacheConfiguration().getTtl() : Duration.ZERO;
+        return new SingleFlightCache(remote, ttl, loadCoordinator);
+    }
+}
@@ -0,0 +1,46 @@
+package com.academy.config;
+
+import com.academy.cache.CacheValueCodec;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encoding of cache values in Redis, bound from academy.cache.codec
+ * The near-cache holds objects, so the format only changes what Redis stores and what
+ * crosses the network. Any format reads the others, so a cache can be switched live.
+ * <pre>
+ * academy.cache.codec:
+ *   format: smile
+ *   compress-threshold: 1024
+ *   caches:
+ *     batchTypes: json
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "academy.cache.codec")
+@Data
+public class CacheCodecProperties {
+
+    /**
+     * Format for caches without their own entry
+     */
+    private CacheValueCodec.Format format = CacheValueCodec.Format.SMILE;
+
+    /**
+     * Encoded size in bytes from which values are LZ4-compressed; 0 turns compression off
+     */
+    private int compressThreshold = 1024;
+
+    /**
+     * Format per cache name
+     */
+    private Map<String, CacheValueCodec.Format> caches = new HashMap<>();
+
+    public CacheValueCodec.Format formatFor(String cacheName) {
+        return caches.getOrDefault(cacheName, format);
+    }
+}
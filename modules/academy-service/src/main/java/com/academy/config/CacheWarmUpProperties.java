@@ -0,0 +1,51 @@
+package com.academy.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hot set loaded into the cache before the node reports ready, bound from academy.cache.warm-up
+ * <pre>
+ * academy.cache.warm-up:
+ *   batch-types: true
+ *   mentors: true
+ *   classes: true
+ *   recent-batches: 100
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "academy.cache.warm-up")
+@Data
+public class CacheWarmUpProperties {
+
+    /**
+     * Whether to warm the cache at startup at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * Load every batch type
+     */
+    private boolean batchTypes = true;
+
+    /**
+     * Load every mentor
+     */
+    private boolean mentors = true;
+
+    /**
+     * Load every class
+     */
+    private boolean classes = true;
+
+    /**
+     * Load this many of the newest batches; 0 skips batches
+     */
+    private int recentBatches = 100;
+
+    /**
+     * Entries written to Redis per pipeline flush
+     */
+    private int pipelineSize = 500;
+}
@@ -3,27 +3,27 @@ package com.academy.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.integration.redis.util.RedisLockRegistry;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
- * Configuration for distributed locking using Spring Integration's RedisLockRegistry
- * This is the Spring-native solution for distributed locks
+ * Configuration for distributed locking
+ * Locks are Redis leases written by DistributedLockService and renewed by LeaseWatchdog;
+ * lease TTL and renewal interval are set under academy.lock.lease
  */
 @Configuration
 public class DistributedLockConfig {
     
     /**
-     * RedisLockRegistry provides distributed locking using Redis
-     * It implements the standard Java Lock interface
+     * Listener container for lock release notifications and cache invalidations
+     * One pattern subscription per node; waiters are woken locally by LockReleaseNotifier
      * 
      * @param redisConnectionFactory Redis connection factory
-     * @return RedisLockRegistry instance
+     * @return RedisMessageListenerContainer instance
      */
     @Bean
-    public RedisLockRegistry redisLockRegistry(RedisConnectionFactory redisConnectionFactory) {
-        // Registry key prefix and expiration time (40 seconds default)
-        // Locks automatically expire to prevent deadlocks
-        return new RedisLockRegistry(redisConnectionFactory, "academy-locks", 40000);
+    public RedisMessageListenerContainer lockMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
     }
 }
-
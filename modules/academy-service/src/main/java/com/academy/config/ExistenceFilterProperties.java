@@ -0,0 +1,35 @@
+package com.academy.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-entity existence Bloom filters, bound from academy.cache.existence
+ * <pre>
+ * academy.cache.existence:
+ *   enabled: true
+ *   false-positive-rate: 0.01
+ *   rebuild-interval-ms: 600000
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "academy.cache.existence")
+@Data
+public class ExistenceFilterProperties {
+
+    /**
+     * Whether lookups of ids and emails the filters rule out skip the database
+     */
+    private boolean enabled = true;
+
+    /**
+     * Share of missing keys the filters let through to the database
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * How often filters are rebuilt from the database, dropping deleted keys
+     */
+    private long rebuildIntervalMs = 600_000;
+}
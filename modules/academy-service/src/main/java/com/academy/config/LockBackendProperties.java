@@ -0,0 +1,36 @@
+package com.academy.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lock backend selection, bound from academy.lock.backend
+ * Keys are routed by namespace: the longest configured prefix, matched on whole
+ * ':'-separated segments, picks the backend; keys matching none use {@link #defaultBackend}.
+ * <pre>
+ * academy.lock.backend:
+ *   default-backend: redis
+ *   namespaces:
+ *     "[student:onboarding]": mysql
+ *     report: memory
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "academy.lock.backend")
+@Data
+public class LockBackendProperties {
+
+    /**
+     * Backend for keys outside every configured namespace
+     */
+    private String defaultBackend = "redis";
+
+    /**
+     * Backend name per key namespace
+     */
+    private Map<String, String> namespaces = new HashMap<>();
+}
@@ -0,0 +1,48 @@
+package com.academy.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Independent Redis nodes for the quorum and sharded lock backends, bound from academy.lock.nodes
+ * The nodes are separate masters with no replication between them, unrelated to the
+ * spring.data.redis instance used for caching and the "redis" backend.
+ * <pre>
+ * academy.lock.nodes:
+ *   endpoints: redis-lock-1:6379, redis-lock-2:6379, redis-lock-3:6379
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "academy.lock.nodes")
+@Data
+public class LockNodesProperties {
+
+    /**
+     * Nodes as host:port; an odd count of at least three tolerates the loss of a minority
+     */
+    private List<String> endpoints = new ArrayList<>();
+
+    /**
+     * Password shared by every node, empty for none
+     */
+    private String password = "";
+
+    /**
+     * Points each node takes on the consistent hash ring used to shard keys
+     */
+    private int virtualNodes = 160;
+
+    /**
+     * Per-node command timeout, kept well below lease TTLs so a dead node cannot stall a quorum round
+     */
+    private long commandTimeoutMs = 50;
+
+    /**
+     * Share of the lease TTL reserved for clock drift between nodes
+     */
+    private double clockDriftFactor = 0.01;
+}
@@ -0,0 +1,64 @@
+package com.academy.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-heap near-cache settings, bound from academy.cache.local
+ * Each cache name gets its own bounded Caffeine cache in front of Redis. Entries expire
+ * after {@code ttl} even without an invalidation message, which bounds how long a node
+ * can serve a stale value if it misses one.
+ * <pre>
+ * academy.cache.local:
+ *   defaults:
+ *     maximum-size: 10000
+ *     ttl: 60s
+ *   caches:
+ *     batchType:
+ *       maximum-size: 500
+ *       ttl: 10m
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "academy.cache.local")
+@Data
+public class NearCacheProperties {
+
+    /**
+     * Whether caches get a near-cache at all; when off every read goes to Redis
+     */
+    private boolean enabled = true;
+
+    /**
+     * Settings for caches without their own entry
+     */
+    private Spec defaults = new Spec();
+
+    /**
+     * Settings per cache name
+     */
+    private Map<String, Spec> caches = new HashMap<>();
+
+    public Spec specFor(String cacheName) {
+        return caches.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class Spec {
+
+        /**
+         * Entries kept on the heap before the least valuable are evicted
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time an entry is served from the heap after it was loaded
+         */
+        private Duration ttl = Duration.ofSeconds(60);
+    }
+}
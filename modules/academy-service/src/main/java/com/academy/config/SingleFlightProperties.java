@@ -0,0 +1,37 @@
+package com.academy.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * One load per missing cache key across readers and nodes, bound from academy.cache.single-flight
+ * <pre>
+ * academy.cache.single-flight:
+ *   enabled: true
+ *   lease: 2s
+ *   early-refresh-beta: 1.0
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "academy.cache.single-flight")
+@Data
+public class SingleFlightProperties {
+
+    /**
+     * Whether misses on the shared cache are coordinated and entries stored stamped
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long other readers wait on a node's load before loading themselves
+     */
+    private Duration lease = Duration.ofSeconds(2);
+
+    /**
+     * XFetch beta: above 1 refreshes hot keys earlier before their TTL, below 1 later, 0 never
+     */
+    private double earlyRefreshBeta = 1.0;
+}
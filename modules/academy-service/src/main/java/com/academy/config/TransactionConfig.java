@@ -0,0 +1,17 @@
+package com.academy.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * Pins the transaction interceptor's place among the aspects
+ * Advice that registers transaction synchronizations ({@code LockLeaseAspect}, {@code CacheTagAspect})
+ * is ordered at {@link #TRANSACTION_ORDER} + 1, so it always runs inside the transaction; the lock,
+ * permit and versioned-cache aspects are ordered below it and run outside.
+ */
+@Configuration
+@EnableTransactionManagement(proxyTargetClass = true, order = TransactionConfig.TRANSACTION_ORDER)
+public class TransactionConfig {
+
+    public static final int TRANSACTION_ORDER = 10;
+}
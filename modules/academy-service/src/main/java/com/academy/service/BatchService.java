@@ -1,6 +1,9 @@
 package com.academy.service;
 
+import com.academy.annotation.InvalidateTags;
+import com.academy.annotation.VersionedCacheable;
 import com.academy.annotation.WithLock;
+import com.academy.cache.CacheBulkOperations;
 import com.academy.dto.BatchDTO;
 import com.academy.entity.Batch;
 import com.academy.entity.BatchType;
@@ -17,11 +20,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,21 +40,34 @@ public class BatchService {
     private final ClassRepository classRepository;
     private final BatchMapper batchMapper;
     private final BatchEventProducer eventProducer;
+    private final CacheBulkOperations cacheBulkOperations;
 
+    @VersionedCacheable("batches")
     @Transactional(readOnly = true)
     public Page<BatchDTO> getAllBatches(Pageable pageable) {
         return batchRepository.findAll(pageable).map(batchMapper::toDTO);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "batch", key = "'batch:' + #id", unless = "#result == null")
+    @Cacheable(value = "batch", key = "'batch:' + #id", sync = true)
     public BatchDTO getBatchById(Long id) {
         return batchMapper.toDTO(fetchBatchOrThrow(id));
     }
 
+    /**
+     * Look up many batches by id: cache hits in one MGET, all misses in one query
+     * The misses are loaded with their type and classes, so mapping them queries nothing more.
+     * Unknown ids are skipped; the result keeps the order of {@code ids}.
+     */
+    public List<BatchDTO> getBatchesByIds(List<Long> ids) {
+        return cacheBulkOperations.getAll("batch", "batch:", ids, missing -> batchRepository
+            .findAllWithTypeAndClassesByIdIn(missing)
+            .stream().collect(Collectors.toMap(Batch::getId, batchMapper::toDTO)));
+    }
+
     @WithLock(key = "batch:create:#{#request.name}", timeout = 30, maxRetries = 3, waitTimeout = 10)
     @Transactional
-    @CacheEvict(value = {"batch", "batches"}, allEntries = true)
+    @InvalidateTags("batches")
     public BatchDTO createBatch(BatchDTO request) {
         log.info("Creating a new batch named: {}", request.getName());
 
@@ -74,9 +92,43 @@ public class BatchService {
         return batchMapper.toDTO(persisted);
     }
 
-    @WithLock(key = "batch:update:#{#id}", timeout = 30, maxRetries = 3, waitTimeout = 10)
+    /**
+     * Create a batch without taking the create lock or scanning existing batches
+     * Relies on the unique index on batches.name (V4) to reject a duplicate name, which
+     * is reported with the same conflict as {@link #createBatch}.
+     */
+    @Transactional
+    @InvalidateTags("batches")
+    public BatchDTO createBatchLockless(BatchDTO request) {
+        log.info("Creating a new batch named: {}", request.getName());
+
+        Batch batch = batchMapper.toEntity(request);
+        batch.setBatchType(resolveBatchType(request.getBatchTypeId()));
+
+        if (request.getClassIds() != null && !request.getClassIds().isEmpty()) {
+            batch.setClasses(resolveClasses(request.getClassIds()));
+        }
+
+        Batch persisted;
+        try {
+            // Flush now so a duplicate surfaces here rather than at commit
+            persisted = batchRepository.saveAndFlush(batch);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraintViolations.isDuplicateKey(ex)) {
+                throw new IllegalStateException("Batch '" + request.getName() + "' already exists", ex);
+            }
+            throw ex;
+        }
+        log.info("Batch created, id={}", persisted.getId());
+        eventProducer.publishBatchCreatedEvent(persisted);
+
+        return batchMapper.toDTO(persisted);
+    }
+
+    @WithLock(key = "batch:#{#id}", timeout = 30, maxRetries = 3, waitTimeout = 10)
     @Transactional
-    @CacheEvict(value = {"batch", "batches"}, key = "'batch:' + #id", allEntries = true)
+    @CacheEvict(value = "batch", key = "'batch:' + #id")
+    @InvalidateTags("batches")
     public BatchDTO updateBatch(Long id, BatchDTO request) {
         Batch batch = batchRepository.findByIdWithLock(id)
             .orElseThrow(() -> new BatchNotFoundException(id));
@@ -97,7 +149,8 @@ public class BatchService {
     }
 
     @Transactional
-    @CacheEvict(value = {"batch", "batches"}, key = "'batch:' + #id", allEntries = true)
+    @CacheEvict(value = "batch", key = "'batch:' + #id")
+    @InvalidateTags("batches")
     public void deleteBatch(Long id) {
         if (!batchRepository.existsById(id)) {
             throw new BatchNotFoundException(id);
@@ -106,9 +159,10 @@ public class BatchService {
         log.info("Batch {} has been removed", id);
     }
 
-    @WithLock(key = "batch:assign:class:#{#batchId}:#{#classId}", timeout = 30, maxRetries = 3, waitTimeout = 10)
+    @WithLock(keys = {"batch:#{#batchId}", "class:#{#classId}"}, timeout = 30, maxRetries = 3, waitTimeout = 10)
     @Transactional
-    @CacheEvict(value = {"batch", "batches"}, key = "'batch:' + #batchId", allEntries = true)
+    @CacheEvict(value = "batch", key = "'batch:' + #batchId")
+    @InvalidateTags("batches")
     public BatchDTO assignClassToBatch(Long batchId, Long classId) {
         Batch batch = batchRepository.findByIdWithLock(batchId)
             .orElseThrow(() -> new BatchNotFoundException(batchId));
@@ -1,5 +1,7 @@
 package com.academy.service;
 
+import com.academy.annotation.InvalidateTags;
+import com.academy.annotation.VersionedCacheable;
 import com.academy.dto.BatchTypeDTO;
 import com.academy.entity.BatchType;
 import com.academy.exception.BatchTypeNotFoundException;
@@ -22,6 +24,7 @@ public class BatchTypeService {
     private final BatchTypeRepository batchTypeRepository;
     private final BatchTypeMapper batchTypeMapper;
 
+    @VersionedCacheable("batchTypes")
     @Transactional(readOnly = true)
     public List<BatchTypeDTO> getAllBatchTypes() {
         return batchTypeRepository.findAll().stream()
@@ -30,13 +33,13 @@ public class BatchTypeService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "batchType", key = "'batchType:' + #id", unless = "#result == null")
+    @Cacheable(value = "batchType", key = "'batchType:' + #id", sync = true)
     public BatchTypeDTO getBatchTypeById(Long id) {
         return batchTypeMapper.toDTO(fetchOrThrow(id));
     }
 
     @Transactional
-    @CacheEvict(value = {"batchType", "batchTypes"}, allEntries = true)
+    @InvalidateTags("batchTypes")
     public BatchTypeDTO createBatchType(BatchTypeDTO request) {
         BatchType persisted = batchTypeRepository.save(batchTypeMapper.toEntity(request));
         log.info("BatchType created with id={}", persisted.getId());
@@ -44,7 +47,9 @@ public class BatchTypeService {
     }
 
     @Transactional
-    @CacheEvict(value = {"batchType", "batchTypes"}, allEntries = true)
+    @CacheEvict(value = "batchType", key = "'batchType:' + #id")
+    // Batch pages carry the type name
+    @InvalidateTags({"batchTypes", "batches"})
     public BatchTypeDTO updateBatchType(Long id, BatchTypeDTO request) {
         BatchType existing = fetchOrThrow(id);
         existing.setName(request.getName());
@@ -54,7 +59,9 @@ public class BatchTypeService {
     }
 
     @Transactional
-    @CacheEvict(value = {"batchType", "batchTypes"}, allEntries = true)
+    @CacheEvict(value = "batchType", key = "'batchType:' + #id")
+    // Batch pages carry the type name
+    @InvalidateTags({"batchTypes", "batches"})
     public void deleteBatchType(Long id) {
         fetchOrThrow(id);
         batchTypeRepository.deleteById(id);
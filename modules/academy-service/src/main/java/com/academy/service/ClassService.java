@@ -1,5 +1,9 @@
 package com.academy.service;
 
+import com.academy.annotation.InvalidateTags;
+import com.academy.annotation.VersionedCacheable;
+import com.academy.annotation.WithLock;
+import com.academy.cache.CacheBulkOperations;
 import com.academy.dto.ClassDTO;
 import com.academy.entity.ClassEntity;
 import com.academy.exception.ClassNotFoundException;
@@ -13,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,7 +26,9 @@ public class ClassService {
 
     private final ClassRepository classRepository;
     private final ClassMapper classMapper;
+    private final CacheBulkOperations cacheBulkOperations;
 
+    @VersionedCacheable("classes")
     @Transactional(readOnly = true)
     public List<ClassDTO> getAllClasses() {
         return classRepository.findAll().stream()
@@ -30,21 +37,32 @@ public class ClassService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "class", key = "'class:' + #id", unless = "#result == null")
+    @Cacheable(value = "class", key = "'class:' + #id", sync = true)
     public ClassDTO getClassById(Long id) {
         return classMapper.toDTO(fetchOrThrow(id));
     }
 
+    /**
+     * Look up many classes by id: cache hits in one MGET, all misses in one findAllById
+     * Unknown ids are skipped; the result keeps the order of {@code ids}.
+     */
+    public List<ClassDTO> getClassesByIds(List<Long> ids) {
+        return cacheBulkOperations.getAll("class", "class:", ids, missing -> classRepository.findAllById(missing)
+            .stream().collect(Collectors.toMap(ClassEntity::getId, classMapper::toDTO)));
+    }
+
     @Transactional
-    @CacheEvict(value = {"class", "classes"}, allEntries = true)
+    @InvalidateTags("classes")
     public ClassDTO createClass(ClassDTO request) {
         ClassEntity saved = classRepository.save(classMapper.toEntity(request));
         log.info("New class scheduled with id={}", saved.getId());
         return classMapper.toDTO(saved);
     }
 
+    @WithLock(key = "class:#{#id}", timeout = 30, maxRetries = 3, waitTimeout = 10)
     @Transactional
-    @CacheEvict(value = {"class", "classes"}, key = "'class:' + #id", allEntries = true)
+    @CacheEvict(value = "class", key = "'class:' + #id")
+    @InvalidateTags("classes")
     public ClassDTO updateClass(Long id, ClassDTO request) {
         ClassEntity target = fetchOrThrow(id);
 
@@ -57,7 +75,8 @@ public class ClassService {
     }
 
     @Transactional
-    @CacheEvict(value = {"class", "classes"}, key = "'class:' + #id", allEntries = true)
+    @CacheEvict(value = "class", key = "'class:' + #id")
+    @InvalidateTags("classes")
     public void deleteClass(Long id) {
         if (!classRepository.existsById(id)) {
             throw new ClassNotFoundException(id);
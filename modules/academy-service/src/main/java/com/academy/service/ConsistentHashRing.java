@@ -0,0 +1,65 @@
+package com.academy.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring mapping keys to nodes
+ * Each node takes {@code virtualNodes} points on the ring and a key belongs to the first
+ * point at or after its own hash, so adding or removing one node of N only moves about
+ * 1/N of the keys. Immutable once built.
+ *
+ * @param <T> Node type
+ */
+public final class ConsistentHashRing<T> {
+
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+
+    /**
+     * @param nodesByName  Nodes keyed by a stable name (e.g. host:port); the name decides their points
+     * @param virtualNodes Points per node
+     */
+    public ConsistentHashRing(Map<String, T> nodesByName, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be at least 1, got " + virtualNodes);
+        }
+        // Sorted so that every JVM resolves point collisions the same way
+        SortedMap<String, T> sorted = new TreeMap<>(nodesByName);
+        sorted.forEach((name, node) -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(name + "#" + i), node);
+            }
+        });
+    }
+
+    /**
+     * Node owning a key
+     */
+    public T nodeFor(String key) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("Hash ring has no nodes");
+        }
+        Map.Entry<Long, T> owner = ring.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    static long hash(String value) {
+        try {
+            // MD5 spreads short, similar keys ("student:1", "student:2") evenly; only its first 8 bytes are used
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 not available", ex);
+        }
+    }
+}
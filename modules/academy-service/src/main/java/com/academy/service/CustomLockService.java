@@ -1,28 +1,39 @@
 package com.academy.service;
 
 import com.academy.exception.LockAcquisitionException;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
-import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Custom distributed locking service with advanced features:
+ * - Release notifications over Redis pub/sub, with polling as a fallback
  * - Retry mechanism with exponential backoff
  * - Lock ownership tracking
  * - Automatic lock extension
- * - Lock statistics
- * - Deadlock detection
+ * - Non-blocking acquisition for virtual-thread and reactive callers
+ * - Wait/hold metrics through {@link LockMetrics}
+ *
+ * Locks taken here are not part of the wait-for graph; nested locking that needs
+ * deadlock detection should go through {@code @WithLock} / {@link DistributedLockService}.
  */
 @Service
 @Slf4j
@@ -30,49 +41,43 @@ public class CustomLockService {
     
     private static final String LOCK_PREFIX = "lock:";
     private static final String LOCK_OWNER_PREFIX = "lock:owner:";
-    private static final String LOCK_STATS_PREFIX = "lock:stats:";
     private static final Duration DEFAULT_LOCK_TIMEOUT = Duration.ofSeconds(30);
     private static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(10);
     private static final int DEFAULT_MAX_RETRIES = 3;
     private static final long DEFAULT_RETRY_DELAY_MS = 100;
     
-    // Lua script for atomic lock release (check ownership and delete atomically)
-    // This ensures we only delete the lock if we still own it, preventing accidental deletion
-    // of locks acquired by other threads/processes
-    private static final String RELEASE_LOCK_SCRIPT = 
-        "if redis.call('get', KEYS[1]) == ARGV[1] then " +
-        "  redis.call('del', KEYS[1]) " +
-        "  return 1 " +
-        "else " +
-        "  return 0 " +
-        "end";
-    
-    // Lua script for atomic lock acquisition (set lock with NX and EX in one atomic operation)
-    // Note: We handle owner key separately after lock acquisition for simplicity
-    // The lock itself is atomic, which is the critical part for preventing concurrent access
-    private static final String ACQUIRE_LOCK_SCRIPT = 
-        "if redis.call('set', KEYS[1], ARGV[1], 'EX', ARGV[2], 'NX') then " +
-        "  return 1 " +
-        "else " +
-        "  return 0 " +
-        "end";
+    // Each lifecycle step is a single atomic EVALSHA, see resources/scripts/custom-lock-*.lua
+    private static final String ACQUIRE_SCRIPT = "custom-lock-acquire";
+    private static final String RELEASE_SCRIPT = "custom-lock-release";
+    private static final String EXTEND_SCRIPT = "custom-lock-extend";
+    
+    private static final String METRICS_TYPE = "custom";
     
     private final StringRedisTemplate redisTemplate;
-    private final AtomicInteger lockCounter = new AtomicInteger(0);
-    private final DefaultRedisScript<Long> releaseLockScript;
-    private final DefaultRedisScript<Long> acquireLockScript;
+    private final RedisScriptLibrary scripts;
+    private final LockReleaseNotifier releaseNotifier;
+    private final WaitMode waitMode;
+    private final long fallbackPollMs;
+    private final LockMetrics lockMetrics;
+    private final Map<String, LockMetadata> heldLocks = new ConcurrentHashMap<>();
+    // Bookkeeping only; a lock past the cap is still held in Redis, just not listed locally
+    private final int maxTrackedLocks;
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
     
-    public CustomLockService(StringRedisTemplate redisTemplate) {
+    public CustomLockService(StringRedisTemplate redisTemplate,
+                             RedisScriptLibrary scripts,
+                             LockReleaseNotifier releaseNotifier,
+                             LockMetrics lockMetrics,
+                             @Value("${academy.lock.custom.wait-mode:NOTIFY}") WaitMode waitMode,
+                             @Value("${academy.lock.custom.fallback-poll-ms:500}") long fallbackPollMs,
+                             @Value("${academy.lock.custom.max-tracked:10000}") int maxTrackedLocks) {
         this.redisTemplate = redisTemplate;
-        
-        // Initialize Lua scripts for atomic operations
-        this.releaseLockScript = new DefaultRedisScript<>();
-        this.releaseLockScript.setScriptText(RELEASE_LOCK_SCRIPT);
-        this.releaseLockScript.setResultType(Long.class);
-        
-        this.acquireLockScript = new DefaultRedisScript<>();
-        this.acquireLockScript.setScriptText(ACQUIRE_LOCK_SCRIPT);
-        this.acquireLockScript.setResultType(Long.class);
+        this.scripts = scripts;
+        this.releaseNotifier = releaseNotifier;
+        this.lockMetrics = lockMetrics;
+        this.waitMode = waitMode;
+        this.fallbackPollMs = fallbackPollMs;
+        this.maxTrackedLocks = maxTrackedLocks;
     }
     
     /**
@@ -102,7 +107,19 @@ public class CustomLockService {
     }
     
     /**
-     * Acquire a lock with retry mechanism and exponential backoff
+     * How a contended caller waits for the lock to become free
+     */
+    public enum WaitMode {
+        /** Sleep with exponential backoff between attempts */
+        POLL,
+        /** Block on the holder's release notification, polling only as a fallback */
+        NOTIFY
+    }
+    
+    /**
+     * Acquire a lock, waiting according to the configured {@link WaitMode}
+     * In NOTIFY mode waiters retry on every release notification until {@code waitTimeout},
+     * so {@code maxRetries} only applies to POLL mode.
      * 
      * @param lockKey The key for the lock
      * @param timeout Lock timeout duration
@@ -111,47 +128,37 @@ public class CustomLockService {
      * @return LockMetadata if acquired, null otherwise
      */
     public LockMetadata acquireLockWithRetry(String lockKey, Duration timeout, int maxRetries, Duration waitTimeout) {
-        String fullKey = LOCK_PREFIX + lockKey;
+        if (waitMode == WaitMode.NOTIFY) {
+            return acquireLockWithNotification(lockKey, timeout, waitTimeout);
+        }
+        return acquireLockWithPolling(lockKey, timeout, maxRetries, waitTimeout);
+    }
+    
+    /**
+     * Acquire a lock with retry mechanism and exponential backoff
+     */
+    private LockMetadata acquireLockWithPolling(String lockKey, Duration timeout, int maxRetries, Duration waitTimeout) {
         String ownerId = UUID.randomUUID().toString();
         Instant startTime = Instant.now();
         
         for (int attempt = 0; attempt <= maxRetries; attempt++) {
             try {
-                // Use Lua script for atomic lock acquisition (lock + owner in one operation)
-                String ownerKey = LOCK_OWNER_PREFIX + lockKey;
-                Long result = redisTemplate.execute(
-                    acquireLockScript,
-                    Collections.singletonList(fullKey),
-                    ownerId,
-                    String.valueOf(timeout.toSeconds())
-                );
-                
-                // Note: The Lua script sets both lock and owner key atomically
-                // But we need to set owner key separately since script only handles one key
-                // For true atomicity, we'd need a script that handles both keys
-                if (result != null && result == 1) {
-                    // Set owner key with same timeout (this is still a separate operation, but lock is already acquired)
-                    redisTemplate.opsForValue().set(ownerKey, ownerId, timeout.toSeconds(), TimeUnit.SECONDS);
-                    
-                    // Update statistics
-                    incrementLockAcquisitionCount(lockKey);
-                    
-                    lockCounter.incrementAndGet();
+                if (tryAcquire(lockKey, ownerId, timeout)) {
                     log.debug("Lock acquired atomically: {} (owner: {}, attempt: {})", lockKey, ownerId, attempt + 1);
-                    
-                    return new LockMetadata(lockKey, ownerId, timeout);
+                    return granted(lockKey, ownerId, timeout, startTime);
                 }
                 
                 // Check if we've exceeded wait timeout
                 if (Duration.between(startTime, Instant.now()).compareTo(waitTimeout) > 0) {
                     log.warn("Lock acquisition timeout: {} (waited: {}ms)", lockKey, 
                         Duration.between(startTime, Instant.now()).toMillis());
-                    incrementLockTimeoutCount(lockKey);
+                    recordTimeout(lockKey, startTime);
                     return null;
                 }
                 
                 // Exponential backoff: delay = baseDelay * 2^attempt
                 if (attempt < maxRetries) {
+                    lockMetrics.recordRetry(METRICS_TYPE, LockMetrics.patternOf(lockKey));
                     long delayMs = DEFAULT_RETRY_DELAY_MS * (1L << attempt);
                     Thread.sleep(delayMs);
                     log.debug("Lock acquisition retry: {} (attempt: {}, delay: {}ms)", lockKey, attempt + 1, delayMs);
@@ -160,19 +167,94 @@ public class CustomLockService {
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 log.error("Lock acquisition interrupted: {}", lockKey, e);
+                recordFailure(lockKey, startTime);
                 return null;
             } catch (Exception e) {
                 log.error("Error acquiring lock: {}", lockKey, e);
                 if (attempt == maxRetries) {
+                    recordFailure(lockKey, startTime);
                     return null;
                 }
             }
         }
         
-        incrementLockTimeoutCount(lockKey);
+        recordTimeout(lockKey, startTime);
         return null;
     }
     
+    /**
+     * Acquire a lock by waiting for release notifications
+     * The waiter subscribes before each attempt so a release between a failed attempt and
+     * the wait still wakes it. The fallback poll covers holders whose lock simply expired.
+     */
+    private LockMetadata acquireLockWithNotification(String lockKey, Duration timeout, Duration waitTimeout) {
+        String ownerId = UUID.randomUUID().toString();
+        Instant startTime = Instant.now();
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        
+        for (int attempt = 1; ; attempt++) {
+            CompletableFuture<Void> released = releaseNotifier.listen(lockKey);
+            try {
+                if (tryAcquire(lockKey, ownerId, timeout)) {
+                    log.debug("Lock acquired atomically: {} (owner: {}, attempt: {})", lockKey, ownerId, attempt);
+                    return granted(lockKey, ownerId, timeout, startTime);
+                }
+            } catch (Exception e) {
+                log.error("Error acquiring lock: {}", lockKey, e);
+            }
+            
+            try {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    log.warn("Lock acquisition timeout: {} (waited: {}ms)", lockKey, waitTimeout.toMillis());
+                    recordTimeout(lockKey, startTime);
+                    return null;
+                }
+                released.get(Math.min(remainingMs, fallbackPollMs), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                log.debug("No release notification for {} within {}ms, polling", lockKey, fallbackPollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Lock acquisition interrupted: {}", lockKey, e);
+                recordFailure(lockKey, startTime);
+                return null;
+            } catch (Exception e) {
+                log.error("Error waiting for lock release: {}", lockKey, e);
+            } finally {
+                releaseNotifier.cancel(lockKey, released);
+            }
+        }
+    }
+    
+    /**
+     * Single acquisition attempt
+     * 
+     * @return true if the lock was acquired for the given owner
+     */
+    private boolean tryAcquire(String lockKey, String ownerId, Duration timeout) {
+        // Lock and owner key in one atomic call
+        Long result = scripts.executeForLong(
+            ACQUIRE_SCRIPT,
+            List.of(LOCK_PREFIX + lockKey, LOCK_OWNER_PREFIX + lockKey),
+            ownerId,
+            String.valueOf(timeout.toSeconds())
+        );
+        
+        return result != null && result == 1;
+    }
+    
+    private LockMetadata granted(String lockKey, String ownerId, Duration timeout, Instant startTime) {
+        LockMetadata lock = new LockMetadata(lockKey, ownerId, timeout);
+        if (heldLocks.size() < maxTrackedLocks) {
+            heldLocks.put(ownerId, lock);
+        } else {
+            log.warn("Tracking {} held locks already, not tracking {} locally", maxTrackedLocks, lockKey);
+        }
+        lockMetrics.recordWait(METRICS_TYPE, LockMetrics.patternOf(lockKey), "acquired",
+            Duration.between(startTime, lock.getAcquiredAt()));
+        return lock;
+    }
+    
     /**
      * Acquire a lock with default retry settings
      */
@@ -200,22 +282,23 @@ public class CustomLockService {
         
         String fullKey = LOCK_PREFIX + lockMetadata.getLockKey();
         String ownerKey = LOCK_OWNER_PREFIX + lockMetadata.getLockKey();
+        String pattern = LockMetrics.patternOf(lockMetadata.getLockKey());
+        
+        if (heldLocks.remove(lockMetadata.getOwnerId(), lockMetadata)) {
+            lockMetrics.recordHold(METRICS_TYPE, pattern, Duration.between(lockMetadata.getAcquiredAt(), Instant.now()));
+        }
         
         try {
-            // Use Lua script for atomic lock release (check ownership and delete atomically)
+            // Ownership check, lock and owner deletion, and the release notification in one atomic call
             // This prevents race conditions where another thread acquires the lock between check and delete
-            // The script checks if the lock value matches our ownerId before deleting
-            Long result = redisTemplate.execute(
-                releaseLockScript,
-                Collections.singletonList(fullKey),
-                lockMetadata.getOwnerId()
+            Long result = scripts.executeForLong(
+                RELEASE_SCRIPT,
+                List.of(fullKey, ownerKey),
+                lockMetadata.getOwnerId(),
+                LockReleaseNotifier.channelFor(lockMetadata.getLockKey())
             );
             
             if (result != null && result == 1) {
-                // Also delete owner key (script handles main lock, we handle owner key)
-                redisTemplate.delete(ownerKey);
-                
-                lockCounter.decrementAndGet();
                 log.debug("Lock released atomically: {} (owner: {})", lockMetadata.getLockKey(), lockMetadata.getOwnerId());
                 return true;
             } else {
@@ -223,11 +306,13 @@ public class CustomLockService {
                 String currentOwner = redisTemplate.opsForValue().get(ownerKey);
                 log.warn("Lock release failed - ownership mismatch or lock expired: {} (expected: {}, actual: {})", 
                     lockMetadata.getLockKey(), lockMetadata.getOwnerId(), currentOwner);
+                lockMetrics.recordFailure(METRICS_TYPE, pattern);
                 return false;
             }
             
         } catch (Exception e) {
             log.error("Error releasing lock: {}", lockMetadata.getLockKey(), e);
+            lockMetrics.recordFailure(METRICS_TYPE, pattern);
             return false;
         }
     }
@@ -248,25 +333,21 @@ public class CustomLockService {
         String ownerKey = LOCK_OWNER_PREFIX + lockMetadata.getLockKey();
         
         try {
-            // Verify ownership
-            String currentOwner = redisTemplate.opsForValue().get(ownerKey);
-            if (currentOwner == null || !currentOwner.equals(lockMetadata.getOwnerId())) {
-                log.warn("Lock extension failed - ownership mismatch: {}", lockMetadata.getLockKey());
-                return false;
-            }
-            
-            // Extend lock timeout
-            Boolean extended = redisTemplate.expire(fullKey, 
-                lockMetadata.getTimeout().plus(additionalTime).toSeconds(), TimeUnit.SECONDS);
-            Boolean ownerExtended = redisTemplate.expire(ownerKey, 
-                lockMetadata.getTimeout().plus(additionalTime).toSeconds(), TimeUnit.SECONDS);
+            // Ownership check and both TTL updates in one atomic call
+            Long result = scripts.executeForLong(
+                EXTEND_SCRIPT,
+                List.of(fullKey, ownerKey),
+                lockMetadata.getOwnerId(),
+                String.valueOf(lockMetadata.getTimeout().plus(additionalTime).toSeconds())
+            );
             
-            if (Boolean.TRUE.equals(extended) && Boolean.TRUE.equals(ownerExtended)) {
+            if (result != null && result == 1) {
                 lockMetadata.setLastExtendedAt(Instant.now());
                 log.debug("Lock extended: {} (additional: {}s)", lockMetadata.getLockKey(), additionalTime.toSeconds());
                 return true;
             }
             
+            log.warn("Lock extension failed - ownership mismatch: {}", lockMetadata.getLockKey());
             return false;
             
         } catch (Exception e) {
@@ -360,44 +441,186 @@ public class CustomLockService {
     }
     
     /**
-     * Get lock statistics
+     * Acquire a lock without blocking the caller
+     * Attempts run on Lettuce's reactive connection and between attempts the waiter parks
+     * on the release notification, re-checking every {@code fallbackPollMs}, so a pending
+     * wait holds no thread. The future completes with null on timeout or error.
      * 
      * @param lockKey The key for the lock
-     * @return Lock statistics as a map
+     * @param timeout Lock timeout duration
+     * @param waitTimeout Maximum time to wait for lock acquisition
+     * @return Future of the LockMetadata if acquired, null otherwise
+     */
+    public CompletableFuture<LockMetadata> acquireLockAsync(String lockKey, Duration timeout, Duration waitTimeout) {
+        String ownerId = UUID.randomUUID().toString();
+        Instant startTime = Instant.now();
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        
+        return attemptAsync(lockKey, ownerId, timeout, deadline)
+            .handleAsync((acquired, ex) -> {
+                if (ex != null) {
+                    log.error("Error acquiring lock asynchronously: {}", lockKey, ex);
+                    recordFailure(lockKey, startTime);
+                    return null;
+                }
+                if (!acquired) {
+                    log.warn("Lock acquisition timeout: {} (waited: {}ms)", lockKey, waitTimeout.toMillis());
+                    recordTimeout(lockKey, startTime);
+                    return null;
+                }
+                log.debug("Lock acquired asynchronously: {} (owner: {})", lockKey, ownerId);
+                return granted(lockKey, ownerId, timeout, startTime);
+            }, asyncExecutor);
+    }
+    
+    private CompletableFuture<Boolean> attemptAsync(String lockKey, String ownerId, Duration timeout, long deadline) {
+        // Subscribe before the attempt so a release in between still wakes this waiter
+        CompletableFuture<Void> released = releaseNotifier.listen(lockKey);
+        
+        return scripts.executeForLongAsync(
+                ACQUIRE_SCRIPT,
+                List.of(LOCK_PREFIX + lockKey, LOCK_OWNER_PREFIX + lockKey),
+                ownerId,
+                String.valueOf(timeout.toSeconds()))
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    releaseNotifier.cancel(lockKey, released);
+                }
+            })
+            .thenCompose(result -> {
+                boolean acquired = result != null && result == 1;
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (acquired || remainingMs <= 0) {
+                    releaseNotifier.cancel(lockKey, released);
+                    return CompletableFuture.completedFuture(acquired);
+                }
+                return released
+                    .completeOnTimeout(null, Math.min(remainingMs, fallbackPollMs), TimeUnit.MILLISECONDS)
+                    .thenCompose(woken -> {
+                        releaseNotifier.cancel(lockKey, released);
+                        return attemptAsync(lockKey, ownerId, timeout, deadline);
+                    });
+            });
+    }
+    
+    /**
+     * Release a lock without blocking the caller (only if owned by the caller)
+     * 
+     * @param lockMetadata The lock metadata
+     * @return Future of true if released successfully, false otherwise
      */
-    public LockStatistics getLockStatistics(String lockKey) {
-        String statsKey = LOCK_STATS_PREFIX + lockKey;
-        String acquisitions = redisTemplate.opsForValue().get(statsKey + ":acquisitions");
-        String timeouts = redisTemplate.opsForValue().get(statsKey + ":timeouts");
+    public CompletableFuture<Boolean> releaseLockAsync(LockMetadata lockMetadata) {
+        if (lockMetadata == null) {
+            return CompletableFuture.completedFuture(false);
+        }
         
-        return new LockStatistics(
-            lockKey,
-            acquisitions != null ? Long.parseLong(acquisitions) : 0,
-            timeouts != null ? Long.parseLong(timeouts) : 0,
-            isLocked(lockKey),
-            getLockOwner(lockKey)
-        );
+        String pattern = LockMetrics.patternOf(lockMetadata.getLockKey());
+        if (heldLocks.remove(lockMetadata.getOwnerId(), lockMetadata)) {
+            lockMetrics.recordHold(METRICS_TYPE, pattern, Duration.between(lockMetadata.getAcquiredAt(), Instant.now()));
+        }
+        
+        return scripts.executeForLongAsync(
+                RELEASE_SCRIPT,
+                List.of(LOCK_PREFIX + lockMetadata.getLockKey(), LOCK_OWNER_PREFIX + lockMetadata.getLockKey()),
+                lockMetadata.getOwnerId(),
+                LockReleaseNotifier.channelFor(lockMetadata.getLockKey()))
+            .handle((result, ex) -> {
+                if (ex == null && result != null && result == 1) {
+                    log.debug("Lock released asynchronously: {} (owner: {})", lockMetadata.getLockKey(), lockMetadata.getOwnerId());
+                    return true;
+                }
+                log.warn("Lock release failed - ownership mismatch, lock expired or error: {} ({})",
+                    lockMetadata.getLockKey(), ex != null ? ex.getMessage() : "not owned");
+                lockMetrics.recordFailure(METRICS_TYPE, pattern);
+                return false;
+            });
+    }
+    
+    /**
+     * Execute an async action with automatic lock management
+     * 
+     * @param lockKey The key for the lock
+     * @param action Supplies the stage to run under the lock
+     * @param <T> Return type
+     * @return Future of the action's result, failed with {@link LockAcquisitionException}
+     *         if the lock cannot be acquired
+     */
+    public <T> CompletableFuture<T> executeWithLockAsync(String lockKey, Supplier<? extends CompletionStage<T>> action) {
+        return executeWithLockAsync(lockKey, DEFAULT_LOCK_TIMEOUT, action);
+    }
+    
+    /**
+     * Execute an async action with automatic lock management and custom timeout
+     * The action is started on a virtual thread, never on a Redis I/O thread, and the lock
+     * is released once its stage completes, successfully or not.
+     */
+    public <T> CompletableFuture<T> executeWithLockAsync(String lockKey, Duration timeout,
+                                                         Supplier<? extends CompletionStage<T>> action) {
+        return acquireLockAsync(lockKey, timeout, DEFAULT_WAIT_TIMEOUT).thenCompose(lock -> {
+            if (lock == null) {
+                return CompletableFuture.failedFuture(new LockAcquisitionException("Could not acquire lock: " + lockKey));
+            }
+            CompletableFuture<T> result = CompletableFuture.<CompletionStage<T>>supplyAsync(action::get, asyncExecutor)
+                .thenCompose(stage -> stage);
+            return result
+                .handle((value, ex) -> releaseLockAsync(lock))
+                .thenCompose(Function.identity())
+                .thenCompose(released -> result);
+        });
     }
     
     /**
      * Get total number of active locks
      */
     public int getActiveLockCount() {
-        return lockCounter.get();
+        return heldLocks.size();
+    }
+    
+    /**
+     * Locks currently held through this service on this node
+     */
+    public Collection<LockMetadata> getHeldLocks() {
+        return heldLocks.values();
+    }
+    
+    /**
+     * Forget locks whose Redis timeout ran out more than {@code age} ago without a release
+     * Such a holder forgot to release or died mid-task; the Redis keys are long gone, only
+     * the local bookkeeping is left.
+     * 
+     * @return Number of entries dropped
+     */
+    public int expireUnusedOlderThan(Duration age) {
+        Instant cutoff = Instant.now().minus(age);
+        int expired = 0;
+        for (LockMetadata lock : heldLocks.values()) {
+            if (lock.getLastExtendedAt().plus(lock.getTimeout()).isBefore(cutoff)
+                && heldLocks.remove(lock.getOwnerId(), lock)) {
+                log.warn("Forgetting lock {} (owner: {}), expired without release", lock.getLockKey(), lock.getOwnerId());
+                lockMetrics.recordFailure(METRICS_TYPE, LockMetrics.patternOf(lock.getLockKey()));
+                expired++;
+            }
+        }
+        return expired;
+    }
+    
+    @PreDestroy
+    void shutdownAsyncExecutor() {
+        asyncExecutor.shutdown();
     }
     
     // Private helper methods
     
-    private void incrementLockAcquisitionCount(String lockKey) {
-        String statsKey = LOCK_STATS_PREFIX + lockKey + ":acquisitions";
-        redisTemplate.opsForValue().increment(statsKey);
-        redisTemplate.expire(statsKey, Duration.ofDays(30).toSeconds(), TimeUnit.SECONDS);
+    private void recordTimeout(String lockKey, Instant startTime) {
+        String pattern = LockMetrics.patternOf(lockKey);
+        lockMetrics.recordWait(METRICS_TYPE, pattern, "timeout", Duration.between(startTime, Instant.now()));
+        lockMetrics.recordTimeout(METRICS_TYPE, pattern);
     }
     
-    private void incrementLockTimeoutCount(String lockKey) {
-        String statsKey = LOCK_STATS_PREFIX + lockKey + ":timeouts";
-        redisTemplate.opsForValue().increment(statsKey);
-        redisTemplate.expire(statsKey, Duration.ofDays(30).toSeconds(), TimeUnit.SECONDS);
+    private void recordFailure(String lockKey, Instant startTime) {
+        String pattern = LockMetrics.patternOf(lockKey);
+        lockMetrics.recordWait(METRICS_TYPE, pattern, "failed", Duration.between(startTime, Instant.now()));
+        lockMetrics.recordFailure(METRICS_TYPE, pattern);
     }
     
     /**
@@ -415,37 +638,4 @@ public class CustomLockService {
     public interface ExtendableLockedTask<T> {
         T execute(LockMetadata lockMetadata);
     }
-    
-    /**
-     * Lock statistics
-     */
-    public static class LockStatistics {
-        private final String lockKey;
-        private final long totalAcquisitions;
-        private final long totalTimeouts;
-        private final boolean isCurrentlyLocked;
-        private final String currentOwner;
-        
-        public LockStatistics(String lockKey, long totalAcquisitions, long totalTimeouts, 
-                             boolean isCurrentlyLocked, String currentOwner) {
-            this.lockKey = lockKey;
-            this.totalAcquisitions = totalAcquisitions;
-            this.totalTimeouts = totalTimeouts;
-            this.isCurrentlyLocked = isCurrentlyLocked;
-            this.currentOwner = currentOwner;
-        }
-        
-        public String getLockKey() { return lockKey; }
-        public long getTotalAcquisitions() { return totalAcquisitions; }
-        public long getTotalTimeouts() { return totalTimeouts; }
-        public boolean isCurrentlyLocked() { return isCurrentlyLocked; }
-        public String getCurrentOwner() { return currentOwner; }
-        
-        @Override
-        public String toString() {
-            return String.format("LockStatistics{key='%s', acquisitions=%d, timeouts=%d, locked=%s, owner='%s'}", 
-                lockKey, totalAcquisitions, totalTimeouts, isCurrentlyLocked, currentOwner);
-        }
-    }
 }
-
@@ -1,98 +1,455 @@
 package com.academy.service;
 
+import com.academy.annotation.LockMode;
 import com.academy.exception.LockAcquisitionException;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.integration.redis.util.RedisLockRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DistributedLockService {
 
-    private final RedisLockRegistry redisLockRegistry;
+    static final String LOCK_PREFIX = "academy-locks:";
+    static final String WRITER_WAITING_SUFFIX = ":writer-waiting";
 
+    private static final String ACQUIRE_SCRIPT = "lease-acquire";
+    private static final String RELEASE_SCRIPT = "lease-release";
+    private static final String FAIR_ACQUIRE_SCRIPT = "fair-acquire";
+    private static final String FAIR_DEQUEUE_SCRIPT = "fair-dequeue";
+    private static final String DEADLOCK_CHECK_SCRIPT = "deadlock-check";
+
+    private static final String WAIT_FOR_KEY = LOCK_PREFIX + "wait-for";
+    private static final String DEADLOCK_VICTIMS_KEY = LOCK_PREFIX + "deadlock-victims";
+
+    private static final String QUEUE_SUFFIX = ":queue";
+    private static final String TICKETS_SUFFIX = ":tickets";
+
+    private static final String METRICS_TYPE = "distributed";
+
+    private static final Duration DEFAULT_HOLD_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    // Async waiters re-check at this interval in case a holder's lease expired without a release notification
+    private static final long ASYNC_FALLBACK_POLL_MS = 500;
+
+    // Fair waiters refresh their queue ticket at this interval; a ticket left unrefreshed for the TTL is dropped
+    private static final long FAIR_HEARTBEAT_MS = 500;
+    private static final long FAIR_TICKET_TTL_MS = 3000;
+
+    // Wait-for entries are refreshed on every attempt and dropped if their thread stops waiting without clearing them
+    private static final long WAIT_ENTRY_TTL_MS = 3000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScriptLibrary scripts;
+    private final LocalLockTable localLockTable;
+    private final LeaseWatchdog leaseWatchdog;
+    private final LockMetrics lockMetrics;
+    private final LockReleaseNotifier releaseNotifier;
+    private final Counter redisAttemptCounter;
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ThreadLocal<Map<String, LockHandle>> heldByThread = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<String> ownerByThread = ThreadLocal.withInitial(() -> UUID.randomUUID().toString());
+
+    public DistributedLockService(StringRedisTemplate redisTemplate, RedisScriptLibrary scripts,
+                                  LocalLockTable localLockTable, LeaseWatchdog leaseWatchdog,
+                                  LockMetrics lockMetrics, LockReleaseNotifier releaseNotifier,
+                                  MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.scripts = scripts;
+        this.localLockTable = localLockTable;
+        this.leaseWatchdog = leaseWatchdog;
+        this.lockMetrics = lockMetrics;
+        this.releaseNotifier = releaseNotifier;
+        this.redisAttemptCounter = Counter.builder("academy.lock.redis.attempts")
+            .description("Lock attempts that reached Redis")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Acquire a lock held for at most {@code timeout}
+     * The Redis lease is kept short and renewed by the {@link LeaseWatchdog} until release,
+     * so a crashed holder frees the key within one lease. Re-acquiring a key the current
+     * thread already holds is reentrant.
+     */
     public LockHandle acquireLockWithRetry(String lockKey, Duration timeout, int maxRetries, Duration waitTimeout) {
-        Lock lock = redisLockRegistry.obtain(lockKey);
+        return acquireLocksWithRetry(List.of(lockKey), LockMode.EXCLUSIVE, timeout, maxRetries, waitTimeout);
+    }
+
+    /**
+     * Acquire several locks all-or-nothing, held for at most {@code timeout}
+     * Keys are sorted so every caller takes them in the same order, and the Redis side
+     * sets every lease in one Lua call, so a holder never sits on part of a key set while
+     * waiting for the rest. Keys the current thread already holds are left to their outer
+     * holder and not re-acquired; upgrading a shared hold to exclusive is refused.
+     *
+     * Each lock is a Redis hash of holder tokens, so any number of {@link LockMode#SHARED}
+     * holders can coexist while an {@link LockMode#EXCLUSIVE} holder needs the hash empty.
+     * A writer that finds the lock busy sets a short-lived marker that turns away new
+     * readers, so a steady stream of readers cannot starve it.
+     *
+     * A thread that already holds locks records each wait in a wait-for graph in Redis.
+     * If the wait closes a cycle across threads or nodes, the youngest waiter in the cycle
+     * fails at once with {@link LockAcquisitionException} instead of running out its wait.
+     */
+    public LockHandle acquireLocksWithRetry(Collection<String> lockKeys, LockMode mode, Duration timeout,
+                                            int maxRetries, Duration waitTimeout) {
+        Map<String, LockHandle> held = heldByThread.get();
+        List<String> keys = keysToAcquire(lockKeys, mode, held);
+        if (keys == null) {
+            return null;
+        }
+        if (keys.isEmpty()) {
+            return new LockHandle(List.of(), List.of(), List.of(), mode, "");
+        }
+
+        String pattern = LockMetrics.patternOf(keys);
         long totalWaitMs = waitTimeout.toMillis();
         long startedAt = System.currentTimeMillis();
+        List<String> redisKeys = keys.stream().map(key -> LOCK_PREFIX + key).toList();
+
+        // Queue behind same-node holders first so only the head of the queue polls Redis.
+        // A nested acquisition waits in Redis instead, where the wait-for graph can see it;
+        // a wait on a local stripe would hide a same-node deadlock from the detector.
+        List<Lock> localLocks = List.of();
+        WaitRegistration waits = null;
+        if (held.isEmpty()) {
+            try {
+                localLocks = localLockTable.acquireAll(keys, mode, totalWaitMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while queued locally for locks {}", keys);
+                recordAcquireOutcome(pattern, Outcome.FAILED, startedAt);
+                return null;
+            }
+            if (localLocks == null) {
+                log.warn("Lock wait timeout exceeded for {} while queued locally", keys);
+                recordAcquireOutcome(pattern, Outcome.TIMEOUT, startedAt);
+                return null;
+            }
+        } else {
+            waits = new WaitRegistration(redisKeys, startedAt);
+        }
+
+        String token = tokenFor(mode);
+        Outcome outcome;
+        try {
+            outcome = acquireRedisLocks(keys, pattern, redisKeys, token, mode, timeout, maxRetries,
+                totalWaitMs, startedAt, waits);
+        } finally {
+            if (waits != null) {
+                waits.clear();
+            }
+        }
+        recordAcquireOutcome(pattern, outcome, startedAt);
+        if (outcome != Outcome.ACQUIRED) {
+            localLockTable.release(localLocks);
+            if (outcome == Outcome.DEADLOCK) {
+                throw deadlock(keys);
+            }
+            return null;
+        }
+
+        List<LeaseWatchdog.Lease> leases = redisKeys.stream()
+            .map(redisKey -> leaseWatchdog.track(redisKey, token, timeout))
+            .toList();
+        LockHandle handle = new LockHandle(leases, localLocks, keys, mode, pattern);
+        keys.forEach(key -> held.put(key, handle));
+        return handle;
+    }
+
+    /**
+     * Keys of a request the current thread does not hold yet, sorted
+     *
+     * @return The keys to acquire, or null if the request would upgrade a shared hold to exclusive
+     */
+    private static List<String> keysToAcquire(Collection<String> lockKeys, LockMode mode, Map<String, LockHandle> held) {
+        List<String> keys = new ArrayList<>();
+        for (String key : new TreeSet<>(lockKeys)) {
+            LockHandle outer = held.get(key);
+            if (outer == null) {
+                keys.add(key);
+            } else if (outer.mode == LockMode.SHARED && mode == LockMode.EXCLUSIVE) {
+                log.warn("Cannot upgrade shared lock '{}' to exclusive on the same thread", key);
+                return null;
+            }
+        }
+        return keys;
+    }
+
+    private Outcome acquireRedisLocks(List<String> keys, String pattern, List<String> redisKeys, String token,
+                                      LockMode mode, Duration timeout, int maxRetries, long totalWaitMs,
+                                      long startedAt, WaitRegistration waits) {
+        String leaseMs = String.valueOf(leaseWatchdog.leaseFor(timeout).toMillis());
+        List<String> scriptKeys = new ArrayList<>(redisKeys);
+        redisKeys.forEach(redisKey -> scriptKeys.add(redisKey + WRITER_WAITING_SUFFIX));
         long sliceMs = totalWaitMs / (maxRetries + 1);
 
         for (int attempt = 0; attempt <= maxRetries; attempt++) {
             try {
-                if (lock.tryLock(sliceMs, TimeUnit.MILLISECONDS)) {
-                    log.debug("Lock acquired: '{}' on attempt {}", lockKey, attempt + 1);
-                    return new LockHandle(lock, lockKey);
+                long sliceEndsAt = System.currentTimeMillis() + sliceMs;
+                while (true) {
+                    redisAttemptCounter.increment();
+                    Long acquired = scripts.executeForLong(ACQUIRE_SCRIPT, scriptKeys, token, leaseMs, mode.name());
+                    if (acquired != null && acquired == 1) {
+                        log.debug("Locks acquired: {} {} on attempt {}", mode, keys, attempt + 1);
+                        return Outcome.ACQUIRED;
+                    }
+                    if (waits != null && waits.mustAbort()) {
+                        return Outcome.DEADLOCK;
+                    }
+                    long sliceRemaining = sliceEndsAt - System.currentTimeMillis();
+                    if (sliceRemaining <= 0) {
+                        break;
+                    }
+                    Thread.sleep(Math.min(LocalLockTable.REDIS_POLL_INTERVAL_MS, sliceRemaining));
                 }
 
                 long elapsed = System.currentTimeMillis() - startedAt;
                 if (elapsed >= totalWaitMs) {
-                    log.warn("Lock wait timeout exceeded for '{}' after {}ms", lockKey, elapsed);
-                    return null;
+                    log.warn("Lock wait timeout exceeded for {} after {}ms", keys, elapsed);
+                    return Outcome.TIMEOUT;
                 }
 
                 if (attempt < maxRetries) {
+                    lockMetrics.recordRetry(METRICS_TYPE, pattern);
                     long backoff = 100L * (1L << attempt);
                     Thread.sleep(backoff);
-                    log.debug("Retrying lock '{}' attempt={} backoff={}ms", lockKey, attempt + 1, backoff);
+                    log.debug("Retrying locks {} attempt={} backoff={}ms", keys, attempt + 1, backoff);
                 }
 
             } catch (InterruptedException ex) {
                 Thread.currentThread().interrupt();
-                log.error("Interrupted while waiting for lock '{}'", lockKey);
-                return null;
+                log.error("Interrupted while waiting for locks {}", keys);
+                return Outcome.FAILED;
             } catch (Exception ex) {
-                log.error("Error trying to acquire lock '{}': {}", lockKey, ex.getMessage());
-                if (attempt == maxRetries) return null;
+                log.error("Error trying to acquire locks {}: {}", keys, ex.getMessage());
+                if (attempt == maxRetries) return Outcome.FAILED;
             }
         }
 
-        log.warn("Lock '{}' not acquired after {} retries", lockKey, maxRetries);
-        return null;
+        log.warn("Locks {} not acquired after {} retries", keys, maxRetries);
+        return Outcome.TIMEOUT;
     }
 
-    public boolean releaseLock(LockHandle handle) {
-        if (handle == null || handle.lock == null) return false;
+    /**
+     * Acquire several locks all-or-nothing in arrival order
+     * Every waiter takes a ticket in a per-key Redis queue and is granted the keys only at
+     * the head of each queue (readers also when only readers are ahead), so a burst on a
+     * hot key is served first come, first served instead of by whoever polls at the right
+     * moment. Waiters park on release notifications and heartbeat their ticket every
+     * {@value #FAIR_HEARTBEAT_MS}ms; a ticket not refreshed for {@value #FAIR_TICKET_TTL_MS}ms
+     * is dropped, so a crashed waiter cannot stall the queue. The local tier is skipped,
+     * since queueing in the JVM first would let a later waiter on another node jump ahead.
+     * Reentrancy, the upgrade rule and deadlock detection are as for {@link #acquireLocksWithRetry}.
+     */
+    public LockHandle acquireLocksFairly(Collection<String> lockKeys, LockMode mode, Duration timeout,
+                                         Duration waitTimeout) {
+        Map<String, LockHandle> held = heldByThread.get();
+        List<String> keys = keysToAcquire(lockKeys, mode, held);
+        if (keys == null) {
+            return null;
+        }
+        if (keys.isEmpty()) {
+            return new LockHandle(List.of(), List.of(), List.of(), mode, "");
+        }
+
+        String pattern = LockMetrics.patternOf(keys);
+        long startedAt = System.currentTimeMillis();
+        String token = tokenFor(mode);
+        List<String> redisKeys = keys.stream().map(key -> LOCK_PREFIX + key).toList();
+        List<String> scriptKeys = new ArrayList<>(redisKeys);
+        redisKeys.forEach(redisKey -> scriptKeys.add(redisKey + QUEUE_SUFFIX));
+        redisKeys.forEach(redisKey -> scriptKeys.add(redisKey + TICKETS_SUFFIX));
+        WaitRegistration waits = held.isEmpty() ? null : new WaitRegistration(redisKeys, startedAt);
+
+        Outcome outcome;
+        try {
+            outcome = awaitTurn(keys, redisKeys, scriptKeys, token, mode, timeout,
+                startedAt + waitTimeout.toMillis(), waits);
+        } finally {
+            if (waits != null) {
+                waits.clear();
+            }
+        }
+        recordAcquireOutcome(pattern, outcome, startedAt);
+        if (outcome != Outcome.ACQUIRED) {
+            leaveQueues(keys, scriptKeys, token);
+            if (outcome == Outcome.DEADLOCK) {
+                throw deadlock(keys);
+            }
+            return null;
+        }
+
+        List<LeaseWatchdog.Lease> leases = redisKeys.stream()
+            .map(redisKey -> leaseWatchdog.track(redisKey, token, timeout))
+            .toList();
+        LockHandle handle = new LockHandle(leases, List.of(), keys, mode, pattern);
+        keys.forEach(key -> held.put(key, handle));
+        return handle;
+    }
+
+    private Outcome awaitTurn(List<String> keys, List<String> redisKeys, List<String> scriptKeys, String token,
+                              LockMode mode, Duration timeout, long deadline, WaitRegistration waits) {
+        String leaseMs = String.valueOf(leaseWatchdog.leaseFor(timeout).toMillis());
+        String ticketMs = String.valueOf(FAIR_TICKET_TTL_MS);
 
+        while (true) {
+            // Subscribe before the attempt so a release in between still wakes this waiter
+            List<CompletableFuture<Void>> released = redisKeys.stream().map(releaseNotifier::listen).toList();
+            try {
+                redisAttemptCounter.increment();
+                Long acquired = scripts.executeForLong(FAIR_ACQUIRE_SCRIPT, scriptKeys, token, leaseMs, mode.name(),
+                    ticketMs);
+                if (acquired != null && acquired == 1) {
+                    log.debug("Locks acquired in turn: {} {}", mode, keys);
+                    return Outcome.ACQUIRED;
+                }
+                if (waits != null && waits.mustAbort()) {
+                    return Outcome.DEADLOCK;
+                }
+                long remainingMs = deadline - System.currentTimeMillis();
+                if (remainingMs <= 0) {
+                    log.warn("Lock wait timeout exceeded for {} while queued", keys);
+                    return Outcome.TIMEOUT;
+                }
+                CompletableFuture.anyOf(released.toArray(CompletableFuture[]::new))
+                    .get(Math.min(remainingMs, FAIR_HEARTBEAT_MS), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                // Heartbeat due; the next attempt refreshes the ticket
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while queued for locks {}", keys);
+                return Outcome.FAILED;
+            } catch (Exception ex) {
+                log.error("Error trying to acquire locks {} in turn: {}", keys, ex.getMessage());
+                return Outcome.FAILED;
+            } finally {
+                cancelListeners(redisKeys, released);
+            }
+        }
+    }
+
+    private void leaveQueues(List<String> keys, List<String> scriptKeys, String token) {
         try {
-            handle.lock.unlock();
-            log.debug("Lock '{}' released", handle.lockKey);
+            scripts.executeForLong(FAIR_DEQUEUE_SCRIPT, scriptKeys, token, LockReleaseNotifier.RELEASE_CHANNEL_PREFIX);
+        } catch (Exception ex) {
+            // The ticket expires on its own once it stops being refreshed
+            log.warn("Could not leave lock queues {}: {}", keys, ex.getMessage());
+        }
+    }
+
+    /**
+     * Holder token naming the current thread as owner, so the deadlock detector can tell who holds a key
+     */
+    private String tokenFor(LockMode mode) {
+        return (mode == LockMode.SHARED ? "r:" : "w:") + ownerByThread.get() + "/" + UUID.randomUUID();
+    }
+
+    private static LockAcquisitionException deadlock(List<String> keys) {
+        return new LockAcquisitionException("Deadlock detected while waiting for locks " + keys
+            + "; this request was chosen to abort");
+    }
+
+    private void recordAcquireOutcome(String pattern, Outcome outcome, long startedAt) {
+        Duration waited = Duration.ofMillis(System.currentTimeMillis() - startedAt);
+        lockMetrics.recordWait(METRICS_TYPE, pattern, outcome.tag, waited);
+        if (outcome == Outcome.TIMEOUT) {
+            lockMetrics.recordTimeout(METRICS_TYPE, pattern);
+        } else if (outcome == Outcome.FAILED) {
+            lockMetrics.recordFailure(METRICS_TYPE, pattern);
+        } else if (outcome == Outcome.DEADLOCK) {
+            lockMetrics.recordDeadlock(METRICS_TYPE, pattern);
+        }
+    }
+
+    public boolean releaseLock(LockHandle handle) {
+        if (handle == null) return false;
+        if (handle.lockKeys.isEmpty()) {
+            // Every key was already held by an enclosing scope on this thread
             return true;
-        } catch (IllegalMonitorStateException ex) {
-            log.warn("Lock '{}' not held by current thread", handle.lockKey);
-            return false;
-        } catch (IllegalStateException ex) {
-            if (ex.getMessage() != null && ex.getMessage().contains("expiration")) {
-                log.warn("Lock '{}' expired before explicit release", handle.lockKey);
-            } else {
-                log.warn("Illegal state releasing lock '{}': {}", handle.lockKey, ex.getMessage());
+        }
+
+        Map<String, LockHandle> held = heldByThread.get();
+        handle.lockKeys.forEach(key -> held.remove(key, handle));
+        if (held.isEmpty()) {
+            // Pooled and virtual threads alike keep nothing per thread once their last lock is gone
+            heldByThread.remove();
+        }
+        handle.leases.forEach(leaseWatchdog::untrack);
+        lockMetrics.recordHold(METRICS_TYPE, handle.pattern,
+            Duration.ofNanos(System.nanoTime() - handle.acquiredAtNanos));
+        try {
+            boolean released = unlockRedis(handle);
+            if (!released) {
+                lockMetrics.recordFailure(METRICS_TYPE, handle.pattern);
             }
+            return released;
+        } finally {
+            localLockTable.release(handle.localLocks);
+        }
+    }
+
+    private boolean unlockRedis(LockHandle handle) {
+        try {
+            Long deleted = scripts.executeForLong(
+                RELEASE_SCRIPT,
+                handle.leases.stream().map(LeaseWatchdog.Lease::getRedisKey).toList(),
+                handle.leases.get(0).getToken(),
+                LockReleaseNotifier.RELEASE_CHANNEL_PREFIX
+            );
+            if (deleted != null && deleted == handle.leases.size()) {
+                log.debug("Locks {} released", handle.lockKeys);
+                return true;
+            }
+            log.warn("Locks {} expired or were taken over before explicit release", handle.lockKeys);
             return false;
         } catch (Exception ex) {
-            log.error("Unexpected error releasing lock '{}'", handle.lockKey, ex);
+            log.error("Unexpected error releasing locks {}", handle.lockKeys, ex);
             return false;
         }
     }
 
+    /**
+     * Allow a held lock to be kept for {@code additionalTime} beyond its original hold timeout
+     */
     public boolean extendLock(LockHandle handle, Duration additionalTime) {
-        if (handle == null || handle.lock == null) return false;
-        log.debug("Lock extension requested for '{}' (managed by registry)", handle.lockKey);
-        return true;
+        if (handle == null) return false;
+        if (handle.leases.isEmpty()) return true;
+        try {
+            boolean extended = leaseWatchdog.extend(handle.leases, additionalTime);
+            log.debug("Locks {} extension by {}ms: {}", handle.lockKeys, additionalTime.toMillis(), extended);
+            return extended;
+        } catch (Exception ex) {
+            log.error("Error extending locks {}: {}", handle.lockKeys, ex.getMessage());
+            return false;
+        }
     }
 
     public boolean isLocked(String lockKey) {
         try {
-            Lock lock = redisLockRegistry.obtain(lockKey);
-            if (lock.tryLock()) {
-                lock.unlock();
-                return false;
-            }
-            return true;
+            return Boolean.TRUE.equals(redisTemplate.hasKey(LOCK_PREFIX + lockKey));
         } catch (Exception ex) {
             log.error("Error checking lock status for '{}': {}", lockKey, ex.getMessage());
             return false;
@@ -111,15 +468,231 @@ public class DistributedLockService {
         }
     }
 
+    // ── Async API ─────────────────────────────────────────────────────────────
+
+    /**
+     * Acquire a lock without blocking the caller
+     * See {@link #acquireLocksAsync}.
+     */
+    public CompletableFuture<LockHandle> acquireLockAsync(String lockKey, Duration timeout, Duration waitTimeout) {
+        return acquireLocksAsync(List.of(lockKey), LockMode.EXCLUSIVE, timeout, waitTimeout);
+    }
+
+    /**
+     * Acquire several locks all-or-nothing without blocking the caller
+     * Attempts run on Lettuce's reactive connection and a waiter parks on the release
+     * notification of its keys, so a pending wait holds no thread. The future completes
+     * with null if the wait times out or Redis fails. Async handles skip the local tier
+     * and are not reentrant, since they are not tied to a thread; release them with
+     * {@link #releaseLockAsync}.
+     */
+    public CompletableFuture<LockHandle> acquireLocksAsync(Collection<String> lockKeys, LockMode mode,
+                                                           Duration timeout, Duration waitTimeout) {
+        List<String> keys = List.copyOf(new TreeSet<>(lockKeys));
+        String pattern = LockMetrics.patternOf(keys);
+        String token = (mode == LockMode.SHARED ? "r:" : "w:") + UUID.randomUUID();
+        List<String> redisKeys = keys.stream().map(key -> LOCK_PREFIX + key).toList();
+        List<String> scriptKeys = new ArrayList<>(redisKeys);
+        redisKeys.forEach(redisKey -> scriptKeys.add(redisKey + WRITER_WAITING_SUFFIX));
+        String leaseMs = String.valueOf(leaseWatchdog.leaseFor(timeout).toMillis());
+        long startedAt = System.currentTimeMillis();
+
+        return attemptAsync(redisKeys, scriptKeys, token, leaseMs, mode, startedAt + waitTimeout.toMillis())
+            .handleAsync((acquired, ex) -> {
+                if (ex != null) {
+                    log.error("Error trying to acquire locks {} asynchronously: {}", keys, ex.getMessage());
+                    recordAcquireOutcome(pattern, Outcome.FAILED, startedAt);
+                    return null;
+                }
+                if (!acquired) {
+                    log.warn("Lock wait timeout exceeded for {} after {}ms", keys, waitTimeout.toMillis());
+                    recordAcquireOutcome(pattern, Outcome.TIMEOUT, startedAt);
+                    return null;
+                }
+                recordAcquireOutcome(pattern, Outcome.ACQUIRED, startedAt);
+                List<LeaseWatchdog.Lease> leases = redisKeys.stream()
+                    .map(redisKey -> leaseWatchdog.track(redisKey, token, timeout))
+                    .toList();
+                return new LockHandle(leases, List.of(), keys, mode, pattern);
+            }, asyncExecutor);
+    }
+
+    private CompletableFuture<Boolean> attemptAsync(List<String> redisKeys, List<String> scriptKeys, String token,
+                                                    String leaseMs, LockMode mode, long deadline) {
+        // Subscribe before the attempt so a release in between still wakes this waiter
+        List<CompletableFuture<Void>> released = redisKeys.stream().map(releaseNotifier::listen).toList();
+        redisAttemptCounter.increment();
+
+        return scripts.executeForLongAsync(ACQUIRE_SCRIPT, scriptKeys, token, leaseMs, mode.name())
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    cancelListeners(redisKeys, released);
+                }
+            })
+            .thenCompose(result -> {
+                boolean acquired = result != null && result == 1;
+                long remainingMs = deadline - System.currentTimeMillis();
+                if (acquired || remainingMs <= 0) {
+                    cancelListeners(redisKeys, released);
+                    return CompletableFuture.completedFuture(acquired);
+                }
+                return CompletableFuture.anyOf(released.toArray(CompletableFuture[]::new))
+                    .completeOnTimeout(null, Math.min(remainingMs, ASYNC_FALLBACK_POLL_MS), TimeUnit.MILLISECONDS)
+                    .thenCompose(woken -> {
+                        cancelListeners(redisKeys, released);
+                        return attemptAsync(redisKeys, scriptKeys, token, leaseMs, mode, deadline);
+                    });
+            });
+    }
+
+    private void cancelListeners(List<String> redisKeys, List<CompletableFuture<Void>> released) {
+        for (int i = 0; i < redisKeys.size(); i++) {
+            releaseNotifier.cancel(redisKeys.get(i), released.get(i));
+        }
+    }
+
+    /**
+     * Release a lock without blocking the caller
+     * Handles from the blocking API hold thread-owned local stripes and are released in place.
+     */
+    public CompletableFuture<Boolean> releaseLockAsync(LockHandle handle) {
+        if (handle == null) return CompletableFuture.completedFuture(false);
+        if (handle.lockKeys.isEmpty()) return CompletableFuture.completedFuture(true);
+        if (!handle.localLocks.isEmpty()) return CompletableFuture.completedFuture(releaseLock(handle));
+
+        handle.leases.forEach(leaseWatchdog::untrack);
+        lockMetrics.recordHold(METRICS_TYPE, handle.pattern,
+            Duration.ofNanos(System.nanoTime() - handle.acquiredAtNanos));
+
+        return scripts.executeForLongAsync(
+                RELEASE_SCRIPT,
+                handle.leases.stream().map(LeaseWatchdog.Lease::getRedisKey).toList(),
+                handle.leases.get(0).getToken(),
+                LockReleaseNotifier.RELEASE_CHANNEL_PREFIX)
+            .handle((deleted, ex) -> {
+                boolean released = ex == null && deleted != null && deleted == handle.leases.size();
+                if (!released) {
+                    log.warn("Locks {} could not be released cleanly: {}", handle.lockKeys,
+                        ex != null ? ex.getMessage() : "lease expired or taken over");
+                    lockMetrics.recordFailure(METRICS_TYPE, handle.pattern);
+                }
+                return released;
+            });
+    }
+
+    /**
+     * Run an async action under a lock held for at most 30 seconds
+     */
+    public <T> CompletableFuture<T> executeWithLockAsync(String lockKey, Supplier<? extends CompletionStage<T>> action) {
+        return executeWithLockAsync(lockKey, DEFAULT_HOLD_TIMEOUT, action);
+    }
+
+    /**
+     * Run an async action under a lock, releasing it once the action's stage completes
+     * The action is started on a virtual thread, never on a Redis I/O thread. The returned
+     * future fails with {@link LockAcquisitionException} if the lock cannot be acquired.
+     */
+    public <T> CompletableFuture<T> executeWithLockAsync(String lockKey, Duration timeout,
+                                                         Supplier<? extends CompletionStage<T>> action) {
+        return acquireLockAsync(lockKey, timeout, DEFAULT_WAIT_TIMEOUT).thenCompose(handle -> {
+            if (handle == null) {
+                return CompletableFuture.failedFuture(new LockAcquisitionException("Unable to acquire lock: " + lockKey));
+            }
+            CompletableFuture<T> result = CompletableFuture.<CompletionStage<T>>supplyAsync(action::get, asyncExecutor)
+                .thenCompose(stage -> stage);
+            return result
+                .handle((value, ex) -> releaseLockAsync(handle))
+                .thenCompose(Function.identity())
+                .thenCompose(released -> result);
+        });
+    }
+
+    @PreDestroy
+    void shutdownAsyncExecutor() {
+        asyncExecutor.shutdown();
+    }
+
     // ── Inner types ───────────────────────────────────────────────────────────
 
     public static class LockHandle {
-        final Lock lock;
-        final String lockKey;
+        final List<LeaseWatchdog.Lease> leases;
+        final List<Lock> localLocks;
+        final List<String> lockKeys;
+        final LockMode mode;
+        final String pattern;
+        final long acquiredAtNanos = System.nanoTime();
+
+        public LockHandle(List<LeaseWatchdog.Lease> leases, List<Lock> localLocks, List<String> lockKeys,
+                          LockMode mode, String pattern) {
+            this.leases = leases;
+            this.localLocks = localLocks;
+            this.lockKeys = lockKeys;
+            this.mode = mode;
+            this.pattern = pattern;
+        }
+
+        /**
+         * False once the watchdog found a lease taken over or stopped renewing it
+         */
+        public boolean isHeld() {
+            return leases.stream().noneMatch(LeaseWatchdog.Lease::isLost);
+        }
+    }
+
+    /**
+     * Entry of a waiting thread in the cluster-wide wait-for graph
+     * Only threads that already hold locks register, since a thread holding nothing cannot
+     * close a cycle; a first-level acquisition pays nothing for deadlock detection.
+     */
+    private final class WaitRegistration {
+        private final List<String> scriptKeys;
+        private final String owner = ownerByThread.get();
+        private final String startedAt;
+        private boolean registered;
+
+        private WaitRegistration(List<String> redisKeys, long startedAt) {
+            this.scriptKeys = new ArrayList<>(List.of(WAIT_FOR_KEY, DEADLOCK_VICTIMS_KEY));
+            this.scriptKeys.addAll(redisKeys);
+            this.startedAt = String.valueOf(startedAt);
+        }
+
+        /**
+         * Record the wait and check for a cycle through this thread
+         *
+         * @return true if this thread was chosen as the deadlock victim
+         */
+        boolean mustAbort() {
+            registered = true;
+            try {
+                Long abort = scripts.executeForLong(DEADLOCK_CHECK_SCRIPT, scriptKeys, owner, startedAt,
+                    String.valueOf(WAIT_ENTRY_TTL_MS), LockReleaseNotifier.RELEASE_CHANNEL_PREFIX);
+                return abort != null && abort == 1;
+            } catch (Exception ex) {
+                log.warn("Deadlock check failed for owner {}: {}", owner, ex.getMessage());
+                return false;
+            }
+        }
+
+        void clear() {
+            if (!registered) {
+                return;
+            }
+            try {
+                redisTemplate.opsForHash().delete(WAIT_FOR_KEY, owner);
+            } catch (Exception ex) {
+                // The entry expires on its own once it stops being refreshed
+                log.debug("Could not clear wait-for entry of owner {}: {}", owner, ex.getMessage());
+            }
+        }
+    }
+
+    private enum Outcome {
+        ACQUIRED("acquired"), TIMEOUT("timeout"), FAILED("failed"), DEADLOCK("deadlock");
+
+        private final String tag;
 
-        public LockHandle(Lock lock, String lockKey) {
-            this.lock = lock;
-            this.lockKey = lockKey;
+        Outcome(String tag) {
+            this.tag = tag;
         }
     }
 
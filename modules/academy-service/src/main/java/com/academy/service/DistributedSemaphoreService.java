@@ -0,0 +1,154 @@
+package com.academy.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cluster-wide semaphore over Redis
+ * A semaphore is a hash of permit tokens to lease expiry, the same layout as a lock, so
+ * permits are renewed by the {@link LeaseWatchdog} and released through the lock release
+ * script. A permit whose holder crashed drops out of the count once its lease runs out.
+ * Waiters park on the semaphore's release notification and re-check every
+ * {@value #FALLBACK_POLL_MS}ms in case a permit lapsed without one.
+ */
+@Service
+@Slf4j
+public class DistributedSemaphoreService {
+
+    public static final String PERMIT_PREFIX = "academy-permits:";
+
+    private static final String ACQUIRE_SCRIPT = "permit-acquire";
+    private static final String RELEASE_SCRIPT = "lease-release";
+
+    private static final String METRICS_TYPE = "semaphore";
+
+    private static final long FALLBACK_POLL_MS = 500;
+
+    private final RedisScriptLibrary scripts;
+    private final LeaseWatchdog leaseWatchdog;
+    private final LockReleaseNotifier releaseNotifier;
+    private final LockMetrics lockMetrics;
+
+    public DistributedSemaphoreService(RedisScriptLibrary scripts, LeaseWatchdog leaseWatchdog,
+                                       LockReleaseNotifier releaseNotifier, LockMetrics lockMetrics) {
+        this.scripts = scripts;
+        this.leaseWatchdog = leaseWatchdog;
+        this.releaseNotifier = releaseNotifier;
+        this.lockMetrics = lockMetrics;
+    }
+
+    /**
+     * Take one of {@code permits} permits of a semaphore, held for at most {@code timeout}
+     *
+     * @param key         Semaphore name
+     * @param permits     Number of permits the semaphore allows out at once
+     * @param timeout     Maximum time the permit may be held
+     * @param waitTimeout Maximum time to wait for a free permit
+     * @return The held permit, or null if none was free in time
+     */
+    public Permit acquirePermit(String key, int permits, Duration timeout, Duration waitTimeout) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Semaphore '" + key + "' needs at least one permit, got " + permits);
+        }
+        String redisKey = PERMIT_PREFIX + key;
+        String token = "p:" + UUID.randomUUID();
+        String leaseMs = String.valueOf(leaseWatchdog.leaseFor(timeout).toMillis());
+        String pattern = LockMetrics.patternOf(key);
+        long startedAt = System.currentTimeMillis();
+        long deadline = startedAt + waitTimeout.toMillis();
+
+        while (true) {
+            // Subscribe before the attempt so a release in between still wakes this waiter
+            CompletableFuture<Void> released = releaseNotifier.listen(redisKey);
+            try {
+                Long granted = scripts.executeForLong(ACQUIRE_SCRIPT, List.of(redisKey), token, leaseMs,
+                    String.valueOf(permits));
+                if (granted != null && granted == 1) {
+                    lockMetrics.recordWait(METRICS_TYPE, pattern, "acquired", since(startedAt));
+                    log.debug("Permit acquired: {} (limit: {})", key, permits);
+                    return new Permit(key, leaseWatchdog.track(redisKey, token, timeout), pattern);
+                }
+                long remainingMs = deadline - System.currentTimeMillis();
+                if (remainingMs <= 0) {
+                    log.warn("No permit free for '{}' (limit: {}) within {}ms", key, permits, waitTimeout.toMillis());
+                    lockMetrics.recordWait(METRICS_TYPE, pattern, "timeout", since(startedAt));
+                    lockMetrics.recordTimeout(METRICS_TYPE, pattern);
+                    return null;
+                }
+                released.get(Math.min(remainingMs, FALLBACK_POLL_MS), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                log.debug("No permit release for '{}' within {}ms, polling", key, FALLBACK_POLL_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while waiting for a permit of '{}'", key);
+                recordFailure(pattern, startedAt);
+                return null;
+            } catch (Exception ex) {
+                log.error("Error acquiring a permit of '{}': {}", key, ex.getMessage());
+                recordFailure(pattern, startedAt);
+                return null;
+            } finally {
+                releaseNotifier.cancel(redisKey, released);
+            }
+        }
+    }
+
+    /**
+     * Give a permit back and wake the waiters of its semaphore
+     *
+     * @return true if the permit was still held, false if its lease had already lapsed
+     */
+    public boolean releasePermit(Permit permit) {
+        if (permit == null) {
+            return false;
+        }
+        leaseWatchdog.untrack(permit.lease);
+        lockMetrics.recordHold(METRICS_TYPE, permit.pattern, Duration.ofNanos(System.nanoTime() - permit.acquiredAtNanos));
+        try {
+            Long deleted = scripts.executeForLong(RELEASE_SCRIPT, List.of(permit.lease.getRedisKey()),
+                permit.lease.getToken(), LockReleaseNotifier.RELEASE_CHANNEL_PREFIX);
+            if (deleted != null && deleted == 1) {
+                return true;
+            }
+            log.warn("Permit of '{}' lapsed before release", permit.key);
+        } catch (Exception ex) {
+            log.error("Error releasing a permit of '{}': {}", permit.key, ex.getMessage());
+        }
+        lockMetrics.recordFailure(METRICS_TYPE, permit.pattern);
+        return false;
+    }
+
+    private void recordFailure(String pattern, long startedAt) {
+        lockMetrics.recordWait(METRICS_TYPE, pattern, "failed", since(startedAt));
+        lockMetrics.recordFailure(METRICS_TYPE, pattern);
+    }
+
+    private static Duration since(long startedAt) {
+        return Duration.ofMillis(System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * A permit held by this node
+     */
+    public static class Permit {
+        final String key;
+        final LeaseWatchdog.Lease lease;
+        final String pattern;
+        final long acquiredAtNanos = System.nanoTime();
+
+        Permit(String key, LeaseWatchdog.Lease lease, String pattern) {
+            this.key = key;
+            this.lease = lease;
+            this.pattern = pattern;
+        }
+
+        public String getKey() { return key; }
+    }
+}
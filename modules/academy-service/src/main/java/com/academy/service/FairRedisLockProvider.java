@@ -0,0 +1,64 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lock backend over Redis leases granted in arrival order
+ * For hot keys where a burst of waiters would otherwise be served by luck and the
+ * unlucky ones run out their wait timeout; see {@link DistributedLockService#acquireLocksFairly}.
+ * Route a whole namespace to it, since plain "redis" acquirers of the same key do not queue.
+ */
+@Component
+@RequiredArgsConstructor
+public class FairRedisLockProvider implements LockProvider {
+
+    public static final String NAME = "redis-fair";
+
+    private final DistributedLockService lockService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Waiters queue until {@code waitTimeout}; there are no retries, so {@code maxRetries} does not apply
+     */
+    @Override
+    public Lease acquire(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, int maxRetries,
+                         Duration waitTimeout) {
+        DistributedLockService.LockHandle handle =
+            lockService.acquireLocksFairly(lockKeys, mode, holdTimeout, waitTimeout);
+        return handle != null ? new HandleLease(handle) : null;
+    }
+
+    private final class HandleLease implements Lease {
+
+        private final DistributedLockService.LockHandle handle;
+
+        private HandleLease(DistributedLockService.LockHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public List<String> getLockKeys() {
+            return handle.lockKeys;
+        }
+
+        @Override
+        public boolean isHeld() {
+            return handle.isHeld();
+        }
+
+        @Override
+        public boolean release() {
+            return lockService.releaseLock(handle);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Lock backend that only excludes threads of this JVM
+ * For single-node deployments, tests, and keys whose critical section is only
+ * contended within one node. Uses its own striped table, separate from the local tier
+ * of the Redis backend, so the two never queue behind each other.
+ */
+@Component
+@Slf4j
+public class InMemoryLockProvider implements LockProvider {
+
+    public static final String NAME = "memory";
+
+    private final LocalLockTable lockTable;
+
+    public InMemoryLockProvider(@Value("${academy.lock.memory.stripes:1024}") int stripeCount,
+                                MeterRegistry meterRegistry) {
+        this.lockTable = new LocalLockTable(stripeCount, meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * The wait is a single timed block on the stripes, so {@code maxRetries} does not apply.
+     * Stripes are not leases and stay held until release regardless of {@code holdTimeout}.
+     */
+    @Override
+    public Lease acquire(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, int maxRetries,
+                         Duration waitTimeout) {
+        List<String> keys = List.copyOf(new TreeSet<>(lockKeys));
+        try {
+            List<Lock> stripes = lockTable.acquireAll(keys, mode, waitTimeout.toMillis());
+            return stripes != null ? new StripeLease(keys, stripes) : null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for in-memory locks {}", keys);
+            return null;
+        }
+    }
+
+    private final class StripeLease implements Lease {
+
+        private final List<String> lockKeys;
+        private final List<Lock> stripes;
+
+        private StripeLease(List<String> lockKeys, List<Lock> stripes) {
+            this.lockKeys = lockKeys;
+            this.stripes = stripes;
+        }
+
+        @Override
+        public List<String> getLockKeys() {
+            return lockKeys;
+        }
+
+        @Override
+        public boolean release() {
+            lockTable.release(stripes);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.academy.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renews the Redis leases of locks held by this node
+ * Locks are written with a short lease instead of their full hold timeout. A single
+ * watchdog thread renews every live lease in one Lua round-trip per tick until the
+ * holder releases or exceeds its hold timeout, so a crashed node's locks free up
+ * within one lease rather than after the full timeout.
+ */
+@Component
+@Slf4j
+public class LeaseWatchdog {
+
+    private static final String RENEW_SCRIPT = "lease-renew";
+
+    private final RedisScriptLibrary scripts;
+    private final Duration leaseTtl;
+    private final long renewIntervalMs;
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService scheduler;
+
+    public LeaseWatchdog(RedisScriptLibrary scripts,
+                         @Value("${academy.lock.lease.ttl-ms:6000}") long leaseTtlMs,
+                         @Value("${academy.lock.lease.renew-interval-ms:2000}") long renewIntervalMs) {
+        this.scripts = scripts;
+        this.leaseTtl = Duration.ofMillis(leaseTtlMs);
+        this.renewIntervalMs = renewIntervalMs;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lock-lease-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::renewAll, renewIntervalMs, renewIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Lease TTL to write for a lock held for at most {@code holdTimeout}
+     */
+    public Duration leaseFor(Duration holdTimeout) {
+        return holdTimeout.compareTo(leaseTtl) < 0 ? holdTimeout : leaseTtl;
+    }
+
+    /**
+     * Start renewing a lease until it is released or its hold timeout passes
+     */
+    public Lease track(String redisKey, String token, Duration holdTimeout) {
+        Lease lease = new Lease(redisKey, token, leaseFor(holdTimeout), Instant.now().plus(holdTimeout));
+        leases.add(lease);
+        return lease;
+    }
+
+    /**
+     * Stop renewing a lease
+     */
+    public void untrack(Lease lease) {
+        leases.remove(lease);
+    }
+
+    /**
+     * Push the hold deadline of one holder's leases out and renew them immediately
+     *
+     * @return true if every lease was still owned and has been renewed
+     */
+    public boolean extend(List<Lease> heldLeases, Duration additionalTime) {
+        for (Lease lease : heldLeases) {
+            lease.holdDeadline = lease.holdDeadline.plus(additionalTime);
+        }
+        List<Object> renewed = renew(heldLeases);
+        return renewed.size() == heldLeases.size()
+            && renewed.stream().allMatch(Long.valueOf(1L)::equals);
+    }
+
+    /**
+     * Leases currently held by this node
+     */
+    public Collection<Lease> getHeldLeases() {
+        return leases;
+    }
+
+    void renewAll() {
+        try {
+            Instant now = Instant.now();
+            List<Lease> live = new ArrayList<>();
+            for (Lease lease : leases) {
+                if (now.isAfter(lease.holdDeadline)) {
+                    // Holder overran its timeout; let the lease lapse instead of renewing forever
+                    log.warn("Lock '{}' held past its hold timeout, no longer renewing", lease.getRedisKey());
+                    lease.lost = true;
+                    leases.remove(lease);
+                } else {
+                    live.add(lease);
+                }
+            }
+            if (!live.isEmpty()) {
+                renew(live);
+            }
+        } catch (Exception ex) {
+            log.error("Lease renewal tick failed: {}", ex.getMessage());
+        }
+    }
+
+    private List<Object> renew(List<Lease> batch) {
+        List<String> keys = new ArrayList<>(batch.size());
+        String[] args = new String[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            Lease lease = batch.get(i);
+            keys.add(lease.getRedisKey());
+            args[i * 2] = lease.getToken();
+            args[i * 2 + 1] = String.valueOf(lease.getLeaseTtl().toMillis());
+        }
+
+        List<Object> renewed = scripts.executeForList(RENEW_SCRIPT, keys, args);
+        if (renewed == null) {
+            return List.of();
+        }
+        for (int i = 0; i < renewed.size(); i++) {
+            if (Long.valueOf(0L).equals(renewed.get(i))) {
+                Lease lost = batch.get(i);
+                lost.lost = true;
+                leases.remove(lost);
+                log.warn("Lease for lock '{}' was lost before renewal", lost.getRedisKey());
+            }
+        }
+        return renewed;
+    }
+
+    /**
+     * A lock lease held by this node
+     */
+    public static class Lease {
+        private final String redisKey;
+        private final String token;
+        private final Duration leaseTtl;
+        private final Instant acquiredAt;
+        private volatile Instant holdDeadline;
+        private volatile boolean lost;
+
+        Lease(String redisKey, String token, Duration leaseTtl, Instant holdDeadline) {
+            this.redisKey = redisKey;
+            this.token = token;
+            this.leaseTtl = leaseTtl;
+            this.acquiredAt = Instant.now();
+            this.holdDeadline = holdDeadline;
+        }
+
+        public String getRedisKey() { return redisKey; }
+        public String getToken() { return token; }
+        public Duration getLeaseTtl() { return leaseTtl; }
+        public Instant getAcquiredAt() { return acquiredAt; }
+        public Instant getHoldDeadline() { return holdDeadline; }
+
+        /**
+         * True once the lock may belong to someone else: renewal found another holder,
+         * or the holder overran its hold timeout and the lease was left to lapse
+         */
+        public boolean isLost() { return lost; }
+    }
+}
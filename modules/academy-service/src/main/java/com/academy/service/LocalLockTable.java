@@ -0,0 +1,152 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * JVM-local tier in front of the Redis lock.
+ * Same-node contenders for a key queue on a fair in-process lock, so only the
+ * head of the queue talks to Redis. Keys are hashed onto a fixed number of
+ * stripes, which keeps memory bounded no matter how many distinct keys are seen.
+ * Stripes are read/write locks so shared holders on one node do not queue behind
+ * each other; a thread holding a shared stripe cannot upgrade it to exclusive.
+ */
+@Component
+@Slf4j
+public class LocalLockTable {
+
+    /**
+     * Interval at which a contended waiter re-checks Redis; used to estimate saved round-trips
+     */
+    static final long REDIS_POLL_INTERVAL_MS = 100;
+
+    private final ReentrantReadWriteLock[] stripes;
+    private final int mask;
+    private final Counter queuedCounter;
+    private final Counter savedRoundTripsCounter;
+
+    public LocalLockTable(@Value("${academy.lock.local.stripes:256}") int stripeCount, MeterRegistry meterRegistry) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            // Fair, so local waiters are handed the key in arrival order and a queued writer holds back new readers
+            stripes[i] = new ReentrantReadWriteLock(true);
+        }
+        this.mask = size - 1;
+
+        this.queuedCounter = Counter.builder("academy.lock.local.queued")
+            .description("Lock acquisitions that queued in the JVM behind a same-node holder")
+            .register(meterRegistry);
+        this.savedRoundTripsCounter = Counter.builder("academy.lock.local.redis.saved")
+            .description("Estimated Redis round-trips avoided by waiting locally instead of polling")
+            .register(meterRegistry);
+
+        log.debug("Local lock table initialised with {} stripes", size);
+    }
+
+    /**
+     * Acquire the local stripe for a lock key exclusively
+     *
+     * @param lockKey   Resolved lock key
+     * @param timeoutMs Maximum time to wait behind same-node holders
+     * @return The held stripe lock, or null if the wait timed out
+     * @throws InterruptedException if the thread is interrupted while queued
+     */
+    public Lock acquire(String lockKey, long timeoutMs) throws InterruptedException {
+        Lock stripe = stripeFor(lockKey).writeLock();
+        return acquireStripe(stripe, lockKey, timeoutMs) ? stripe : null;
+    }
+
+    /**
+     * Acquire the local stripes for several lock keys, all or nothing
+     * Stripes are taken in index order so two threads locking overlapping key sets cannot deadlock.
+     *
+     * @param lockKeys  Resolved lock keys
+     * @param mode      Whether the stripes are taken shared or exclusive
+     * @param timeoutMs Maximum total time to wait behind same-node holders
+     * @return The held stripe locks, or null if the wait timed out
+     * @throws InterruptedException if the thread is interrupted while queued
+     */
+    public List<Lock> acquireAll(Collection<String> lockKeys, LockMode mode, long timeoutMs) throws InterruptedException {
+        TreeMap<Integer, String> byIndex = new TreeMap<>();
+        for (String lockKey : lockKeys) {
+            byIndex.putIfAbsent(indexFor(lockKey), lockKey);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<Lock> held = new ArrayList<>(byIndex.size());
+        try {
+            for (Map.Entry<Integer, String> entry : byIndex.entrySet()) {
+                ReentrantReadWriteLock rw = stripes[entry.getKey()];
+                Lock stripe = mode == LockMode.SHARED ? rw.readLock() : rw.writeLock();
+                long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                if (!acquireStripe(stripe, entry.getValue(), remainingMs)) {
+                    release(held);
+                    return null;
+                }
+                held.add(stripe);
+            }
+        } catch (InterruptedException ex) {
+            release(held);
+            throw ex;
+        }
+        return held;
+    }
+
+    /**
+     * Release stripes acquired through {@link #acquireAll}
+     */
+    public void release(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private boolean acquireStripe(Lock stripe, String lockKey, long timeoutMs) throws InterruptedException {
+        if (stripe.tryLock()) {
+            return true;
+        }
+
+        queuedCounter.increment();
+        long queuedAt = System.nanoTime();
+        boolean acquired = stripe.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedAt);
+
+        // Without this tier the waiter would have polled Redis for the whole wait
+        savedRoundTripsCounter.increment(Math.max(1, waitedMs / REDIS_POLL_INTERVAL_MS));
+
+        if (!acquired) {
+            log.debug("Timed out after {}ms queued locally for '{}'", waitedMs, lockKey);
+        }
+        return acquired;
+    }
+
+    /**
+     * Number of stripes in the table
+     */
+    public int size() {
+        return stripes.length;
+    }
+
+    ReentrantReadWriteLock stripeFor(String lockKey) {
+        return stripes[indexFor(lockKey)];
+    }
+
+    private int indexFor(String lockKey) {
+        int h = lockKey.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,126 @@
+package com.academy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-process lock metrics, tagged by key pattern rather than raw key
+ * The pattern of a {@code @WithLock} or {@code @WithPermit} acquisition is its declared key
+ * template, bound by the aspect through {@link #withKeyPattern}, e.g. "student:onboarding:*"
+ * for {@code student:onboarding:#{#request.email}}. Keys locked programmatically report only
+ * their namespace, "batch:*" for "batch:create:Spring 2025", so the number of series stays bounded.
+ * Wait and hold timers publish percentile histograms for the Prometheus registry.
+ */
+@Component
+public class LockMetrics {
+
+    // Pattern declared by the annotation whose keys this thread is acquiring
+    private static final ThreadLocal<String> KEY_PATTERN = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public LockMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Time spent waiting for a lock, whether it was eventually granted or not
+     *
+     * @param outcome "acquired", "timeout", "failed" or "deadlock"
+     */
+    public void recordWait(String lockType, String pattern, String outcome, Duration waited) {
+        Timer.builder("academy.lock.wait")
+            .description("Time spent waiting to acquire a lock")
+            .tags("type", lockType, "pattern", pattern, "outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(waited);
+    }
+
+    /**
+     * Time a lock was held, from grant to release
+     */
+    public void recordHold(String lockType, String pattern, Duration held) {
+        Timer.builder("academy.lock.hold")
+            .description("Time a lock was held before release")
+            .tags("type", lockType, "pattern", pattern)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(held);
+    }
+
+    public void recordRetry(String lockType, String pattern) {
+        counter("academy.lock.retries", "Lock attempts retried after backoff", lockType, pattern).increment();
+    }
+
+    public void recordTimeout(String lockType, String pattern) {
+        counter("academy.lock.timeouts", "Lock waits that ran out of time", lockType, pattern).increment();
+    }
+
+    public void recordFailure(String lockType, String pattern) {
+        counter("academy.lock.failures", "Lock operations that failed with an error or lost their lease", lockType, pattern)
+            .increment();
+    }
+
+    public void recordDeadlock(String lockType, String pattern) {
+        counter("academy.lock.deadlocks", "Lock waits aborted to break a deadlock", lockType, pattern).increment();
+    }
+
+    /**
+     * Run an acquisition whose metrics are tagged with a declared key pattern instead of its keys
+     */
+    public static <T> T withKeyPattern(String pattern, Supplier<T> acquisition) {
+        String outer = KEY_PATTERN.get();
+        KEY_PATTERN.set(pattern);
+        try {
+            return acquisition.get();
+        } finally {
+            if (outer != null) {
+                KEY_PATTERN.set(outer);
+            } else {
+                KEY_PATTERN.remove();
+            }
+        }
+    }
+
+    /**
+     * Pattern for a single lock key
+     */
+    public static String patternOf(String lockKey) {
+        String declared = KEY_PATTERN.get();
+        return declared != null ? declared : namespaceOf(lockKey);
+    }
+
+    /**
+     * Pattern for a set of lock keys acquired together
+     */
+    public static String patternOf(Collection<String> lockKeys) {
+        String declared = KEY_PATTERN.get();
+        if (declared != null) {
+            return declared;
+        }
+        return String.join(",", lockKeys.stream()
+            .map(LockMetrics::namespaceOf)
+            .collect(Collectors.toCollection(TreeSet::new)));
+    }
+
+    private static String namespaceOf(String lockKey) {
+        int separator = lockKey.indexOf(':');
+        return separator > 0 ? lockKey.substring(0, separator) + ":*" : "*";
+    }
+
+    private Counter counter(String name, String description, String lockType, String pattern) {
+        return Counter.builder(name)
+            .description(description)
+            .tags("type", lockType, "pattern", pattern)
+            .register(meterRegistry);
+    }
+}
@@ -1,26 +1,58 @@
 package com.academy.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Service for monitoring and managing distributed locks
- * Provides health checks, deadlock detection, and lock cleanup
+ * Provides health checks, size gauges for the local lock bookkeeping, and periodic
+ * cleanup of entries their owners never released.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class LockMonitoringService {
-    
+
     private final CustomLockService lockService;
-    
+    private final LockReleaseNotifier releaseNotifier;
+    private final LeaseWatchdog leaseWatchdog;
+    private final MeterRegistry meterRegistry;
+    private final long idleExpiryMs;
+
+    public LockMonitoringService(CustomLockService lockService,
+                                 LockReleaseNotifier releaseNotifier,
+                                 LeaseWatchdog leaseWatchdog,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${academy.lock.registry.idle-expiry-ms:600000}") long idleExpiryMs) {
+        this.lockService = lockService;
+        this.releaseNotifier = releaseNotifier;
+        this.leaseWatchdog = leaseWatchdog;
+        this.meterRegistry = meterRegistry;
+        this.idleExpiryMs = idleExpiryMs;
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("academy.lock.registry.size", lockService, CustomLockService::getActiveLockCount)
+            .description("Locks tracked locally by the custom lock service")
+            .tag("registry", "custom-held")
+            .register(meterRegistry);
+        Gauge.builder("academy.lock.registry.size", releaseNotifier, LockReleaseNotifier::getWaitingKeyCount)
+            .description("Lock keys with local waiters for a release notification")
+            .tag("registry", "notifier-waiting")
+            .register(meterRegistry);
+        Gauge.builder("academy.lock.registry.size", leaseWatchdog, watchdog -> watchdog.getHeldLeases().size())
+            .description("Redis leases held and renewed by this node")
+            .tag("registry", "leases")
+            .register(meterRegistry);
+    }
+
     /**
      * Check lock health - runs every 30 seconds
      * Logs active locks and statistics
@@ -32,14 +64,29 @@ public class LockMonitoringService {
             log.debug("Active locks: {}", activeLocks);
         }
     }
-    
+
+    /**
+     * Drop local lock bookkeeping idle for longer than academy.lock.registry.idle-expiry-ms
+     * Runs every minute so a long-running node cannot slowly accumulate entries for keys
+     * (e-mails, ids) whose owner never released or cancelled.
+     */
+    @Scheduled(fixedDelayString = "${academy.lock.registry.sweep-interval-ms:60000}")
+    public void expireUnused() {
+        Duration idle = Duration.ofMillis(idleExpiryMs);
+        int locks = lockService.expireUnusedOlderThan(idle);
+        int waiters = releaseNotifier.expireUnusedOlderThan(idle);
+        if (locks > 0 || waiters > 0) {
+            log.info("Expired {} unreleased lock entries and {} stale waiter registrations", locks, waiters);
+        }
+    }
+
     /**
      * Get summary of all lock statistics
      * Useful for monitoring and debugging
      */
     public String getLockHealthSummary() {
         int activeLocks = lockService.getActiveLockCount();
-        return String.format("Lock Health: %d active locks", activeLocks);
+        return String.format("Lock Health: %d active locks, %d keys with waiters, %d leases",
+            activeLocks, releaseNotifier.getWaitingKeyCount(), leaseWatchdog.getHeldLeases().size());
     }
 }
-
@@ -0,0 +1,57 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Backend that {@code @WithLock} acquires its keys from
+ * Implementations differ in cost and guarantees: "memory" only excludes threads of one
+ * node, "redis" excludes across nodes with renewed leases, "redis-fair" additionally
+ * grants in arrival order, "redis-quorum" and "redis-sharded" spread over several
+ * independent Redis nodes, and "mysql" uses the database's named locks. Which backend
+ * a key uses is configured per key namespace under academy.lock.backend, see
+ * {@link LockProviderRegistry}.
+ */
+public interface LockProvider {
+
+    /**
+     * Name the backend is selected by in configuration
+     */
+    String getName();
+
+    /**
+     * Acquire a set of keys all-or-nothing
+     *
+     * @param lockKeys    Resolved lock keys
+     * @param mode        Shared or exclusive; backends without shared locks take every key exclusively
+     * @param holdTimeout Maximum time the locks may be held
+     * @param maxRetries  Retry budget, for backends that retry rather than block
+     * @param waitTimeout Maximum time to wait for the locks
+     * @return The held lease, or null if the keys could not be acquired
+     */
+    Lease acquire(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, int maxRetries, Duration waitTimeout);
+
+    /**
+     * Locks held through a provider, released on the thread that acquired them
+     */
+    interface Lease {
+
+        List<String> getLockKeys();
+
+        /**
+         * @return false once the backend knows a lock may have passed to another holder before release;
+         *         backends that cannot tell report true
+         */
+        default boolean isHeld() {
+            return true;
+        }
+
+        /**
+         * @return true if every lock was still held and is now released
+         */
+        boolean release();
+    }
+}
@@ -0,0 +1,84 @@
+package com.academy.service;
+
+import com.academy.config.LockBackendProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Routes lock keys to a {@link LockProvider} by key namespace
+ * A key is matched against the configured namespaces from its longest ':'-separated
+ * prefix down, so "student:onboarding:jane@x.io" prefers "student:onboarding" over
+ * "student". Backend names are checked at startup; an unknown name fails the context.
+ */
+@Component
+@Slf4j
+public class LockProviderRegistry {
+
+    private final Map<String, LockProvider> providersByName = new HashMap<>();
+    private final Map<String, LockProvider> providersByNamespace = new HashMap<>();
+    private final LockProvider defaultProvider;
+
+    public LockProviderRegistry(List<LockProvider> providers, LockBackendProperties properties) {
+        for (LockProvider provider : providers) {
+            providersByName.put(provider.getName(), provider);
+        }
+        this.defaultProvider = named(properties.getDefaultBackend(), "default-backend");
+        properties.getNamespaces().forEach((namespace, backend) ->
+            providersByNamespace.put(namespace, named(backend, "namespace '" + namespace + "'")));
+
+        log.info("Lock backends: default={}, namespaces={}", defaultProvider.getName(), properties.getNamespaces());
+    }
+
+    /**
+     * Provider for a single lock key
+     */
+    public LockProvider providerFor(String lockKey) {
+        if (providersByNamespace.isEmpty()) {
+            return defaultProvider;
+        }
+        String prefix = lockKey;
+        while (true) {
+            LockProvider provider = providersByNamespace.get(prefix);
+            if (provider != null) {
+                return provider;
+            }
+            int cut = prefix.lastIndexOf(':');
+            if (cut < 0) {
+                return defaultProvider;
+            }
+            prefix = prefix.substring(0, cut);
+        }
+    }
+
+    /**
+     * Group keys by provider
+     * Groups are ordered by provider name, so a key set that spans backends is always
+     * acquired backend by backend in the same order and cannot deadlock against another.
+     */
+    public Map<LockProvider, List<String>> partition(Collection<String> lockKeys) {
+        TreeMap<String, List<String>> keysByName = new TreeMap<>();
+        for (String lockKey : lockKeys) {
+            keysByName.computeIfAbsent(providerFor(lockKey).getName(), name -> new ArrayList<>()).add(lockKey);
+        }
+        Map<LockProvider, List<String>> partitioned = new LinkedHashMap<>();
+        keysByName.forEach((name, keys) -> partitioned.put(providersByName.get(name), keys));
+        return partitioned;
+    }
+
+    private LockProvider named(String backend, String source) {
+        LockProvider provider = providersByName.get(backend);
+        if (provider == null) {
+            throw new IllegalStateException("Unknown lock backend '" + backend + "' for " + source
+                + "; available: " + providersByName.keySet());
+        }
+        return provider;
+    }
+}
@@ -0,0 +1,136 @@
+package com.academy.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers lock release notifications to local waiters
+ * Lock holders publish on a per-key channel when they release; this node holds a
+ * single pattern subscription and completes the futures of any thread waiting on that key.
+ */
+@Component
+@Slf4j
+public class LockReleaseNotifier implements MessageListener {
+
+    public static final String RELEASE_CHANNEL_PREFIX = "lock:released:";
+
+    private final RedisMessageListenerContainer listenerContainer;
+    // Waiter future -> registration time in nanos, per lock key
+    private final Map<String, Map<CompletableFuture<Void>, Long>> waiters = new ConcurrentHashMap<>();
+
+    // Keys include e-mails and ids, so cap how many distinct keys are tracked at once
+    private final int maxWaitingKeys;
+
+    public LockReleaseNotifier(RedisMessageListenerContainer listenerContainer,
+                               @Value("${academy.lock.notifier.max-waiting-keys:10000}") int maxWaitingKeys) {
+        this.listenerContainer = listenerContainer;
+        this.maxWaitingKeys = maxWaitingKeys;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new PatternTopic(RELEASE_CHANNEL_PREFIX + "*"));
+    }
+
+    /**
+     * Channel a holder publishes on when it releases the given lock
+     */
+    public static String channelFor(String lockKey) {
+        return RELEASE_CHANNEL_PREFIX + lockKey;
+    }
+
+    /**
+     * Register interest in the next release of a lock
+     * Register before attempting acquisition so a release between the attempt and the wait is not missed.
+     * Once {@code max-waiting-keys} distinct keys have waiters, a new key gets a future that
+     * is never registered; its waiter falls back to polling instead of growing the table.
+     *
+     * @param lockKey The key for the lock
+     * @return Future completed when the lock is next released
+     */
+    public CompletableFuture<Void> listen(String lockKey) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (waiters.size() >= maxWaitingKeys && !waiters.containsKey(lockKey)) {
+            log.debug("Waiter table full ({} keys), '{}' will poll", maxWaitingKeys, lockKey);
+            return future;
+        }
+        waiters.compute(lockKey, (k, futures) -> {
+            Map<CompletableFuture<Void>, Long> registered = futures != null ? futures : new ConcurrentHashMap<>();
+            registered.put(future, System.nanoTime());
+            return registered;
+        });
+        return future;
+    }
+
+    /**
+     * Drop a registration that is no longer needed
+     */
+    public void cancel(String lockKey, CompletableFuture<Void> future) {
+        waiters.computeIfPresent(lockKey, (k, futures) -> {
+            futures.remove(future);
+            return futures.isEmpty() ? null : futures;
+        });
+    }
+
+    /**
+     * Wake every local waiter of a lock
+     */
+    public void notifyReleased(String lockKey) {
+        Map<CompletableFuture<Void>, Long> futures = waiters.remove(lockKey);
+        if (futures != null) {
+            futures.keySet().forEach(f -> f.complete(null));
+        }
+    }
+
+    /**
+     * Drop registrations older than {@code age} whose waiter never cancelled them
+     * Each one is completed first, so a waiter that is somehow still parked re-checks the lock.
+     *
+     * @return Number of registrations dropped
+     */
+    public int expireUnusedOlderThan(Duration age) {
+        long cutoff = System.nanoTime() - age.toNanos();
+        int expired = 0;
+        for (String lockKey : waiters.keySet()) {
+            Map<CompletableFuture<Void>, Long> futures = waiters.get(lockKey);
+            if (futures == null) {
+                continue;
+            }
+            for (Map.Entry<CompletableFuture<Void>, Long> entry : futures.entrySet()) {
+                if (entry.getValue() - cutoff < 0) {
+                    entry.getKey().complete(null);
+                    cancel(lockKey, entry.getKey());
+                    expired++;
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Number of keys with at least one local waiter
+     */
+    public int getWaitingKeyCount() {
+        return waiters.size();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String lockKey = channel.substring(RELEASE_CHANNEL_PREFIX.length());
+        log.trace("Release notification received for lock '{}'", lockKey);
+        notifyReleased(lockKey);
+    }
+}
@@ -1,5 +1,8 @@
 package com.academy.service;
 
+import com.academy.annotation.InvalidateTags;
+import com.academy.annotation.VersionedCacheable;
+import com.academy.cache.CacheBulkOperations;
 import com.academy.dto.MentorDTO;
 import com.academy.entity.Mentor;
 import com.academy.exception.MentorNotFoundException;
@@ -13,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,7 +25,9 @@ public class MentorService {
 
     private final MentorRepository mentorRepository;
     private final MentorMapper mentorMapper;
+    private final CacheBulkOperations cacheBulkOperations;
 
+    @VersionedCacheable("mentors")
     @Transactional(readOnly = true)
     public List<MentorDTO> getAllMentors() {
         return mentorRepository.findAll().stream()
@@ -30,13 +36,22 @@ public class MentorService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "mentor", key = "'mentor:' + #id", unless = "#result == null")
+    @Cacheable(value = "mentor", key = "'mentor:' + #id", sync = true)
     public MentorDTO getMentorById(Long id) {
         return mentorMapper.toDTO(fetchOrThrow(id));
     }
 
+    /**
+     * Look up many mentors by id: cache hits in one MGET, all misses in one findAllById
+     * Unknown ids are skipped; the result keeps the order of {@code ids}.
+     */
+    public List<MentorDTO> getMentorsByIds(List<Long> ids) {
+        return cacheBulkOperations.getAll("mentor", "mentor:", ids, missing -> mentorRepository.findAllById(missing)
+            .stream().collect(Collectors.toMap(Mentor::getId, mentorMapper::toDTO)));
+    }
+
     @Transactional
-    @CacheEvict(value = {"mentor", "mentors"}, allEntries = true)
+    @InvalidateTags("mentors")
     public MentorDTO createMentor(MentorDTO request) {
         Mentor persisted = mentorRepository.save(mentorMapper.toEntity(request));
         log.info("Mentor onboarded with id={}", persisted.getId());
@@ -44,7 +59,8 @@ public class MentorService {
     }
 
     @Transactional
-    @CacheEvict(value = {"mentor", "mentors"}, key = "'mentor:' + #id", allEntries = true)
+    @CacheEvict(value = "mentor", key = "'mentor:' + #id")
+    @InvalidateTags("mentors")
     public MentorDTO updateMentor(Long id, MentorDTO request) {
         Mentor mentor = fetchOrThrow(id);
         mentor.setName(request.getName());
@@ -53,7 +69,8 @@ public class MentorService {
     }
 
     @Transactional
-    @CacheEvict(value = {"mentor", "mentors"}, key = "'mentor:' + #id", allEntries = true)
+    @CacheEvict(value = "mentor", key = "'mentor:' + #id")
+    @InvalidateTags("mentors")
     public void deleteMentor(Long id) {
         if (!mentorRepository.existsById(id)) {
             throw new MentorNotFoundException(id);
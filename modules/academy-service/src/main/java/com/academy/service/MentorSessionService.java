@@ -1,5 +1,7 @@
 package com.academy.service;
 
+import com.academy.annotation.InvalidateTags;
+import com.academy.annotation.VersionedCacheable;
 import com.academy.dto.MentorSessionDTO;
 import com.academy.entity.Mentor;
 import com.academy.entity.MentorSession;
@@ -32,6 +34,7 @@ public class MentorSessionService {
     private final MentorSessionMapper sessionMapper;
     private final MentorSessionEventProducer eventProducer;
 
+    @VersionedCacheable("mentorSessions")
     @Transactional(readOnly = true)
     public List<MentorSessionDTO> getAllSessions() {
         return sessionRepository.findAll().stream()
@@ -40,13 +43,13 @@ public class MentorSessionService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "mentorSession", key = "'mentorSession:' + #id", unless = "#result == null")
+    @Cacheable(value = "mentorSession", key = "'mentorSession:' + #id", sync = true)
     public MentorSessionDTO getSessionById(Long id) {
         return sessionMapper.toDTO(fetchOrThrow(id));
     }
 
     @Transactional
-    @CacheEvict(value = {"mentorSession", "mentorSessions"}, allEntries = true)
+    @InvalidateTags("mentorSessions")
     public MentorSessionDTO createSession(MentorSessionDTO request) {
         log.info("Booking session between student {} and mentor {}", request.getStudentId(), request.getMentorId());
 
@@ -68,7 +71,8 @@ public class MentorSessionService {
     }
 
     @Transactional
-    @CacheEvict(value = {"mentorSession", "mentorSessions"}, key = "'mentorSession:' + #id", allEntries = true)
+    @CacheEvict(value = "mentorSession", key = "'mentorSession:' + #id")
+    @InvalidateTags("mentorSessions")
     public MentorSessionDTO updateSession(Long id, MentorSessionDTO request) {
         MentorSession session = fetchOrThrow(id);
 
@@ -91,7 +95,8 @@ public class MentorSessionService {
     }
 
     @Transactional
-    @CacheEvict(value = {"mentorSession", "mentorSessions"}, key = "'mentorSession:' + #id", allEntries = true)
+    @CacheEvict(value = "mentorSession", key = "'mentorSession:' + #id")
+    @InvalidateTags("mentorSessions")
     public void deleteSession(Long id) {
         if (!sessionRepository.existsById(id)) {
             throw new MentorSessionNotFoundException(id);
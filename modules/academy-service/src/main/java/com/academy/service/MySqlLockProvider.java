@@ -0,0 +1,198 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lock backend over MySQL named locks ({@code GET_LOCK} / {@code RELEASE_ALL_LOCKS})
+ * Excludes across nodes without Redis, at the cost of one pooled connection per holder
+ * and per waiter for the whole wait and critical section, since named locks belong to
+ * the session that took them. At most academy.lock.mysql.max-sessions connections are
+ * pinned at once, kept below the pool size so a holder's own transaction still gets a
+ * connection; further callers queue for a session within their wait timeout. Named locks
+ * are always exclusive and have no TTL: they are held until release, or until the server
+ * drops the session of a crashed node.
+ */
+@Component
+@Slf4j
+public class MySqlLockProvider implements LockProvider {
+
+    public static final String NAME = "mysql";
+
+    // MySQL rejects lock names longer than 64 characters
+    private static final int MAX_LOCK_NAME_LENGTH = 64;
+    private static final String LOCK_NAME_PREFIX = "academy:";
+
+    private final DataSource dataSource;
+    private final Semaphore sessions;
+
+    public MySqlLockProvider(DataSource dataSource,
+                             @Value("${academy.lock.mysql.max-sessions:4}") int maxSessions) {
+        this.dataSource = dataSource;
+        this.sessions = new Semaphore(maxSessions, true);
+        if (dataSource instanceof HikariDataSource pool && maxSessions >= pool.getMaximumPoolSize()) {
+            log.warn("academy.lock.mysql.max-sessions ({}) is not below the connection pool size ({}); "
+                + "lock holders may starve their own transactions", maxSessions, pool.getMaximumPoolSize());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Keys are taken one GET_LOCK at a time in sorted order within a shared wait budget,
+     * so overlapping key sets cannot deadlock. GET_LOCK blocks server-side, so
+     * {@code maxRetries} does not apply, and SHARED is taken as exclusive.
+     */
+    @Override
+    public Lease acquire(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, int maxRetries,
+                         Duration waitTimeout) {
+        List<String> keys = List.copyOf(new TreeSet<>(lockKeys));
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        if (!awaitSession(waitTimeout)) {
+            log.debug("No MySQL lock session free within {}ms for {}", waitTimeout.toMillis(), keys);
+            return null;
+        }
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            try (PreparedStatement getLock = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+                for (String key : keys) {
+                    long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                    getLock.setString(1, lockNameFor(key));
+                    // GET_LOCK waits in whole seconds; round up so short waits still block
+                    getLock.setLong(2, (remainingMs + 999) / 1000);
+                    if (!granted(getLock)) {
+                        log.debug("MySQL named lock '{}' not granted within {}ms", key, waitTimeout.toMillis());
+                        releaseAll(connection);
+                        connection.close();
+                        sessions.release();
+                        return null;
+                    }
+                }
+            }
+            return new NamedLockLease(keys, connection);
+        } catch (SQLException ex) {
+            log.error("Error acquiring MySQL named locks {}: {}", keys, ex.getMessage());
+            closeQuietly(connection);
+            sessions.release();
+            return null;
+        }
+    }
+
+    private boolean awaitSession(Duration waitTimeout) {
+        try {
+            return sessions.tryAcquire(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Lock name for a key, hashed when the key is too long for MySQL
+     */
+    static String lockNameFor(String lockKey) {
+        String name = LOCK_NAME_PREFIX + lockKey;
+        if (name.length() <= MAX_LOCK_NAME_LENGTH) {
+            return name;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(lockKey.getBytes(StandardCharsets.UTF_8));
+            return LOCK_NAME_PREFIX + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-1 not available", ex);
+        }
+    }
+
+    private static boolean granted(PreparedStatement getLock) throws SQLException {
+        try (ResultSet rs = getLock.executeQuery()) {
+            // 1 granted, 0 timed out, NULL on error (e.g. the session was killed)
+            return rs.next() && rs.getInt(1) == 1;
+        }
+    }
+
+    /**
+     * Release every named lock of the session in one round-trip
+     *
+     * @return Number of locks released
+     */
+    private static int releaseAll(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_ALL_LOCKS()");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            // Closing a pooled connection does not end the session, so drop its locks first
+            releaseAll(connection);
+        } catch (SQLException ex) {
+            log.warn("Could not release MySQL named locks before returning connection: {}", ex.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.warn("Error closing MySQL lock connection: {}", ex.getMessage());
+        }
+    }
+
+    private final class NamedLockLease implements Lease {
+
+        private final List<String> lockKeys;
+        private final Connection connection;
+
+        private NamedLockLease(List<String> lockKeys, Connection connection) {
+            this.lockKeys = lockKeys;
+            this.connection = connection;
+        }
+
+        @Override
+        public List<String> getLockKeys() {
+            return lockKeys;
+        }
+
+        @Override
+        public boolean release() {
+            try {
+                int released = releaseAll(connection);
+                connection.close();
+                if (released != lockKeys.size()) {
+                    log.warn("Released {} of {} MySQL named locks {}", released, lockKeys.size(), lockKeys);
+                }
+                return released == lockKeys.size();
+            } catch (SQLException ex) {
+                log.error("Error releasing MySQL named locks {}: {}", lockKeys, ex.getMessage());
+                closeQuietly(connection);
+                return false;
+            } finally {
+                sessions.release();
+            }
+        }
+    }
+}
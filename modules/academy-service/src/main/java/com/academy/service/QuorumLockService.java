@@ -0,0 +1,266 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import com.academy.config.LockNodesProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Locks over several independent Redis nodes (academy.lock.nodes)
+ * Two modes, both using the same lease scripts as {@link DistributedLockService}:
+ * <ul>
+ *   <li>Quorum: the keys are written to every node in parallel and the lock is held once a
+ *       majority granted it before its lease, less clock drift, ran out. It survives the loss
+ *       of a minority of nodes. Refused rounds are rolled back on every node and retried
+ *       after a random delay, so competing clients do not keep splitting the vote.</li>
+ *   <li>Sharded: each key lives on one node picked by consistent hashing, so lock throughput
+ *       grows with the number of nodes. A node outage makes its share of keys unavailable.</li>
+ * </ul>
+ * Leases on these nodes are written for the full hold timeout rather than renewed by the
+ * {@link LeaseWatchdog}: a holder that crashes keeps its keys until the timeout passes.
+ */
+@Service
+@Slf4j
+public class QuorumLockService {
+
+    private static final String ACQUIRE_SCRIPT = "lease-acquire";
+    private static final String RELEASE_SCRIPT = "lease-release";
+
+    // Base of the randomised delay between refused rounds
+    private static final long RETRY_DELAY_MS = 20;
+    // Added to the drift allowance for the granularity of Redis expiries
+    private static final long EXPIRY_PRECISION_MS = 2;
+
+    private final RedisLockNodes lockNodes;
+    private final LockMetrics lockMetrics;
+    private final double clockDriftFactor;
+
+    public QuorumLockService(RedisLockNodes lockNodes, LockMetrics lockMetrics, LockNodesProperties properties) {
+        this.lockNodes = lockNodes;
+        this.lockMetrics = lockMetrics;
+        this.clockDriftFactor = properties.getClockDriftFactor();
+    }
+
+    /**
+     * Acquire keys on a majority of the lock nodes
+     *
+     * @param lockKeys    Keys to lock, all or nothing
+     * @param mode        Shared or exclusive
+     * @param holdTimeout Lease written on each node; the lock is valid for less, see {@link NodeLock#getValidUntil()}
+     * @param waitTimeout Maximum time to keep retrying refused rounds
+     * @return The held lock, or null if no round reached a quorum in time
+     */
+    public NodeLock acquireQuorum(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, Duration waitTimeout) {
+        lockNodes.requireNodes();
+        List<String> keys = List.copyOf(new TreeSet<>(lockKeys));
+        List<String> redisKeys = redisKeysFor(keys);
+        String token = tokenFor(mode);
+        String pattern = LockMetrics.patternOf(keys);
+        long driftMs = (long) (holdTimeout.toMillis() * clockDriftFactor) + EXPIRY_PRECISION_MS;
+        long startedAt = System.currentTimeMillis();
+        long deadline = startedAt + waitTimeout.toMillis();
+
+        while (true) {
+            long roundStartedAt = System.currentTimeMillis();
+            List<CompletableFuture<Boolean>> votes = lockNodes.getNodes().stream()
+                .map(node -> tryAcquire(node, redisKeys, token, holdTimeout, mode))
+                .toList();
+            long granted = votes.stream().filter(CompletableFuture::join).count();
+            long validUntil = roundStartedAt + holdTimeout.toMillis() - driftMs;
+            long now = System.currentTimeMillis();
+
+            if (granted >= lockNodes.quorum() && validUntil > now) {
+                log.debug("Quorum lock acquired: {} {} on {}/{} nodes", mode, keys, granted, lockNodes.getNodes().size());
+                lockMetrics.recordWait("quorum", pattern, "acquired", Duration.ofMillis(now - startedAt));
+                Map<RedisLockNodes.Node, List<String>> everyNode = new LinkedHashMap<>();
+                lockNodes.getNodes().forEach(node -> everyNode.put(node, redisKeys));
+                return new NodeLock(keys, token, everyNode, lockNodes.quorum(), validUntil, "quorum", pattern);
+            }
+
+            // Roll back everywhere, including nodes whose grant reply may have been lost
+            releaseOn(lockNodes.getNodes().stream().map(node -> Map.entry(node, redisKeys)).toList(), token);
+            if (!awaitNextRound(keys, pattern, startedAt, deadline, "quorum")) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Acquire keys each on the node it is sharded to
+     * Nodes are visited in a fixed order and a refusal rolls back the nodes already granted,
+     * so overlapping key sets cannot deadlock.
+     *
+     * @return The held lock, or null if the keys could not all be acquired in time
+     */
+    public NodeLock acquireSharded(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, Duration waitTimeout) {
+        lockNodes.requireNodes();
+        List<String> keys = List.copyOf(new TreeSet<>(lockKeys));
+        Map<String, Map.Entry<RedisLockNodes.Node, List<String>>> shards = new TreeMap<>();
+        for (String key : keys) {
+            RedisLockNodes.Node node = lockNodes.nodeFor(key);
+            shards.computeIfAbsent(node.getEndpoint(), endpoint -> Map.entry(node, new ArrayList<>()))
+                .getValue().add(DistributedLockService.LOCK_PREFIX + key);
+        }
+        String token = tokenFor(mode);
+        String pattern = LockMetrics.patternOf(keys);
+        long startedAt = System.currentTimeMillis();
+        long deadline = startedAt + waitTimeout.toMillis();
+
+        while (true) {
+            List<Map.Entry<RedisLockNodes.Node, List<String>>> granted = new ArrayList<>();
+            for (Map.Entry<RedisLockNodes.Node, List<String>> shard : shards.values()) {
+                if (!tryAcquire(shard.getKey(), shard.getValue(), token, holdTimeout, mode).join()) {
+                    break;
+                }
+                granted.add(shard);
+            }
+            if (granted.size() == shards.size()) {
+                log.debug("Sharded lock acquired: {} {} on {} node(s)", mode, keys, shards.size());
+                lockMetrics.recordWait("sharded", pattern, "acquired",
+                    Duration.ofMillis(System.currentTimeMillis() - startedAt));
+                Map<RedisLockNodes.Node, List<String>> byNode = new LinkedHashMap<>();
+                granted.forEach(shard -> byNode.put(shard.getKey(), shard.getValue()));
+                return new NodeLock(keys, token, byNode, byNode.size(),
+                    startedAt + holdTimeout.toMillis(), "sharded", pattern);
+            }
+
+            releaseOn(granted, token);
+            if (!awaitNextRound(keys, pattern, startedAt, deadline, "sharded")) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Release a lock on every node it was written to
+     *
+     * @return true if enough nodes still held it (a majority for quorum locks, all for sharded ones)
+     */
+    public boolean release(NodeLock lock) {
+        if (lock == null) {
+            return false;
+        }
+        lockMetrics.recordHold(lock.lockType, lock.pattern, Duration.ofNanos(System.nanoTime() - lock.acquiredAtNanos));
+        long confirmed = releaseOn(new ArrayList<>(lock.redisKeysByNode.entrySet()), lock.token);
+        if (confirmed >= lock.requiredNodes) {
+            return true;
+        }
+        log.warn("{} lock {} released on only {} node(s), needed {}", lock.lockType, lock.keys, confirmed,
+            lock.requiredNodes);
+        lockMetrics.recordFailure(lock.lockType, lock.pattern);
+        return false;
+    }
+
+    private CompletableFuture<Boolean> tryAcquire(RedisLockNodes.Node node, List<String> redisKeys, String token,
+                                                  Duration holdTimeout, LockMode mode) {
+        List<String> scriptKeys = new ArrayList<>(redisKeys);
+        redisKeys.forEach(redisKey -> scriptKeys.add(redisKey + DistributedLockService.WRITER_WAITING_SUFFIX));
+        return node.getScripts()
+            .executeForLongAsync(ACQUIRE_SCRIPT, scriptKeys, token, String.valueOf(holdTimeout.toMillis()), mode.name())
+            .thenApply(acquired -> acquired != null && acquired == 1)
+            .exceptionally(ex -> {
+                // An unreachable node counts as a refusal; the others can still form a quorum
+                log.debug("Lock node {} did not answer: {}", node, ex.getMessage());
+                return false;
+            });
+    }
+
+    /**
+     * Run the release script on each node in parallel
+     *
+     * @return Number of nodes on which every key was still held
+     */
+    private long releaseOn(List<Map.Entry<RedisLockNodes.Node, List<String>>> shards, String token) {
+        List<CompletableFuture<Boolean>> released = shards.stream()
+            .map(shard -> shard.getKey().getScripts()
+                .executeForLongAsync(RELEASE_SCRIPT, shard.getValue(), token, LockReleaseNotifier.RELEASE_CHANNEL_PREFIX)
+                .thenApply(count -> count != null && count == shard.getValue().size())
+                .exceptionally(ex -> {
+                    log.warn("Could not release lock on node {}: {}", shard.getKey(), ex.getMessage());
+                    return false;
+                }))
+            .toList();
+        return released.stream().filter(CompletableFuture::join).count();
+    }
+
+    /**
+     * Sleep a random delay before the next round, or record the timeout
+     *
+     * @return false if the wait deadline has passed or the thread was interrupted
+     */
+    private boolean awaitNextRound(List<String> keys, String pattern, long startedAt, long deadline, String lockType) {
+        long remainingMs = deadline - System.currentTimeMillis();
+        if (remainingMs <= 0) {
+            log.warn("{} lock wait timeout exceeded for {}", lockType, keys);
+            lockMetrics.recordWait(lockType, pattern, "timeout", Duration.ofMillis(System.currentTimeMillis() - startedAt));
+            lockMetrics.recordTimeout(lockType, pattern);
+            return false;
+        }
+        lockMetrics.recordRetry(lockType, pattern);
+        try {
+            Thread.sleep(Math.min(remainingMs, ThreadLocalRandom.current().nextLong(RETRY_DELAY_MS, RETRY_DELAY_MS * 3)));
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for {} lock {}", lockType, keys);
+            lockMetrics.recordFailure(lockType, pattern);
+            return false;
+        }
+    }
+
+    private static List<String> redisKeysFor(List<String> keys) {
+        return keys.stream().map(key -> DistributedLockService.LOCK_PREFIX + key).toList();
+    }
+
+    private static String tokenFor(LockMode mode) {
+        return (mode == LockMode.EXCLUSIVE ? "w:" : "r:") + UUID.randomUUID();
+    }
+
+    /**
+     * Lock held on one or more of the lock nodes
+     */
+    public static final class NodeLock {
+        final List<String> keys;
+        final String token;
+        final Map<RedisLockNodes.Node, List<String>> redisKeysByNode;
+        final int requiredNodes;
+        final long validUntil;
+        final String lockType;
+        final String pattern;
+        final long acquiredAtNanos = System.nanoTime();
+
+        NodeLock(List<String> keys, String token, Map<RedisLockNodes.Node, List<String>> redisKeysByNode,
+                 int requiredNodes, long validUntil, String lockType, String pattern) {
+            this.keys = keys;
+            this.token = token;
+            this.redisKeysByNode = redisKeysByNode;
+            this.requiredNodes = requiredNodes;
+            this.validUntil = validUntil;
+            this.lockType = lockType;
+            this.pattern = pattern;
+        }
+
+        public List<String> getLockKeys() { return keys; }
+
+        /**
+         * Epoch millis after which the lock may already have been granted to someone else
+         */
+        public long getValidUntil() { return validUntil; }
+
+        public boolean isValid() {
+            return System.currentTimeMillis() < validUntil;
+        }
+    }
+}
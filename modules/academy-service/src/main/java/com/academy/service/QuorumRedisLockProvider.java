@@ -0,0 +1,64 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lock backend granting keys on a majority of the independent academy.lock.nodes
+ * Survives the loss of a minority of nodes. Refused rounds are retried until the wait
+ * timeout, so {@code maxRetries} does not apply.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuorumRedisLockProvider implements LockProvider {
+
+    public static final String NAME = "redis-quorum";
+
+    private final QuorumLockService quorumLockService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Lease acquire(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, int maxRetries,
+                         Duration waitTimeout) {
+        QuorumLockService.NodeLock lock = quorumLockService.acquireQuorum(lockKeys, mode, holdTimeout, waitTimeout);
+        return lock != null ? new NodeLockLease(quorumLockService, lock) : null;
+    }
+
+    static final class NodeLockLease implements Lease {
+
+        private final QuorumLockService quorumLockService;
+        private final QuorumLockService.NodeLock lock;
+
+        NodeLockLease(QuorumLockService quorumLockService, QuorumLockService.NodeLock lock) {
+            this.quorumLockService = quorumLockService;
+            this.lock = lock;
+        }
+
+        @Override
+        public List<String> getLockKeys() {
+            return lock.getLockKeys();
+        }
+
+        /**
+         * The node leases are not renewed, so the lock counts as held only until its validity ends
+         */
+        @Override
+        public boolean isHeld() {
+            return lock.isValid();
+        }
+
+        @Override
+        public boolean release() {
+            return quorumLockService.release(lock);
+        }
+    }
+}
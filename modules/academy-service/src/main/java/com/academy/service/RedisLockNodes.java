@@ -0,0 +1,131 @@
+package com.academy.service;
+
+import com.academy.config.LockNodesProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connections to the independent Redis nodes of academy.lock.nodes
+ * Each node gets its own Lettuce connection and script library. Keys are sharded over
+ * the nodes with a {@link ConsistentHashRing}; quorum locks write to all of them.
+ * With no endpoints configured this holds no connections and the quorum and sharded
+ * backends refuse to acquire.
+ */
+@Component
+@Slf4j
+public class RedisLockNodes {
+
+    private final LockNodesProperties properties;
+    private final List<Node> nodes = new ArrayList<>();
+    private ConsistentHashRing<Node> ring;
+
+    public RedisLockNodes(LockNodesProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void connect() throws IOException {
+        Map<String, Node> byEndpoint = new LinkedHashMap<>();
+        for (String endpoint : properties.getEndpoints()) {
+            if (endpoint.isBlank()) {
+                continue;
+            }
+            Node node = connectTo(endpoint.trim());
+            nodes.add(node);
+            byEndpoint.put(node.getEndpoint(), node);
+        }
+        ring = new ConsistentHashRing<>(byEndpoint, properties.getVirtualNodes());
+        if (!nodes.isEmpty()) {
+            log.info("Lock nodes: {} (quorum {})", byEndpoint.keySet(), quorum());
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        nodes.forEach(node -> node.connectionFactory.destroy());
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Node a key is sharded to
+     */
+    public Node nodeFor(String lockKey) {
+        requireNodes();
+        return ring.nodeFor(lockKey);
+    }
+
+    /**
+     * Nodes that must grant a quorum lock: a strict majority
+     */
+    public int quorum() {
+        return nodes.size() / 2 + 1;
+    }
+
+    void requireNodes() {
+        if (nodes.isEmpty()) {
+            throw new IllegalStateException("No lock nodes configured under academy.lock.nodes.endpoints");
+        }
+    }
+
+    private Node connectTo(String endpoint) throws IOException {
+        int colon = endpoint.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Lock node endpoint must be host:port, got '" + endpoint + "'");
+        }
+        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(
+            endpoint.substring(0, colon), Integer.parseInt(endpoint.substring(colon + 1)));
+        if (!properties.getPassword().isEmpty()) {
+            config.setPassword(properties.getPassword());
+        }
+        LettuceClientConfiguration client = LettuceClientConfiguration.builder()
+            .commandTimeout(Duration.ofMillis(properties.getCommandTimeoutMs()))
+            .build();
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(config, client);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisScriptLibrary scripts = new RedisScriptLibrary(new StringRedisTemplate(connectionFactory));
+        scripts.readScripts();
+        return new Node(endpoint, connectionFactory, scripts);
+    }
+
+    /**
+     * One independent Redis node
+     */
+    public static final class Node {
+        private final String endpoint;
+        private final LettuceConnectionFactory connectionFactory;
+        private final RedisScriptLibrary scripts;
+
+        Node(String endpoint, LettuceConnectionFactory connectionFactory, RedisScriptLibrary scripts) {
+            this.endpoint = endpoint;
+            this.connectionFactory = connectionFactory;
+            this.scripts = scripts;
+        }
+
+        public String getEndpoint() { return endpoint; }
+
+        RedisScriptLibrary getScripts() { return scripts; }
+
+        @Override
+        public String toString() {
+            return endpoint;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lock backend over the Redis leases of {@link DistributedLockService}
+ * Excludes across nodes, supports shared mode, and renews leases until release.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisLockProvider implements LockProvider {
+
+    public static final String NAME = "redis";
+
+    private final DistributedLockService lockService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Lease acquire(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, int maxRetries,
+                         Duration waitTimeout) {
+        DistributedLockService.LockHandle handle =
+            lockService.acquireLocksWithRetry(lockKeys, mode, holdTimeout, maxRetries, waitTimeout);
+        return handle != null ? new HandleLease(handle) : null;
+    }
+
+    private final class HandleLease implements Lease {
+
+        private final DistributedLockService.LockHandle handle;
+
+        private HandleLease(DistributedLockService.LockHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public List<String> getLockKeys() {
+            return handle.lockKeys;
+        }
+
+        @Override
+        public boolean isHeld() {
+            return handle.isHeld();
+        }
+
+        @Override
+        public boolean release() {
+            return lockService.releaseLock(handle);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.academy.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Library of Lua scripts shared by the lock services
+ * Scripts live under {@code classpath:scripts/*.lua} and are referenced by file name.
+ * Each one is sent to Redis once with SCRIPT LOAD and afterwards invoked by SHA,
+ * so a call costs one EVALSHA round-trip with only the keys and arguments on the wire.
+ * If Redis forgets the script (restart, SCRIPT FLUSH) it is reloaded and retried once.
+ * The async variants run on Lettuce's reactive connection and hold no thread while waiting.
+ */
+@Component
+@Slf4j
+public class RedisScriptLibrary {
+
+    private static final String SCRIPT_LOCATION = "classpath*:scripts/*.lua";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ReactiveStringRedisTemplate reactiveTemplate;
+    private final Map<String, byte[]> sources = new ConcurrentHashMap<>();
+    private final Map<String, String> shas = new ConcurrentHashMap<>();
+
+    public RedisScriptLibrary(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.reactiveTemplate = redisTemplate.getConnectionFactory() instanceof ReactiveRedisConnectionFactory reactive
+            ? new ReactiveStringRedisTemplate(reactive)
+            : null;
+    }
+
+    @PostConstruct
+    void readScripts() throws IOException {
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(SCRIPT_LOCATION)) {
+            String filename = resource.getFilename();
+            if (filename == null) {
+                continue;
+            }
+            sources.put(filename.substring(0, filename.length() - ".lua".length()),
+                resource.getContentAsByteArray());
+        }
+        log.debug("Redis script library read {} scripts", sources.size());
+    }
+
+    /**
+     * Run a script expected to return an integer
+     */
+    public Long executeForLong(String name, List<String> keys, String... args) {
+        return execute(name, ReturnType.INTEGER, keys, args);
+    }
+
+    /**
+     * Run a script expected to return an array
+     */
+    public List<Object> executeForList(String name, List<String> keys, String... args) {
+        return execute(name, ReturnType.MULTI, keys, args);
+    }
+
+    /**
+     * Run a script expected to return an integer without blocking the caller
+     */
+    public CompletableFuture<Long> executeForLongAsync(String name, List<String> keys, String... args) {
+        if (reactiveTemplate == null) {
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("Redis connection factory does not support reactive commands"));
+        }
+        return this.<Long>evalShaReactive(name, ReturnType.INTEGER, keys, args)
+            .onErrorResume(RedisScriptLibrary::isNoScript, ex -> {
+                log.info("Redis no longer has script '{}', reloading", name);
+                shas.remove(name);
+                return evalShaReactive(name, ReturnType.INTEGER, keys, args);
+            })
+            .toFuture();
+    }
+
+    /**
+     * Number of scripts currently loaded into Redis
+     */
+    public int getLoadedScriptCount() {
+        return shas.size();
+    }
+
+    private <T> T execute(String name, ReturnType returnType, List<String> keys, String... args) {
+        byte[][] keysAndArgs = new byte[keys.size() + args.length][];
+        for (int i = 0; i < keys.size(); i++) {
+            keysAndArgs[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < args.length; i++) {
+            keysAndArgs[keys.size() + i] = args[i].getBytes(StandardCharsets.UTF_8);
+        }
+
+        String sha = shas.computeIfAbsent(name, this::load);
+        try {
+            return evalSha(sha, returnType, keys.size(), keysAndArgs);
+        } catch (RuntimeException ex) {
+            if (!isNoScript(ex)) {
+                throw ex;
+            }
+            log.info("Redis no longer has script '{}', reloading", name);
+            shas.remove(name, sha);
+            return evalSha(shas.computeIfAbsent(name, this::load), returnType, keys.size(), keysAndArgs);
+        }
+    }
+
+    private <T> T evalSha(String sha, ReturnType returnType, int numKeys, byte[][] keysAndArgs) {
+        return redisTemplate.execute((RedisCallback<T>) connection ->
+            connection.scriptingCommands().evalSha(sha, returnType, numKeys, keysAndArgs));
+    }
+
+    private <T> Mono<T> evalShaReactive(String name, ReturnType returnType, List<String> keys, String... args) {
+        ByteBuffer[] keysAndArgs = new ByteBuffer[keys.size() + args.length];
+        for (int i = 0; i < keys.size(); i++) {
+            keysAndArgs[i] = ByteBuffer.wrap(keys.get(i).getBytes(StandardCharsets.UTF_8));
+        }
+        for (int i = 0; i < args.length; i++) {
+            keysAndArgs[keys.size() + i] = ByteBuffer.wrap(args[i].getBytes(StandardCharsets.UTF_8));
+        }
+        return loadReactive(name).flatMap(sha -> reactiveTemplate.execute(connection ->
+            connection.scriptingCommands().<T>evalSha(sha, returnType, keys.size(), keysAndArgs)).next());
+    }
+
+    private Mono<String> loadReactive(String name) {
+        String sha = shas.get(name);
+        if (sha != null) {
+            return Mono.just(sha);
+        }
+        byte[] source = sources.get(name);
+        if (source == null) {
+            return Mono.error(new IllegalArgumentException("Unknown Redis script: " + name));
+        }
+        return reactiveTemplate.execute(connection -> connection.scriptingCommands().scriptLoad(ByteBuffer.wrap(source)))
+            .next()
+            .doOnNext(loaded -> shas.put(name, loaded));
+    }
+
+    private String load(String name) {
+        byte[] source = sources.get(name);
+        if (source == null) {
+            throw new IllegalArgumentException("Unknown Redis script: " + name);
+        }
+        String sha = redisTemplate.execute((RedisCallback<String>) connection ->
+            connection.scriptingCommands().scriptLoad(source));
+        log.debug("Loaded Redis script '{}' as {}", name, sha);
+        return sha;
+    }
+
+    private static boolean isNoScript(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Lock backend spreading keys over the academy.lock.nodes by consistent hashing
+ * Each key is held on a single node, so lock throughput scales with the node count.
+ * Refusals are retried until the wait timeout, so {@code maxRetries} does not apply.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardedRedisLockProvider implements LockProvider {
+
+    public static final String NAME = "redis-sharded";
+
+    private final QuorumLockService quorumLockService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Lease acquire(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, int maxRetries,
+                         Duration waitTimeout) {
+        QuorumLockService.NodeLock lock = quorumLockService.acquireSharded(lockKeys, mode, holdTimeout, waitTimeout);
+        return lock != null ? new QuorumRedisLockProvider.NodeLockLease(quorumLockService, lock) : null;
+    }
+}
@@ -1,6 +1,10 @@
 package com.academy.service;
 
+import com.academy.annotation.InvalidateTags;
+import com.academy.annotation.LockMode;
+import com.academy.annotation.VersionedCacheable;
 import com.academy.annotation.WithLock;
+import com.academy.cache.CacheBulkOperations;
 import com.academy.dto.StudentDTO;
 import com.academy.entity.Batch;
 import com.academy.entity.Student;
@@ -15,12 +19,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,7 +39,11 @@ public class StudentService {
     private final MentorSessionRepository mentorSessionRepository;
     private final StudentMapper studentMapper;
     private final StudentEventProducer eventProducer;
+    private final CacheBulkOperations cacheBulkOperations;
 
+    @VersionedCacheable("students")
+    @WithLock(key = "#{#batchId != null ? 'batch:' + #batchId : ''}", mode = LockMode.SHARED,
+        timeout = 30, maxRetries = 3, waitTimeout = 10)
     @Transactional(readOnly = true)
     public List<StudentDTO> getAllStudents(Long batchId) {
         var records = (batchId != null)
@@ -41,20 +52,30 @@ public class StudentService {
         return records.stream().map(studentMapper::toDTO).toList();
     }
 
+    @VersionedCacheable("students")
     @Transactional(readOnly = true)
     public Page<StudentDTO> getAllStudents(Pageable pageable) {
         return studentRepository.findAll(pageable).map(studentMapper::toDTO);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "student", key = "'student:' + #id", unless = "#result == null")
+    @Cacheable(value = "student", key = "'student:' + #id", sync = true)
     public StudentDTO getStudentById(Long id) {
         return studentMapper.toDTO(fetchStudentOrThrow(id));
     }
 
+    /**
+     * Look up many students by id: cache hits in one MGET, all misses in one findAllById
+     * Unknown ids are skipped; the result keeps the order of {@code ids}.
+     */
+    public List<StudentDTO> getStudentsByIds(List<Long> ids) {
+        return cacheBulkOperations.getAll("student", "student:", ids, missing -> studentRepository.findAllById(missing)
+            .stream().collect(Collectors.toMap(Student::getId, studentMapper::toDTO)));
+    }
+
     @WithLock(key = "student:onboarding:#{#request.email}", timeout = 30, maxRetries = 3, waitTimeout = 10)
     @Transactional
-    @CacheEvict(value = {"student", "students"}, allEntries = true)
+    @InvalidateTags("students")
     public StudentDTO createStudent(StudentDTO request) {
         log.info("Registering new student with email: {}", request.getEmail());
 
@@ -72,9 +93,43 @@ public class StudentService {
         return studentMapper.toDTO(persisted);
     }
 
-    @WithLock(key = "student:update:#{#id}", timeout = 30, maxRetries = 3, waitTimeout = 10)
+    /**
+     * Register a student without taking the onboarding lock
+     * Inserts straight away and relies on the unique index on students.email to reject a
+     * duplicate, so a create costs one INSERT instead of two Redis round-trips and a SELECT.
+     * A concurrent registration of the same e-mail fails with the same conflict as {@link #createStudent}.
+     */
+    @Transactional
+    @InvalidateTags("students")
+    public StudentDTO createStudentLockless(StudentDTO request) {
+        log.info("Registering new student with email: {}", request.getEmail());
+
+        Student newStudent = studentMapper.toEntity(request);
+        assignBatchIfPresent(newStudent, request.getBatchId());
+
+        Student persisted;
+        try {
+            // Flush now so a duplicate surfaces here rather than at commit
+            persisted = studentRepository.saveAndFlush(newStudent);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraintViolations.isDuplicateKey(ex)) {
+                throw new IllegalStateException("A student with email " + request.getEmail() + " already exists", ex);
+            }
+            throw ex;
+        }
+        log.info("Student registered successfully, assigned id: {}", persisted.getId());
+        eventProducer.publishStudentRegisteredEvent(persisted);
+
+        return studentMapper.toDTO(persisted);
+    }
+
+    @WithLock(
+        keys = {"student:update:#{#id}", "#{#request.batchId != null ? 'batch:' + #request.batchId : ''}"},
+        timeout = 30, maxRetries = 3, waitTimeout = 10
+    )
     @Transactional
-    @CacheEvict(value = {"student", "students"}, key = "'student:' + #id", allEntries = true)
+    @CacheEvict(value = "student", key = "'student:' + #id")
+    @InvalidateTags("students")
     public StudentDTO updateStudent(Long id, StudentDTO request) {
         Student existing = studentRepository.findByIdWithLock(id)
             .orElseThrow(() -> new StudentNotFoundException(id));
@@ -91,7 +146,12 @@ public class StudentService {
     }
 
     @Transactional
-    @CacheEvict(value = {"student", "students", "mentorSession", "mentorSessions"}, key = "'student:' + #id", allEntries = true)
+    @Caching(evict = {
+        @CacheEvict(value = "student", key = "'student:' + #id"),
+        // Sessions removed with the student are not known up front, so their entries are dropped by SCAN
+        @CacheEvict(value = "mentorSession", allEntries = true)
+    })
+    @InvalidateTags({"students", "mentorSessions"})
     public void deleteStudent(Long id) {
         fetchStudentOrThrow(id);
 
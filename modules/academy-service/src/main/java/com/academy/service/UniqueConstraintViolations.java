@@ -0,0 +1,36 @@
+package com.academy.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+
+/**
+ * Tells unique-key violations apart from other integrity failures
+ * The lockless create paths insert first and let the database reject duplicates, but a
+ * DataIntegrityViolationException also covers NOT NULL and foreign key failures, which
+ * must not be reported as "already exists".
+ */
+final class UniqueConstraintViolations {
+
+    // MySQL ER_DUP_ENTRY
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    // SQL standard unique_violation, used by H2 and PostgreSQL
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+
+    private UniqueConstraintViolations() {
+    }
+
+    static boolean isDuplicateKey(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql
+                && (sql.getErrorCode() == MYSQL_DUPLICATE_ENTRY || UNIQUE_VIOLATION_STATE.equals(sql.getSQLState()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
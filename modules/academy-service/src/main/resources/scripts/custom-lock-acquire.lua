@@ -0,0 +1,9 @@
+-- Acquire a CustomLockService lock together with its owner key
+-- KEYS[1] lock key, KEYS[2] owner key
+-- ARGV[1] owner id, ARGV[2] lock TTL in seconds
+-- Returns 1 if acquired, 0 if the lock is held by someone else
+if redis.call('set', KEYS[1], ARGV[1], 'EX', ARGV[2], 'NX') then
+  redis.call('set', KEYS[2], ARGV[1], 'EX', ARGV[2])
+  return 1
+end
+return 0
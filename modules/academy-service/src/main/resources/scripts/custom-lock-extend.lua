@@ -0,0 +1,10 @@
+-- Extend a CustomLockService lock and its owner key if still owned
+-- KEYS[1] lock key, KEYS[2] owner key
+-- ARGV[1] owner id, ARGV[2] new TTL in seconds
+-- Returns 1 if extended, 0 on ownership mismatch or expiry
+if redis.call('get', KEYS[1]) == ARGV[1] then
+  redis.call('expire', KEYS[1], ARGV[2])
+  redis.call('expire', KEYS[2], ARGV[2])
+  return 1
+end
+return 0
@@ -0,0 +1,10 @@
+-- Release a CustomLockService lock if still owned, and notify waiters
+-- KEYS[1] lock key, KEYS[2] owner key
+-- ARGV[1] owner id, ARGV[2] release notification channel
+-- Returns 1 if released, 0 on ownership mismatch or expiry
+if redis.call('get', KEYS[1]) == ARGV[1] then
+  redis.call('del', KEYS[1], KEYS[2])
+  redis.call('publish', ARGV[2], ARGV[1])
+  return 1
+end
+return 0
@@ -0,0 +1,116 @@
+-- Record that an owner waits on some locks and look for a wait-for cycle through it
+-- Owners are threads; a holder token "w:<owner>/<id>" or "r:<owner>/<id>" names its owner.
+-- An edge runs from a waiting owner to every live holder of a key it waits on. Only owners that
+-- already hold locks call this, since an owner holding nothing cannot be part of a cycle.
+-- On a cycle the youngest waiter (latest wait start) is the victim: if that is the caller it is
+-- told to abort; otherwise the victim is marked and woken through its keys' release channels,
+-- and aborts on its next check. The walk reads lock hashes of keys found along the way, which
+-- are not declared in KEYS, so this script needs a standalone Redis (no cluster slot routing).
+-- KEYS[1] wait-for hash (owner -> JSON {expires, started, keys}), KEYS[2] victims hash (owner -> expiry ms),
+-- KEYS[3..] lock keys the caller waits on
+-- ARGV[1] caller owner, ARGV[2] time the caller started waiting in ms, ARGV[3] entry TTL in ms,
+-- ARGV[4] release channel prefix
+-- Returns 1 if the caller must abort, 0 otherwise
+local waits, victims = KEYS[1], KEYS[2]
+local owner = ARGV[1]
+local started = tonumber(ARGV[2])
+local ttl = tonumber(ARGV[3])
+local clock = redis.call('time')
+local now = tonumber(clock[1]) * 1000 + math.floor(tonumber(clock[2]) / 1000)
+
+-- Picked as the victim by another owner's check
+local marked = redis.call('hget', victims, owner)
+if marked then
+  redis.call('hdel', victims, owner)
+  if tonumber(marked) > now then
+    redis.call('hdel', waits, owner)
+    return 1
+  end
+end
+
+local waited = {}
+for i = 3, #KEYS do
+  waited[#waited + 1] = KEYS[i]
+end
+redis.call('hset', waits, owner, cjson.encode({ expires = now + ttl, started = started, keys = waited }))
+redis.call('pexpire', waits, ttl)
+
+-- Live wait entry of an owner, or nil
+local function entry(o)
+  local raw = redis.call('hget', waits, o)
+  if not raw then
+    return nil
+  end
+  local e = cjson.decode(raw)
+  if e.expires <= now then
+    redis.call('hdel', waits, o)
+    return nil
+  end
+  return e
+end
+
+-- Owners holding a live lease on a key
+local function holders(key)
+  local owners = {}
+  local entries = redis.call('hgetall', key)
+  for i = 1, #entries, 2 do
+    if tonumber(entries[i + 1]) > now then
+      local slash = string.find(entries[i], '/', 3, true)
+      if slash then
+        owners[#owners + 1] = string.sub(entries[i], 3, slash - 1)
+      end
+    end
+  end
+  return owners
+end
+
+-- Depth-first search for a path of waiting owners leading back to the caller
+local path = { { owner = owner, started = started } }
+local visited = { [owner] = true }
+local function leads_back(o, keys)
+  for _, key in ipairs(keys) do
+    for _, h in ipairs(holders(key)) do
+      if h == owner and o ~= owner then
+        return true
+      end
+      if not visited[h] then
+        visited[h] = true
+        local e = entry(h)
+        if e then
+          path[#path + 1] = { owner = h, started = e.started }
+          if leads_back(h, e.keys) then
+            return true
+          end
+          path[#path] = nil
+        end
+      end
+    end
+  end
+  return false
+end
+
+if not leads_back(owner, waited) then
+  return 0
+end
+
+local victim = path[1]
+for _, p in ipairs(path) do
+  if p.started > victim.started then
+    victim = p
+  end
+end
+
+if victim.owner == owner then
+  redis.call('hdel', waits, owner)
+  return 1
+end
+
+redis.call('hset', victims, victim.owner, now + ttl)
+redis.call('pexpire', victims, ttl)
+local e = entry(victim.owner)
+if e then
+  for _, key in ipairs(e.keys) do
+    redis.call('publish', ARGV[4] .. key, 'deadlock')
+  end
+end
+return 0
@@ -0,0 +1,86 @@
+-- Join the ticket queue of one or more locks and take them, all or nothing, once it is our turn
+-- Each lock has a queue (sorted set of waiter tokens scored by arrival time) and a ticket hash
+-- (waiter token -> heartbeat expiry in ms). A waiter refreshes its ticket on every call; tickets
+-- of waiters that stopped calling are dropped, so a crashed node cannot block the queue.
+-- A writer is granted only at the head of every queue; a reader when no writer is queued ahead.
+-- A waiter joins every queue in this one call, so all queues of a key set agree on the order.
+-- KEYS[1..n] lock keys, sorted by the caller; KEYS[n+1..2n] queues; KEYS[2n+1..3n] ticket hashes
+-- ARGV[1] holder token, ARGV[2] lease TTL in milliseconds, ARGV[3] "EXCLUSIVE" or "SHARED",
+-- ARGV[4] ticket TTL in milliseconds
+-- Returns 1 if every lock was granted, 0 if the caller is still queued
+local n = #KEYS / 3
+local token = ARGV[1]
+local ttl = tonumber(ARGV[2])
+local exclusive = ARGV[3] == 'EXCLUSIVE'
+local ticket_ttl = tonumber(ARGV[4])
+local clock = redis.call('time')
+local now = tonumber(clock[1]) * 1000 + math.floor(tonumber(clock[2]) / 1000)
+
+-- Count live holders, dropping any whose lease ran out without a release
+local function live_holders(key)
+  local entries = redis.call('hgetall', key)
+  local writers, readers = 0, 0
+  for i = 1, #entries, 2 do
+    if tonumber(entries[i + 1]) <= now then
+      redis.call('hdel', key, entries[i])
+    elseif string.sub(entries[i], 1, 2) == 'w:' then
+      writers = writers + 1
+    else
+      readers = readers + 1
+    end
+  end
+  return writers, readers
+end
+
+-- Drop tickets of waiters that stopped heartbeating
+local function prune(queue, tickets)
+  local entries = redis.call('hgetall', tickets)
+  for i = 1, #entries, 2 do
+    if tonumber(entries[i + 1]) <= now then
+      redis.call('hdel', tickets, entries[i])
+      redis.call('zrem', queue, entries[i])
+    end
+  end
+end
+
+local turn = true
+for i = 1, n do
+  local queue, tickets = KEYS[n + i], KEYS[2 * n + i]
+  prune(queue, tickets)
+  redis.call('zadd', queue, 'NX', now, token)
+  redis.call('hset', tickets, token, now + ticket_ttl)
+  redis.call('pexpire', queue, ticket_ttl)
+  redis.call('pexpire', tickets, ticket_ttl)
+
+  if turn then
+    local rank = redis.call('zrank', queue, token)
+    if exclusive then
+      turn = rank == 0
+    elseif rank > 0 then
+      for _, ahead in ipairs(redis.call('zrange', queue, 0, rank - 1)) do
+        if string.sub(ahead, 1, 2) == 'w:' then
+          turn = false
+          break
+        end
+      end
+    end
+    if turn then
+      local writers, readers = live_holders(KEYS[i])
+      turn = writers == 0 and (not exclusive or readers == 0)
+    end
+  end
+end
+
+if not turn then
+  return 0
+end
+
+for i = 1, n do
+  redis.call('hset', KEYS[i], token, now + ttl)
+  if redis.call('pttl', KEYS[i]) < ttl then
+    redis.call('pexpire', KEYS[i], ttl)
+  end
+  redis.call('zrem', KEYS[n + i], token)
+  redis.call('hdel', KEYS[2 * n + i], token)
+end
+return 1
@@ -0,0 +1,15 @@
+-- Leave the ticket queues of one or more locks without taking them
+-- KEYS[1..n] lock keys; KEYS[n+1..2n] queues; KEYS[2n+1..3n] ticket hashes
+-- ARGV[1] waiter token, ARGV[2] release channel prefix
+-- Publishes on <prefix><key> when the waiter left a queue, since the next in line may now be at the head
+-- Returns the number of queues left
+local n = #KEYS / 3
+local left = 0
+for i = 1, n do
+  redis.call('hdel', KEYS[2 * n + i], ARGV[1])
+  if redis.call('zrem', KEYS[n + i], ARGV[1]) == 1 then
+    left = left + 1
+    redis.call('publish', ARGV[2] .. KEYS[i], 'dequeued')
+  end
+end
+return left
@@ -0,0 +1,58 @@
+-- Acquire one or more lock leases, all or nothing, in shared or exclusive mode
+-- Each lock is a hash mapping holder tokens ("w:<id>" for writers, "r:<id>" for readers)
+-- to the time in ms at which that holder's lease runs out
+-- KEYS[1..n] lock keys, sorted by the caller; KEYS[n+1..2n] the matching writer-waiting markers
+-- ARGV[1] holder token, ARGV[2] lease TTL in milliseconds, ARGV[3] "EXCLUSIVE" or "SHARED"
+-- Returns 1 if every lock was granted, 0 otherwise
+local n = #KEYS / 2
+local token = ARGV[1]
+local ttl = tonumber(ARGV[2])
+local exclusive = ARGV[3] == 'EXCLUSIVE'
+local clock = redis.call('time')
+local now = tonumber(clock[1]) * 1000 + math.floor(tonumber(clock[2]) / 1000)
+
+-- Count live holders, dropping any whose lease ran out without a release
+local function live_holders(key)
+  local entries = redis.call('hgetall', key)
+  local writers, readers = 0, 0
+  for i = 1, #entries, 2 do
+    if tonumber(entries[i + 1]) <= now then
+      redis.call('hdel', key, entries[i])
+    elseif string.sub(entries[i], 1, 2) == 'w:' then
+      writers = writers + 1
+    else
+      readers = readers + 1
+    end
+  end
+  return writers, readers
+end
+
+for i = 1, n do
+  local writers, readers = live_holders(KEYS[i])
+  local free
+  if exclusive then
+    free = writers == 0 and readers == 0
+  else
+    free = writers == 0 and redis.call('exists', KEYS[n + i]) == 0
+  end
+  if not free then
+    if exclusive then
+      -- Writer preference: keep new readers out until this writer gets in or gives up
+      for j = 1, n do
+        redis.call('set', KEYS[n + j], '1', 'PX', ttl)
+      end
+    end
+    return 0
+  end
+end
+
+for i = 1, n do
+  redis.call('hset', KEYS[i], token, now + ttl)
+  if redis.call('pttl', KEYS[i]) < ttl then
+    redis.call('pexpire', KEYS[i], ttl)
+  end
+  if exclusive then
+    redis.call('del', KEYS[n + i])
+  end
+end
+return 1
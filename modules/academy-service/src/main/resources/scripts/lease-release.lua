@@ -0,0 +1,13 @@
+-- Remove the holder's token from each lock hash; Redis drops a hash once its last holder leaves
+-- KEYS[i] lock hash
+-- ARGV[1] holder token, ARGV[2] release channel prefix
+-- Publishes on <prefix><key> for each released lock so waiters retry without polling
+-- Returns the number of locks released; fewer than #KEYS means some lease expired or was taken over
+local released = 0
+for _, key in ipairs(KEYS) do
+  if redis.call('hdel', key, ARGV[1]) == 1 then
+    released = released + 1
+    redis.call('publish', ARGV[2] .. key, 'released')
+  end
+end
+return released
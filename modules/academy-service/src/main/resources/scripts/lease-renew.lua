@@ -0,0 +1,22 @@
+-- Renew every lease still owned by this node in one round-trip
+-- KEYS[i] lock hash
+-- ARGV[2i-1] holder token, ARGV[2i] lease TTL in milliseconds
+-- Returns an array with 1 (renewed) or 0 (lost) per key
+local clock = redis.call('time')
+local now = tonumber(clock[1]) * 1000 + math.floor(tonumber(clock[2]) / 1000)
+local renewed = {}
+for i, key in ipairs(KEYS) do
+  local token = ARGV[i * 2 - 1]
+  local ttl = tonumber(ARGV[i * 2])
+  local expiresAt = redis.call('hget', key, token)
+  if expiresAt and tonumber(expiresAt) > now then
+    redis.call('hset', key, token, now + ttl)
+    if redis.call('pttl', key) < ttl then
+      redis.call('pexpire', key, ttl)
+    end
+    renewed[i] = 1
+  else
+    renewed[i] = 0
+  end
+end
+return renewed
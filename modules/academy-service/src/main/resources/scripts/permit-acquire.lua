@@ -0,0 +1,32 @@
+-- Take one permit of a distributed semaphore if fewer than the limit are out
+-- The semaphore is a hash of permit tokens to the time in ms at which that permit's lease
+-- runs out, the same layout as a lock, so lease-renew and lease-release work on it unchanged.
+-- Permits whose lease ran out (a crashed holder) are dropped before counting.
+-- KEYS[1] semaphore hash
+-- ARGV[1] permit token, ARGV[2] lease TTL in milliseconds, ARGV[3] number of permits
+-- Returns 1 if a permit was granted, 0 otherwise
+local key = KEYS[1]
+local ttl = tonumber(ARGV[2])
+local limit = tonumber(ARGV[3])
+local clock = redis.call('time')
+local now = tonumber(clock[1]) * 1000 + math.floor(tonumber(clock[2]) / 1000)
+
+local entries = redis.call('hgetall', key)
+local out = 0
+for i = 1, #entries, 2 do
+  if tonumber(entries[i + 1]) <= now then
+    redis.call('hdel', key, entries[i])
+  else
+    out = out + 1
+  end
+end
+
+if out >= limit then
+  return 0
+end
+
+redis.call('hset', key, ARGV[1], now + ttl)
+if redis.call('pttl', key) < ttl then
+  redis.call('pexpire', key, ttl)
+end
+return 1
@@ -0,0 +1,84 @@
+package com.academy.aspect;
+
+import com.academy.annotation.InvalidateTags;
+import com.academy.cache.CacheGenerations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for CacheTagAspect
+ */
+@DisplayName("CacheTagAspect Tests")
+class CacheTagAspectTest {
+
+    private CacheGenerations cacheGenerations;
+    private CacheTagAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        cacheGenerations = mock(CacheGenerations.class);
+        aspect = new CacheTagAspect(cacheGenerations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should bump every tag straight away outside a transaction")
+    void invalidate_NoTransaction_BumpsNow() throws Exception {
+        aspect.invalidate(tagsOf("deleteStudent"));
+
+        verify(cacheGenerations).bump("students");
+        verify(cacheGenerations).bump("mentorSessions");
+    }
+
+    @Test
+    @DisplayName("Should wait for commit before bumping inside a transaction")
+    void invalidate_InTransaction_BumpsAfterCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        aspect.invalidate(tagsOf("updateStudent"));
+        verify(cacheGenerations, never()).bump("students");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cacheGenerations).bump("students");
+    }
+
+    @Test
+    @DisplayName("Should bump the remaining tags when one bump fails")
+    void invalidate_BumpFails_ContinuesWithOtherTags() throws Exception {
+        doThrow(new IllegalStateException("Redis down")).when(cacheGenerations).bump("students");
+
+        aspect.invalidate(tagsOf("deleteStudent"));
+
+        verify(cacheGenerations).bump("mentorSessions");
+    }
+
+    private static InvalidateTags tagsOf(String method) throws NoSuchMethodException {
+        return Writes.class.getDeclaredMethod(method).getAnnotation(InvalidateTags.class);
+    }
+
+    static class Writes {
+
+        @InvalidateTags("students")
+        void updateStudent() {
+        }
+
+        @InvalidateTags({"students", "mentorSessions"})
+        void deleteStudent() {
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.academy.aspect;
+
+import com.academy.annotation.WithLock;
+import com.academy.exception.LockAcquisitionException;
+import com.academy.service.LockProvider;
+import com.academy.service.LockProviderRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LockAspect and LockLeaseAspect
+ * The transaction is simulated by running its before-commit callbacks at the end of the method.
+ */
+@DisplayName("LockAspect Tests")
+class LockAspectTest {
+
+    private LockProvider.Lease lease;
+    private LockAspect lockAspect;
+    private LockLeaseAspect leaseAspect;
+    private ProceedingJoinPoint joinPoint;
+    private WithLock withLock;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Method method = LockedOperations.class.getDeclaredMethod("updateBatch", Long.class);
+        withLock = method.getAnnotation(WithLock.class);
+        LockKeyResolverRegistry keyResolvers = new LockKeyResolverRegistry();
+        keyResolvers.postProcessAfterInitialization(new LockedOperations(), "lockedOperations");
+
+        lease = mock(LockProvider.Lease.class);
+        when(lease.getLockKeys()).thenReturn(List.of("batch:42"));
+        when(lease.release()).thenReturn(true);
+        LockProvider provider = mock(LockProvider.class);
+        when(provider.acquire(any(), any(), any(), anyInt(), any())).thenReturn(lease);
+        LockProviderRegistry lockProviders = mock(LockProviderRegistry.class);
+        when(lockProviders.partition(List.of("batch:42"))).thenReturn(Map.of(provider, List.of("batch:42")));
+
+        lockAspect = new LockAspect(lockProviders, keyResolvers);
+        leaseAspect = new LockLeaseAspect();
+
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        when(signature.getName()).thenReturn(method.getName());
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{42L});
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the method's result while every lease is held")
+    void executeWithLock_LeaseHeld_ReturnsResult() throws Throwable {
+        when(lease.isHeld()).thenReturn(true);
+        when(joinPoint.proceed()).thenReturn("updated");
+
+        assertThat(lockAspect.executeWithLock(joinPoint, withLock)).isEqualTo("updated");
+        verify(lease).release();
+    }
+
+    @Test
+    @DisplayName("Should fail a call without a transaction whose lease was lost while it ran")
+    void executeWithLock_NoTransactionLeaseLost_Throws() throws Throwable {
+        when(lease.isHeld()).thenReturn(false);
+        when(joinPoint.proceed()).thenReturn("updated");
+
+        assertThatThrownBy(() -> lockAspect.executeWithLock(joinPoint, withLock))
+            .isInstanceOf(LockAcquisitionException.class)
+            .hasMessageContaining("batch:42");
+        verify(lease).release();
+    }
+
+    @Test
+    @DisplayName("Should fail the commit of a transaction whose lease was lost while it ran")
+    void executeWithLock_InTransactionLeaseLost_FailsBeforeCommit() throws Throwable {
+        when(lease.isHeld()).thenReturn(false);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            leaseAspect.verifyBeforeCommit(joinPoint, withLock);
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+            return "updated";
+        });
+
+        assertThatThrownBy(() -> lockAspect.executeWithLock(joinPoint, withLock))
+            .isInstanceOf(LockAcquisitionException.class);
+        verify(lease).release();
+    }
+
+    @Test
+    @DisplayName("Should leave the check to commit time inside a transaction")
+    void executeWithLock_InTransaction_RegistersBeforeCommitCheck() throws Throwable {
+        when(lease.isHeld()).thenReturn(true);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            leaseAspect.verifyBeforeCommit(joinPoint, withLock);
+            return "updated";
+        });
+
+        lockAspect.executeWithLock(joinPoint, withLock);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+    }
+
+    static class LockedOperations {
+
+        @WithLock(key = "batch:#{#id}")
+        void updateBatch(Long id) {
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.academy.aspect;
+
+import com.academy.annotation.WithLock;
+import com.academy.exception.LockAcquisitionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for LockKeyResolverRegistry
+ */
+@DisplayName("LockKeyResolverRegistry Tests")
+class LockKeyResolverRegistryTest {
+
+    private LockKeyResolverRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new LockKeyResolverRegistry();
+    }
+
+    @Test
+    @DisplayName("Should register every @WithLock method of a bean at startup")
+    void postProcess_RegistersAnnotatedMethods() {
+        registry.postProcessAfterInitialization(new LockedOperations(), "lockedOperations");
+
+        assertThat(registry.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should resolve template keys from named parameters")
+    void resolve_TemplateKey_UsesParameterValues() throws Exception {
+        LockKeyResolver resolver = registry.resolverFor(method("updateBatch", Long.class));
+
+        assertThat(resolver.resolve(new Object[]{42L})).containsExactly("batch:42");
+    }
+
+    @Test
+    @DisplayName("Should sort keys and drop those resolving to blank")
+    void resolve_MultipleKeys_SortedWithoutBlanks() throws Exception {
+        LockKeyResolver resolver = registry.resolverFor(method("moveStudent", Long.class, Request.class));
+
+        assertThat(resolver.resolve(new Object[]{7L, new Request(3L)})).containsExactly("batch:3", "student:7");
+        assertThat(resolver.resolve(new Object[]{7L, new Request(null)})).containsExactly("student:7");
+    }
+
+    @Test
+    @DisplayName("Should expose arguments by position as well as by name")
+    void resolve_PositionalVariable_UsesArgument() throws Exception {
+        LockKeyResolver resolver = registry.resolverFor(method("byPosition", String.class));
+
+        assertThat(resolver.resolve(new Object[]{"a@b.com"})).containsExactly("student:onboarding:a@b.com");
+    }
+
+    @Test
+    @DisplayName("Should derive the metrics pattern from the key templates, not from argument values")
+    void getPattern_TemplatesWithEvaluatedPartsStarred() throws Exception {
+        assertThat(registry.resolverFor(method("updateBatch", Long.class)).getPattern()).isEqualTo("batch:*");
+        assertThat(registry.resolverFor(method("moveStudent", Long.class, Request.class)).getPattern())
+            .isEqualTo("*,student:*");
+        assertThat(registry.resolverFor(method("byPosition", String.class)).getPattern())
+            .isEqualTo("student:onboarding:*");
+    }
+
+    @Test
+    @DisplayName("Should refuse to lock a key with a null argument rather than a shortened key")
+    void resolve_NullInTemplate_Throws() throws Exception {
+        LockKeyResolver resolver = registry.resolverFor(method("byPosition", String.class));
+
+        assertThatThrownBy(() -> resolver.resolve(new Object[]{null}))
+            .isInstanceOf(LockAcquisitionException.class)
+            .hasMessageContaining("student:onboarding:");
+    }
+
+    @Test
+    @DisplayName("Should refuse to lock a key whose expression fails")
+    void resolve_FailingExpression_Throws() throws Exception {
+        LockKeyResolver resolver = registry.resolverFor(method("moveStudent", Long.class, Request.class));
+
+        assertThatThrownBy(() -> resolver.resolve(new Object[]{7L, null}))
+            .isInstanceOf(LockAcquisitionException.class)
+            .hasMessageContaining("#request.batchId");
+    }
+
+    @Test
+    @DisplayName("Should fail at startup on a key that does not parse")
+    void postProcess_UnparsableKey_FailsFast() {
+        assertThatThrownBy(() -> registry.postProcessAfterInitialization(new BrokenSyntax(), "brokenSyntax"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("BrokenSyntax.update");
+    }
+
+    @Test
+    @DisplayName("Should fail at startup on a key that references an unknown parameter")
+    void postProcess_UnknownVariable_FailsFast() {
+        assertThatThrownBy(() -> registry.postProcessAfterInitialization(new UnknownVariable(), "unknownVariable"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("#batchId");
+    }
+
+    private static Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return LockedOperations.class.getDeclaredMethod(name, parameterTypes);
+    }
+
+    // ── Fixtures ─────────────────────────────────────────────────────────────
+
+    public static class Request {
+        private final Long batchId;
+
+        Request(Long batchId) {
+            this.batchId = batchId;
+        }
+
+        public Long getBatchId() {
+            return batchId;
+        }
+    }
+
+    static class LockedOperations {
+
+        @WithLock(key = "batch:#{#id}")
+        void updateBatch(Long id) {
+        }
+
+        @WithLock(keys = {"student:#{#id}", "#{#request.batchId != null ? 'batch:' + #request.batchId : ''}"})
+        void moveStudent(Long id, Request request) {
+        }
+
+        @WithLock(key = "student:onboarding:#{#arg0}")
+        void byPosition(String email) {
+        }
+
+        void unlocked() {
+        }
+    }
+
+    static class BrokenSyntax {
+
+        @WithLock(key = "batch:#{#id +}")
+        void update(Long id) {
+        }
+    }
+
+    static class UnknownVariable {
+
+        @WithLock(key = "batch:#{#batchId}")
+        void update(Long id) {
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.academy.aspect;
+
+import com.academy.annotation.WithLock;
+import com.academy.config.TransactionConfig;
+import com.academy.exception.LockAcquisitionException;
+import com.academy.service.LockProvider;
+import com.academy.service.LockProviderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for LockLeaseAspect running inside the transaction interceptor
+ * The aspects, TransactionConfig and a recording transaction manager are wired as in the application,
+ * so the advice order under test is the configured one.
+ */
+@SpringJUnitConfig(LockLeaseTransactionTest.Config.class)
+@DisplayName("LockLeaseAspect Transaction Tests")
+class LockLeaseTransactionTest {
+
+    @Autowired
+    private LockedOperations operations;
+
+    @Autowired
+    private RecordingTransactionManager transactionManager;
+
+    @Autowired
+    private LockProvider.Lease lease;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager.outcomes.clear();
+        reset(lease);
+        when(lease.getLockKeys()).thenReturn(List.of("batch:42"));
+        when(lease.release()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should roll the transaction back when the lease was lost before commit")
+    void lockedTransaction_LeaseLost_RollsBack() {
+        when(lease.isHeld()).thenReturn(false);
+
+        assertThatThrownBy(() -> operations.updateBatch(42L)).isInstanceOf(LockAcquisitionException.class);
+
+        assertThat(transactionManager.outcomes).containsExactly("rollback");
+    }
+
+    @Test
+    @DisplayName("Should commit the transaction while the lease is held")
+    void lockedTransaction_LeaseHeld_Commits() {
+        when(lease.isHeld()).thenReturn(true);
+
+        operations.updateBatch(42L);
+
+        assertThat(transactionManager.outcomes).containsExactly("commit");
+    }
+
+    static class LockedOperations {
+
+        @WithLock(key = "batch:#{#id}")
+        @Transactional
+        public void updateBatch(Long id) {
+        }
+    }
+
+    static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        final List<String> outcomes = new ArrayList<>();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            outcomes.add("commit");
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            outcomes.add("rollback");
+        }
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Import({TransactionConfig.class, LockAspect.class, LockLeaseAspect.class, LockKeyResolverRegistry.class})
+    static class Config {
+
+        @Bean
+        LockProvider.Lease lease() {
+            return mock(LockProvider.Lease.class);
+        }
+
+        @Bean
+        LockProviderRegistry lockProviderRegistry(LockProvider.Lease lease) {
+            LockProvider provider = mock(LockProvider.class);
+            when(provider.acquire(any(), any(), any(), anyInt(), any())).thenAnswer(invocation -> lease);
+            LockProviderRegistry registry = mock(LockProviderRegistry.class);
+            when(registry.partition(List.of("batch:42"))).thenReturn(Map.of(provider, List.of("batch:42")));
+            return registry;
+        }
+
+        @Bean
+        RecordingTransactionManager transactionManager() {
+            return new RecordingTransactionManager();
+        }
+
+        @Bean
+        LockedOperations lockedOperations() {
+            return new LockedOperations();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.academy.aspect;
+
+import com.academy.annotation.VersionedCacheable;
+import com.academy.cache.CacheGenerations;
+import com.academy.cache.PageSnapshot;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for VersionedCacheAspect
+ */
+@DisplayName("VersionedCacheAspect Tests")
+class VersionedCacheAspectTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheGenerations cacheGenerations;
+    private VersionedCacheAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        cacheGenerations = mock(CacheGenerations.class);
+        when(cacheGenerations.current("students")).thenReturn(0L);
+        aspect = new VersionedCacheAspect(cacheManager, cacheGenerations, 2, false);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated list call from the cache")
+    void cached_ListHit_SkipsMethod() throws Throwable {
+        ProceedingJoinPoint pjp = joinPoint("getAllStudents", new Object[]{7L}, List.of("a", "b"));
+
+        aspect.cached(pjp, annotation());
+        Object second = aspect.cached(pjp, annotation());
+
+        assertThat(second).isEqualTo(List.of("a", "b")).isInstanceOf(ArrayList.class);
+        verify(pjp, times(1)).proceed();
+    }
+
+    @Test
+    @DisplayName("Should rebuild a cached page around the requested Pageable")
+    void cached_PageHit_RebuildsPage() throws Throwable {
+        Pageable pageable = PageRequest.of(1, 2, Sort.by("name"));
+        Page<String> page = new PageImpl<>(List.of("c", "d"), pageable, 5);
+        ProceedingJoinPoint pjp = joinPoint("getAllStudents", new Object[]{pageable}, page);
+
+        aspect.cached(pjp, annotation());
+        Object cached = cacheManager.getCache("students").get("students:g0:getAllStudents:p1:s2:name: ASC").get();
+        Page<?> second = (Page<?>) aspect.cached(pjp, annotation());
+
+        assertThat(cached).isInstanceOf(PageSnapshot.class);
+        assertThat(second.getContent()).containsExactly("c", "d");
+        assertThat(second.getTotalElements()).isEqualTo(5);
+        assertThat(second.getPageable()).isEqualTo(pageable);
+        verify(pjp, times(1)).proceed();
+    }
+
+    @Test
+    @DisplayName("Should miss once the tag generation moves on")
+    void cached_GenerationBumped_Reloads() throws Throwable {
+        ProceedingJoinPoint pjp = joinPoint("getAllStudents", new Object[]{7L}, List.of("a"));
+
+        aspect.cached(pjp, annotation());
+        when(cacheGenerations.current("students")).thenReturn(1L);
+        aspect.cached(pjp, annotation());
+
+        verify(pjp, times(2)).proceed();
+    }
+
+    @Test
+    @DisplayName("Should not cache pages past the configured maximum")
+    void cached_DeepPage_NotCached() throws Throwable {
+        Pageable pageable = PageRequest.of(3, 2);
+        ProceedingJoinPoint pjp = joinPoint("getAllStudents", new Object[]{pageable},
+            new PageImpl<>(List.of("g"), pageable, 7));
+
+        aspect.cached(pjp, annotation());
+        aspect.cached(pjp, annotation());
+
+        verify(pjp, times(2)).proceed();
+    }
+
+    private static ProceedingJoinPoint joinPoint(String methodName, Object[] args, Object result) throws Throwable {
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getName()).thenReturn(methodName);
+        when(pjp.getSignature()).thenReturn(signature);
+        when(pjp.getArgs()).thenReturn(args);
+        when(pjp.proceed()).thenReturn(result);
+        return pjp;
+    }
+
+    private static VersionedCacheable annotation() {
+        VersionedCacheable versionedCacheable = mock(VersionedCacheable.class);
+        when(versionedCacheable.value()).thenReturn("students");
+        return versionedCacheable;
+    }
+}
@@ -0,0 +1,98 @@
+package com.academy.cache;
+
+import com.academy.config.SingleFlightProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for CacheBulkOperations
+ * A ConcurrentMapCacheManager stands in for Redis, so keys go through the Cache API.
+ */
+@DisplayName("CacheBulkOperations Tests")
+class CacheBulkOperationsTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheBulkOperations bulkOperations;
+    private List<List<Long>> loaderCalls;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        bulkOperations = new CacheBulkOperations(cacheManager, null, mock(PlatformTransactionManager.class), null);
+        loaderCalls = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should load only the misses, in one call, and cache them")
+    void getAll_MixedHitsAndMisses_LoadsMissesOnce() {
+        cacheManager.getCache("student").put("student:2", "cached-2");
+
+        List<String> first = bulkOperations.getAll("student", "student:", List.of(1L, 2L, 3L), loader());
+        List<String> second = bulkOperations.getAll("student", "student:", List.of(1L, 2L, 3L), loader());
+
+        assertThat(first).containsExactly("loaded-1", "cached-2", "loaded-3");
+        assertThat(second).isEqualTo(first);
+        assertThat(loaderCalls).containsExactly(List.of(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should keep the requested order and drop duplicates and unknown ids")
+    void getAll_UnknownAndDuplicateIds_Skipped() {
+        List<String> values = bulkOperations.getAll("student", "student:", List.of(5L, 404L, 4L, 5L),
+            ids -> ids.stream().filter(id -> id != 404L).collect(Collectors.toMap(Function.identity(), id -> "loaded-" + id)));
+
+        assertThat(values).containsExactly("loaded-5", "loaded-4");
+    }
+
+    @Test
+    @DisplayName("Should not call the loader when every id is cached")
+    void getAll_AllCached_NoLoad() {
+        bulkOperations.putAll("mentor", Map.of("mentor:1", "m1", "mentor:2", "m2"));
+
+        assertThat(bulkOperations.getAll("mentor", "mentor:", List.of(2L, 1L), loader())).containsExactly("m2", "m1");
+        assertThat(loaderCalls).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject more ids than one request may carry")
+    void getAll_TooManyIds_Rejected() {
+        List<Long> ids = LongStream.rangeClosed(1, CacheBulkOperations.MAX_KEYS + 1).boxed().toList();
+
+        assertThatThrownBy(() -> bulkOperations.getAll("student", "student:", ids, loader()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should write loaded misses back stamped when single-flight is on and read them unwrapped")
+    void getAll_SingleFlight_WritesBackStamped() {
+        bulkOperations = new CacheBulkOperations(cacheManager, null, mock(PlatformTransactionManager.class),
+            new CacheLoadCoordinator(null, new SingleFlightProperties()));
+
+        bulkOperations.getAll("student", "student:", List.of(7L), loader());
+
+        assertThat(cacheManager.getCache("student").get("student:7").get()).isInstanceOf(StampedValue.class);
+        assertThat(bulkOperations.getAll("student", "student:", List.of(7L), loader())).containsExactly("loaded-7");
+        assertThat(loaderCalls).containsExactly(List.of(7L));
+    }
+
+    private Function<List<Long>, Map<Long, String>> loader() {
+        return ids -> {
+            loaderCalls.add(ids);
+            return ids.stream().collect(Collectors.toMap(Function.identity(), id -> "loaded-" + id));
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.academy.cache;
+
+import com.academy.support.RedisContainerSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for CacheGenerations against a real Redis
+ * Each instance stands in for a separate node.
+ */
+@DisplayName("CacheGenerations Tests")
+class CacheGenerationsTest extends RedisContainerSupport {
+
+    private CacheGenerations nodeA;
+    private CacheGenerations nodeB;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        nodeA = newNode(Duration.ofMinutes(5));
+        nodeB = newNode(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Should start every tag at generation zero")
+    void current_NeverBumped_ReturnsZero() {
+        assertThat(nodeA.current("students")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should move only the bumped tag to a new generation")
+    void bump_AdvancesOnlyThatTag() {
+        long before = nodeA.current("batches");
+
+        assertThat(nodeA.bump("students")).isEqualTo(1);
+        assertThat(nodeA.bump("students")).isEqualTo(2);
+
+        assertThat(nodeA.current("students")).isEqualTo(2);
+        assertThat(nodeA.current("batches")).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should make another node see a bump once the message arrives")
+    void bump_SeenByOtherNode() throws Exception {
+        assertThat(nodeB.current("students")).isZero();
+
+        nodeA.bump("students");
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (nodeB.current("students") != 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(nodeB.current("students")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should re-read a memoised generation after the refresh interval without a message")
+    void current_AfterRefresh_RereadsRedis() throws Exception {
+        CacheGenerations isolated = new CacheGenerations(new StringRedisTemplate(connectionFactory),
+            mock(CacheInvalidationBus.class), Duration.ofMillis(100));
+        assertThat(isolated.current("classes")).isZero();
+
+        nodeA.bump("classes");
+        Thread.sleep(150);
+
+        assertThat(isolated.current("classes")).isEqualTo(1);
+    }
+
+    private CacheGenerations newNode(Duration refresh) {
+        RedisMessageListenerContainer listenerContainer = startListenerContainer();
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        CacheInvalidationBus bus = new CacheInvalidationBus(redisTemplate, listenerContainer);
+        bus.subscribe();
+        return new CacheGenerations(redisTemplate, bus, refresh);
+    }
+}
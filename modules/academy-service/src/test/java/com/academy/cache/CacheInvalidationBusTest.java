@@ -0,0 +1,36 @@
+package com.academy.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for CacheInvalidationBus
+ */
+@DisplayName("CacheInvalidationBus Tests")
+class CacheInvalidationBusTest {
+
+    private static final byte[] CHANNEL = CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Should tell listeners about a resubscription but not the first subscription")
+    void onChannelSubscribed_AfterFirst_NotifiesResubscribed() {
+        CacheInvalidationBus bus = new CacheInvalidationBus(mock(StringRedisTemplate.class),
+            mock(RedisMessageListenerContainer.class));
+        CacheInvalidationBus.Listener listener = mock(CacheInvalidationBus.Listener.class);
+        bus.addListener(listener);
+
+        bus.onChannelSubscribed(CHANNEL, 1);
+        verify(listener, never()).onResubscribed();
+
+        bus.onChannelSubscribed(CHANNEL, 1);
+        verify(listener).onResubscribed();
+    }
+}
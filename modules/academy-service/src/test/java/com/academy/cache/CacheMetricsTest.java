@@ -0,0 +1,67 @@
+package com.academy.cache;
+
+import com.academy.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for CacheMetrics key counting against a real Redis
+ * Each instance stands in for a separate node.
+ */
+@DisplayName("CacheMetrics Tests")
+class CacheMetricsTest extends RedisContainerSupport {
+
+    private StringRedisTemplate redisTemplate;
+    private CacheMetrics nodeA;
+    private CacheMetrics nodeB;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @Test
+    @DisplayName("Should scan on one node per interval and report its counts on every node")
+    void countRemoteKeys_TwoNodes_OneScanSharedCounts() {
+        redisTemplate.opsForValue().set("student::student:1", "v");
+        redisTemplate.opsForValue().set("student::student:2", "v");
+        redisTemplate.opsForValue().set("batch::batch:1", "v");
+
+        nodeA.countRemoteKeys();
+        redisTemplate.opsForValue().set("student::student:3", "v");
+        nodeB.countRemoteKeys();
+
+        // nodeB reports nodeA's counts rather than scanning again within the interval
+        assertThat(nodeA.summarize("student").remoteKeys()).isEqualTo(2);
+        assertThat(nodeB.summarize("student").remoteKeys()).isEqualTo(2);
+        assertThat(nodeB.summarize("batch").remoteKeys()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count again once the interval's lease has expired")
+    void countRemoteKeys_LeaseExpired_CountsAgain() {
+        redisTemplate.opsForValue().set("student::student:1", "v");
+        nodeA.countRemoteKeys();
+
+        redisTemplate.opsForValue().set("student::student:2", "v");
+        redisTemplate.delete(CacheMetrics.KEY_COUNT_LEASE);
+        nodeB.countRemoteKeys();
+
+        assertThat(nodeB.summarize("student").remoteKeys()).isEqualTo(2);
+    }
+
+    private CacheMetrics newNode() {
+        CacheMetrics metrics = new CacheMetrics(new SimpleMeterRegistry(), new StringRedisTemplate(connectionFactory), 60_000);
+        metrics.monitorRemote("student", "student::");
+        metrics.monitorRemote("batch", "batch::");
+        return metrics;
+    }
+}
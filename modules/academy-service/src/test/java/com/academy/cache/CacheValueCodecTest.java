@@ -0,0 +1,121 @@
+package com.academy.cache;
+
+import com.academy.dto.StudentDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for CacheValueCodec
+ */
+@DisplayName("CacheValueCodec Tests")
+class CacheValueCodecTest {
+
+    private final CacheValueCodec smile = new CacheValueCodec(CacheValueCodec.Format.SMILE, 0);
+    private final CacheValueCodec json = new CacheValueCodec(CacheValueCodec.Format.JSON, 0);
+
+    @Test
+    @DisplayName("Should round-trip a DTO through Smile with its type")
+    void smile_Dto_RoundTrips() {
+        byte[] encoded = smile.serialize(student(1));
+
+        Object decoded = smile.deserialize(encoded);
+
+        assertThat(encoded[0]).isEqualTo(CacheValueCodec.SMILE);
+        assertThat(decoded).isInstanceOf(StudentDTO.class);
+        assertThat(((StudentDTO) decoded).getEmail()).isEqualTo("student1@academy.com");
+    }
+
+    @Test
+    @DisplayName("Should round-trip a cached page through compressed Smile")
+    void smileLz4_PageSnapshot_RoundTrips() {
+        CacheValueCodec compressing = new CacheValueCodec(CacheValueCodec.Format.SMILE, 64);
+        PageRequest pageable = PageRequest.of(0, 20);
+        PageSnapshot snapshot = PageSnapshot.of(new PageImpl<>(students(20), pageable, 45));
+
+        byte[] encoded = compressing.serialize(snapshot);
+        Page<Object> decoded = ((PageSnapshot) compressing.deserialize(encoded)).toPage(pageable);
+
+        assertThat(encoded[0]).isEqualTo(CacheValueCodec.SMILE_LZ4);
+        assertThat(decoded.getTotalElements()).isEqualTo(45);
+        assertThat(decoded.getContent()).hasSize(20).allMatch(StudentDTO.class::isInstance);
+    }
+
+    @Test
+    @DisplayName("Should write plain JSON exactly as the previous serializer did")
+    void json_Uncompressed_MatchesLegacySerializer() {
+        GenericJackson2JsonRedisSerializer legacy =
+            new GenericJackson2JsonRedisSerializer(CacheValueCodec.typedObjectMapper(new JsonFactory()));
+        StudentDTO student = student(2);
+
+        assertThat(json.serialize(student)).isEqualTo(legacy.serialize(student));
+    }
+
+    @Test
+    @DisplayName("Should read values written in any format whatever its own format")
+    void deserialize_OtherFormats_Read() {
+        CacheValueCodec compressingJson = new CacheValueCodec(CacheValueCodec.Format.JSON, 1);
+        ArrayList<StudentDTO> value = students(3);
+
+        assertThat(smile.deserialize(json.serialize(value))).asList().hasSize(3);
+        assertThat(json.deserialize(smile.serialize(value))).asList().hasSize(3);
+        assertThat(smile.deserialize(compressingJson.serialize(value))).asList().hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should store a page of students in fewer bytes with Smile and LZ4")
+    void bytesPerEntry_SmileSmallerThanJson() {
+        PageSnapshot snapshot = PageSnapshot.of(new PageImpl<>(students(20), PageRequest.of(0, 20), 100));
+
+        int jsonBytes = json.serialize(snapshot).length;
+        int smileBytes = smile.serialize(snapshot).length;
+        int lz4Bytes = new CacheValueCodec(CacheValueCodec.Format.SMILE, 1).serialize(snapshot).length;
+
+        assertThat(smileBytes).isLessThan(jsonBytes);
+        assertThat(lz4Bytes).isLessThan(smileBytes);
+    }
+
+    @Test
+    @DisplayName("Should map null to an empty value and back")
+    void null_RoundTripsAsEmpty() {
+        assertThat(smile.serialize(null)).isEmpty();
+        assertThat(smile.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse to decode a type outside the cached types")
+    void deserialize_UnlistedType_Throws() {
+        byte[] encoded = "[\"java.net.URL\",\"http://localhost/\"]".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> json.deserialize(encoded)).isInstanceOf(SerializationException.class);
+    }
+
+    static ArrayList<StudentDTO> students(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(CacheValueCodecTest::student)
+            .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    static StudentDTO student(int i) {
+        return StudentDTO.builder()
+            .id((long) i)
+            .name("Student " + i)
+            .email("student" + i + "@academy.com")
+            .phoneNumber("+91-98765-4" + String.format("%04d", i))
+            .universityName("Indian Institute of Technology")
+            .graduationYear(2024)
+            .batchId(3L)
+            .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.academy.cache;
+
+import com.academy.config.CacheWarmUpProperties;
+import com.academy.config.SingleFlightProperties;
+import com.academy.dto.BatchDTO;
+import com.academy.dto.BatchTypeDTO;
+import com.academy.entity.Batch;
+import com.academy.entity.BatchType;
+import com.academy.mapper.BatchMapper;
+import com.academy.mapper.BatchTypeMapper;
+import com.academy.mapper.ClassMapper;
+import com.academy.mapper.MentorMapper;
+import com.academy.repository.BatchRepository;
+import com.academy.repository.BatchTypeRepository;
+import com.academy.repository.ClassRepository;
+import com.academy.repository.MentorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CacheWarmUp
+ * A ConcurrentMapCacheManager stands in for Redis, so entries go through Cache.put.
+ */
+@DisplayName("CacheWarmUp Tests")
+class CacheWarmUpTest {
+
+    private CacheWarmUpProperties properties;
+    private ConcurrentMapCacheManager cacheManager;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private BatchTypeRepository batchTypeRepository;
+    private BatchRepository batchRepository;
+    private BatchTypeMapper batchTypeMapper;
+    private BatchMapper batchMapper;
+    private CacheWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheWarmUpProperties();
+        properties.setMentors(false);
+        properties.setClasses(false);
+        cacheManager = new ConcurrentMapCacheManager();
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        batchTypeRepository = mock(BatchTypeRepository.class);
+        batchRepository = mock(BatchRepository.class);
+        batchTypeMapper = mock(BatchTypeMapper.class);
+        batchMapper = mock(BatchMapper.class);
+        warmUp = warmUp(null);
+    }
+
+    private CacheWarmUp warmUp(CacheLoadCoordinator loadCoordinator) {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        CacheBulkOperations bulkOperations = new CacheBulkOperations(cacheManager, null, transactionManager, loadCoordinator);
+        return new CacheWarmUp(properties, bulkOperations, transactionManager, eventPublisher, meterRegistry,
+            batchTypeRepository, mock(MentorRepository.class), mock(ClassRepository.class), batchRepository,
+            batchTypeMapper, mock(MentorMapper.class), mock(ClassMapper.class), batchMapper);
+    }
+
+    @Test
+    @DisplayName("Should write the hot set under the keys the by-id lookups use")
+    void warmUp_WritesHotSetUnderCacheableKeys() {
+        BatchType type = BatchType.builder().id(1L).name("Regular").build();
+        Batch batch = Batch.builder().id(9L).name("Batch 9").build();
+        BatchTypeDTO typeDto = BatchTypeDTO.builder().id(1L).name("Regular").build();
+        BatchDTO batchDto = BatchDTO.builder().id(9L).name("Batch 9").build();
+        when(batchTypeRepository.findAll()).thenReturn(List.of(type));
+        when(batchTypeMapper.toDTO(type)).thenReturn(typeDto);
+        when(batchRepository.findNewestIds(any(Pageable.class))).thenReturn(List.of(9L));
+        when(batchRepository.findAllWithTypeAndClassesByIdIn(List.of(9L))).thenReturn(List.of(batch));
+        when(batchMapper.toDTO(batch)).thenReturn(batchDto);
+
+        int written = warmUp.warmUp();
+
+        assertThat(written).isEqualTo(2);
+        assertThat(cacheManager.getCache("batchType").get("batchType:1").get()).isSameAs(typeDto);
+        assertThat(cacheManager.getCache("batch").get("batch:9").get()).isSameAs(batchDto);
+        assertThat(meterRegistry.get("academy.cache.warmup").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should store warmed entries stamped when single-flight is on")
+    void warmUp_SingleFlight_StoresStampedValues() {
+        BatchType type = BatchType.builder().id(1L).name("Regular").build();
+        BatchTypeDTO typeDto = BatchTypeDTO.builder().id(1L).name("Regular").build();
+        when(batchTypeRepository.findAll()).thenReturn(List.of(type));
+        when(batchTypeMapper.toDTO(type)).thenReturn(typeDto);
+        properties.setRecentBatches(0);
+
+        warmUp(new CacheLoadCoordinator(null, new SingleFlightProperties())).warmUp();
+
+        Object stored = cacheManager.getCache("batchType").get("batchType:1").get();
+        assertThat(stored).isInstanceOf(StampedValue.class);
+        assertThat(((StampedValue) stored).getValue()).isSameAs(typeDto);
+        assertThat(((StampedValue) stored).getComputeMillis()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse traffic during a re-run and accept it again once it succeeds")
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void warmUp_Success_AcceptsTrafficAfterwards() {
+        properties.setBatchTypes(false);
+        properties.setRecentBatches(0);
+
+        warmUp.warmUp();
+
+        ArgumentCaptor<AvailabilityChangeEvent> events = ArgumentCaptor.forClass(AvailabilityChangeEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(AvailabilityChangeEvent::getState)
+            .containsExactly(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    @DisplayName("Should keep refusing traffic after a failed re-run")
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void warmUp_Failure_KeepsRefusingTraffic() {
+        when(batchTypeRepository.findAll()).thenThrow(new IllegalStateException("database down"));
+
+        assertThat(warmUp.warmUp()).isEqualTo(-1);
+
+        ArgumentCaptor<AvailabilityChangeEvent> events = ArgumentCaptor.forClass(AvailabilityChangeEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertThat(events.getValue().getState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+        assertThat(meterRegistry.get("academy.cache.warmup").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave startup readiness to Boot, even when warm-up fails")
+    void run_Failure_PublishesNoReadiness() {
+        when(batchTypeRepository.findAll()).thenThrow(new IllegalStateException("database down"));
+
+        warmUp.run(null);
+
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(meterRegistry.get("academy.cache.warmup").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,135 @@
+package com.academy.cache;
+
+import com.academy.config.ExistenceFilterProperties;
+import com.academy.entity.Student;
+import com.academy.repository.MentorRepository;
+import com.academy.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for ExistenceFilters
+ * Filters are filled through ExistenceFilter.rebuild with in-memory keys instead of queries.
+ */
+@DisplayName("ExistenceFilters Tests")
+class ExistenceFiltersTest {
+
+    private ExistenceFilterProperties properties;
+    private CacheInvalidationBus invalidationBus;
+    private SimpleMeterRegistry meterRegistry;
+    private ExistenceFilters filters;
+    private StudentRepository studentRepository;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExistenceFilterProperties();
+        invalidationBus = mock(CacheInvalidationBus.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filters = new ExistenceFilters(properties, mock(EntityManager.class), mock(PlatformTransactionManager.class),
+            invalidationBus, meterRegistry);
+        studentRepository = mock(StudentRepository.class);
+    }
+
+    @Test
+    @DisplayName("Should rule nothing out before the first rebuild")
+    void idDefinitelyMissing_NotBuilt_Maybe() {
+        assertThat(filters.idDefinitelyMissing(studentRepository, 404L)).isFalse();
+        assertThat(filters.emailDefinitelyMissing("nobody@academy.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rule out missing ids and never an existing one")
+    void idDefinitelyMissing_Built_NoFalseNegatives() {
+        fill(ExistenceFilters.STUDENT, LongStream.rangeClosed(1, 5_000).mapToObj(String::valueOf).toList());
+
+        for (long id = 1; id <= 5_000; id++) {
+            assertThat(filters.idDefinitelyMissing(studentRepository, id)).isFalse();
+        }
+        long ruledOut = LongStream.rangeClosed(5_001, 15_000)
+            .filter(id -> filters.idDefinitelyMissing(studentRepository, id))
+            .count();
+        assertThat(ruledOut).isGreaterThan(9_800);
+        assertThat(meterRegistry.get("academy.cache.existence.rejected").tag("filter", "student").counter().count())
+            .isEqualTo(ruledOut);
+    }
+
+    @Test
+    @DisplayName("Should leave ids above the highest one the last rebuild saw to the database")
+    void idDefinitelyMissing_AboveHighestId_Maybe() {
+        filters.filter(ExistenceFilters.STUDENT).rebuild(2, properties.getFalsePositiveRate(), 4, List.of("2", "4")::forEach);
+
+        assertThat(filters.idDefinitelyMissing(studentRepository, 3L)).isTrue();
+        // Inserted on another node after the rebuild, its notification lost
+        assertThat(filters.idDefinitelyMissing(studentRepository, 5L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only consult the filter of the repository's entity")
+    void idDefinitelyMissing_OtherRepository_Maybe() {
+        fill(ExistenceFilters.STUDENT, List.of("1"));
+
+        assertThat(filters.idDefinitelyMissing(mock(MentorRepository.class), 2L)).isFalse();
+        assertThat(filters.idDefinitelyMissing(new Object(), 2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should know an inserted student's id and email at once and tell other nodes")
+    void recordInsert_Student_AddsIdAndEmail() {
+        fill(ExistenceFilters.STUDENT, List.of());
+        fill(ExistenceFilters.STUDENT_EMAIL, List.of());
+
+        filters.recordInsert(Student.builder().email("New@Academy.com").build(), 42L);
+
+        assertThat(filters.idDefinitelyMissing(studentRepository, 42L)).isFalse();
+        assertThat(filters.emailDefinitelyMissing("new@academy.com")).isFalse();
+        verify(invalidationBus).publishExists(ExistenceFilters.STUDENT, "42");
+        verify(invalidationBus).publishExists(ExistenceFilters.STUDENT_EMAIL, "new@academy.com");
+    }
+
+    @Test
+    @DisplayName("Should add keys another node published")
+    void onExists_OtherNode_AddsKey() {
+        fill(ExistenceFilters.BATCH, List.of());
+
+        filters.onExists(ExistenceFilters.BATCH, "7");
+
+        assertThat(filters.filter(ExistenceFilters.BATCH).definitelyMissing("7")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep keys added just before a rebuild whose scan missed them")
+    void rebuild_RecentAddNotScanned_Replayed() {
+        fill(ExistenceFilters.MENTOR, List.of());
+        filters.onExists(ExistenceFilters.MENTOR, "9");
+
+        fill(ExistenceFilters.MENTOR, List.of("1"));
+
+        assertThat(filters.filter(ExistenceFilters.MENTOR).definitelyMissing("9")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should leave non-ASCII emails and disabled filters to the database")
+    void emailDefinitelyMissing_Unsafe_Maybe() {
+        fill(ExistenceFilters.STUDENT_EMAIL, List.of("a@academy.com"));
+
+        assertThat(filters.emailDefinitelyMissing("b@academy.com")).isTrue();
+        assertThat(filters.emailDefinitelyMissing("josé@academy.com")).isFalse();
+        properties.setEnabled(false);
+        assertThat(filters.emailDefinitelyMissing("b@academy.com")).isFalse();
+    }
+
+    private void fill(String filterName, List<String> keys) {
+        filters.filter(filterName).rebuild(keys.size(), properties.getFalsePositiveRate(), keys::forEach);
+    }
+}
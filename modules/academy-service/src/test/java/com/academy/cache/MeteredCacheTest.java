@@ -0,0 +1,90 @@
+package com.academy.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for MeteredCache
+ * A ConcurrentMapCache stands in for the two cache levels.
+ */
+@DisplayName("MeteredCache Tests")
+class MeteredCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheMetrics metrics;
+    private MeteredCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new CacheMetrics(meterRegistry, null, 60_000);
+        cache = new MeteredCache(new ConcurrentMapCache("mentor", false), metrics);
+    }
+
+    @Test
+    @DisplayName("Should count a loaded read as a miss and a cached read as a hit")
+    void get_WithLoader_CountsMissThenHit() {
+        cache.get("mentor:1", () -> "Mentor 1");
+        cache.get("mentor:1", () -> "Mentor 1");
+        cache.get("mentor:2");
+
+        CacheMetrics.Summary summary = metrics.summarize("mentor");
+        assertThat(summary.hits()).isEqualTo(1);
+        assertThat(summary.misses()).isEqualTo(2);
+        assertThat(summary.hitRatio()).isEqualTo(1.0 / 3);
+        assertThat(summary.loads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should time a failing load as a failure")
+    void get_LoaderThrows_RecordsFailedLoad() {
+        assertThatThrownBy(() -> cache.get("mentor:3", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(RuntimeException.class);
+
+        assertThat(meterRegistry.get("academy.cache.load").tags("cache", "mentor", "outcome", "failure").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count key and whole-cache evictions")
+    void evictAndClear_CountsEvictions() {
+        cache.put("mentor:1", "Mentor 1");
+
+        cache.evict("mentor:1");
+        cache.clear();
+
+        assertThat(metrics.summarize("mentor").evictions()).isEqualTo(2);
+        assertThat(meterRegistry.get("academy.cache.evictions").tags("cache", "mentor", "scope", "all").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record the encoded size of values under the cache name")
+    void metered_Serializer_RecordsBytes() {
+        RedisSerializer<Object> serializer = metrics.metered("mentor", new CacheValueCodec(CacheValueCodec.Format.JSON, 0));
+
+        byte[] bytes = serializer.serialize("Mentor 1");
+        serializer.deserialize(bytes);
+
+        assertThat(metrics.summarize("mentor").maxValueBytes()).isEqualTo(bytes.length);
+        assertThat(meterRegistry.get("academy.cache.serialization").tags("cache", "mentor", "operation", "decode")
+            .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report untracked sizes as -1")
+    void summarize_NoSizeTracking_MinusOne() {
+        CacheMetrics.Summary summary = metrics.summarize("mentor");
+
+        assertThat(summary.localEntries()).isEqualTo(-1);
+        assertThat(summary.remoteKeys()).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,148 @@
+package com.academy.cache;
+
+import com.academy.config.SingleFlightProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SingleFlightCache
+ * A ConcurrentMapCache stands in for Redis and a mocked template for the load leases.
+ */
+@DisplayName("SingleFlightCache Tests")
+class SingleFlightCacheTest {
+
+    private ConcurrentMapCache remote;
+    private ValueOperations<String, String> leases;
+    private SingleFlightProperties properties;
+    private CacheLoadCoordinator coordinator;
+    private SingleFlightCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        leases = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(leases);
+        when(leases.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        properties = new SingleFlightProperties();
+        coordinator = new CacheLoadCoordinator(redisTemplate, properties);
+        remote = new ConcurrentMapCache("batch", false);
+        cache = new SingleFlightCache(remote, Duration.ofMinutes(30), coordinator);
+    }
+
+    @Test
+    @DisplayName("Should run the loader once for concurrent misses of one key")
+    void get_ConcurrentMisses_LoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<String>> readers = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return cache.get("batch:1", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "Batch 1";
+                    });
+                }, executor))
+                .toList();
+            start.countDown();
+
+            for (CompletableFuture<String> reader : readers) {
+                assertThat(reader.get(5, TimeUnit.SECONDS)).isEqualTo("Batch 1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should wait for the node holding the lease instead of loading")
+    void get_LeaseHeldElsewhere_ReadsOtherNodesValue() throws Exception {
+        when(leases.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        CompletableFuture.runAsync(() -> {
+            sleep(100);
+            remote.put("batch:2", new StampedValue("Batch 2", 5, System.currentTimeMillis() + 60_000));
+        });
+
+        String value = cache.get("batch:2", () -> "loaded here");
+
+        assertThat(value).isEqualTo("Batch 2");
+    }
+
+    @Test
+    @DisplayName("Should load itself when the lease holder stores nothing within a lease")
+    void get_LeaseHolderSilent_LoadsAfterLease() {
+        when(leases.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        properties.setLease(Duration.ofMillis(100));
+
+        assertThat(cache.get("batch:3", () -> "loaded here")).isEqualTo("loaded here");
+        assertThat(cache.get("batch:3").get()).isEqualTo("loaded here");
+    }
+
+    @Test
+    @DisplayName("Should store loaded values stamped and hand them out unwrapped")
+    void get_Loaded_StoredStampedReadPlain() {
+        cache.get("batch:4", () -> "Batch 4");
+
+        assertThat(remote.get("batch:4").get()).isInstanceOf(StampedValue.class);
+        assertThat(cache.get("batch:4", String.class)).isEqualTo("Batch 4");
+    }
+
+    @Test
+    @DisplayName("Should refresh an entry early only as it nears expiry")
+    void shouldRefreshEarly_DependsOnExpiry() {
+        long now = System.currentTimeMillis();
+
+        assertThat(coordinator.shouldRefreshEarly(new StampedValue("v", 10, now - 1))).isTrue();
+        assertThat(coordinator.shouldRefreshEarly(new StampedValue("v", 10, now + 3_600_000))).isFalse();
+        assertThat(coordinator.shouldRefreshEarly(new StampedValue("v", 0, now - 1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should recompute an entry due for early refresh and keep serving it meanwhile")
+    void get_DueForRefresh_Recomputes() {
+        remote.put("batch:5", new StampedValue("old", 10, System.currentTimeMillis() - 1));
+
+        assertThat(cache.get("batch:5", () -> "new")).isEqualTo("new");
+        assertThat(cache.get("batch:5", String.class)).isEqualTo("new");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.academy.cache;
+
+import com.academy.config.NearCacheProperties;
+import com.academy.support.RedisContainerSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for TwoLevelCacheManager against a real Redis
+ * Each manager stands in for a separate node sharing the same Redis.
+ */
+@DisplayName("TwoLevelCacheManager Tests")
+class TwoLevelCacheManagerTest extends RedisContainerSupport {
+
+    private TwoLevelCacheManager nodeA;
+    private TwoLevelCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @Test
+    @DisplayName("Should drop another node's heap copy when a key is evicted")
+    void evict_InvalidatesOtherNodes() throws Exception {
+        Cache cacheA = nodeA.getCache("student");
+        Cache cacheB = nodeB.getCache("student");
+        cacheA.put("student:1", "Alice");
+        assertThat(cacheB.get("student:1", String.class)).isEqualTo("Alice");
+
+        cacheA.evict("student:1");
+
+        eventually(() -> assertThat(cacheB.get("student:1")).isNull());
+    }
+
+    @Test
+    @DisplayName("Should replace another node's heap copy when a key is overwritten")
+    void put_InvalidatesOtherNodes() throws Exception {
+        Cache cacheA = nodeA.getCache("student");
+        Cache cacheB = nodeB.getCache("student");
+        cacheA.put("student:2", "Bob");
+        assertThat(cacheB.get("student:2", String.class)).isEqualTo("Bob");
+
+        cacheA.put("student:2", "Robert");
+
+        eventually(() -> assertThat(cacheB.get("student:2", String.class)).isEqualTo("Robert"));
+    }
+
+    @Test
+    @DisplayName("Should drop all of another node's heap copies when a cache is cleared")
+    void clear_InvalidatesOtherNodes() throws Exception {
+        Cache cacheA = nodeA.getCache("batch");
+        Cache cacheB = nodeB.getCache("batch");
+        cacheA.put("batch:1", "FSD");
+        cacheA.put("batch:2", "DS");
+        cacheB.get("batch:1");
+        cacheB.get("batch:2");
+
+        cacheA.clear();
+
+        eventually(() -> {
+            assertThat(cacheB.get("batch:1")).isNull();
+            assertThat(cacheB.get("batch:2")).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Should hand out the Redis caches unchanged when the near-cache is disabled")
+    void getCache_NearCacheDisabled_ReturnsRemoteCache() {
+        NearCacheProperties properties = new NearCacheProperties();
+        properties.setEnabled(false);
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(redisCacheManager(), properties, mock(CacheInvalidationBus.class));
+
+        assertThat(manager.getCache("student")).isNotInstanceOf(TwoLevelCache.class);
+    }
+
+    /**
+     * Retry an assertion until invalidation messages have had time to arrive
+     */
+    private static void eventually(Runnable assertion) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            try {
+                assertion.run();
+                return;
+            } catch (AssertionError ex) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw ex;
+                }
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private TwoLevelCacheManager newNode() {
+        RedisMessageListenerContainer listenerContainer = startListenerContainer();
+
+        CacheInvalidationBus bus = new CacheInvalidationBus(new StringRedisTemplate(connectionFactory), listenerContainer);
+        bus.subscribe();
+
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(redisCacheManager(), new NearCacheProperties(), bus);
+        manager.initializeCaches();
+        return manager;
+    }
+
+    private static RedisCacheManager redisCacheManager() {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+            .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig())
+            .build();
+        redisCacheManager.initializeCaches();
+        return redisCacheManager;
+    }
+}
@@ -0,0 +1,159 @@
+package com.academy.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for TwoLevelCache
+ * A ConcurrentMapCache stands in for Redis.
+ */
+@DisplayName("TwoLevelCache Tests")
+class TwoLevelCacheTest {
+
+    private ConcurrentMapCache remote;
+    private CacheInvalidationBus invalidationBus;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("student", false);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        cache = new TwoLevelCache("student", Caffeine.newBuilder().maximumSize(100).build(), remote, invalidationBus);
+    }
+
+    @Test
+    @DisplayName("Should serve a value read once from L2 out of the heap afterwards")
+    void get_AfterL2Hit_ServedFromHeap() {
+        remote.put("student:1", "Alice");
+
+        assertThat(cache.get("student:1", String.class)).isEqualTo("Alice");
+        remote.evict("student:1");
+
+        assertThat(cache.get("student:1", String.class)).isEqualTo("Alice");
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("Should return null without caching when both levels miss")
+    void get_BothMiss_ReturnsNull() {
+        assertThat(cache.get("student:2")).isNull();
+
+        remote.put("student:2", "Bob");
+        assertThat(cache.get("student:2", String.class)).isEqualTo("Bob");
+    }
+
+    @Test
+    @DisplayName("Should write through to L2 and tell other nodes on put")
+    void put_WritesBothLevelsAndPublishes() {
+        cache.put("student:3", "Carol");
+
+        assertThat(remote.get("student:3", String.class)).isEqualTo("Carol");
+        assertThat(cache.get("student:3", String.class)).isEqualTo("Carol");
+        verify(invalidationBus).publishEvict("student", "student:3");
+    }
+
+    @Test
+    @DisplayName("Should drop both levels and tell other nodes on evict")
+    void evict_DropsBothLevelsAndPublishes() {
+        cache.put("student:4", "Dan");
+
+        cache.evict("student:4");
+
+        assertThat(remote.get("student:4")).isNull();
+        assertThat(cache.get("student:4")).isNull();
+        verify(invalidationBus, times(2)).publishEvict("student", "student:4");
+    }
+
+    @Test
+    @DisplayName("Should drop every entry of both levels and tell other nodes on clear")
+    void clear_DropsBothLevelsAndPublishes() {
+        cache.put("student:5", "Eve");
+        cache.put("student:6", "Finn");
+
+        cache.clear();
+
+        assertThat(cache.get("student:5")).isNull();
+        assertThat(cache.get("student:6")).isNull();
+        verify(invalidationBus).publishClear("student");
+    }
+
+    @Test
+    @DisplayName("Should drop only the heap copy on another node's invalidation")
+    void evictLocal_KeepsL2() {
+        remote.put("student:7", "Gus");
+        cache.get("student:7");
+        remote.put("student:7", "Gus v2");
+
+        cache.evictLocal("student:7");
+
+        assertThat(cache.get("student:7", String.class)).isEqualTo("Gus v2");
+        verify(invalidationBus, never()).publishEvict("student", "student:7");
+    }
+
+    @Test
+    @DisplayName("Should load through L2 once and keep the result on the heap")
+    void get_WithLoader_LoadsOnce() {
+        int[] calls = {0};
+
+        String first = cache.get("student:8", () -> "Hana" + ++calls[0]);
+        String second = cache.get("student:8", () -> "Hana" + ++calls[0]);
+
+        assertThat(first).isEqualTo("Hana1");
+        assertThat(second).isEqualTo("Hana1");
+        assertThat(((Cache) remote).get("student:8", String.class)).isEqualTo("Hana1");
+    }
+
+    @Test
+    @DisplayName("Should not keep a value on the heap when another node invalidated it during the L2 read")
+    void get_InvalidatedDuringL2Read_NotKeptOnHeap() {
+        remote = new ConcurrentMapCache("student", false) {
+            @Override
+            public ValueWrapper get(Object key) {
+                ValueWrapper stale = super.get(key);
+                // Another node writes and its eviction arrives while this read is in flight
+                super.put(key, "Ivy v2");
+                cache.evictLocal(String.valueOf(key));
+                return stale;
+            }
+        };
+        remote.put("student:9", "Ivy");
+        cache = new TwoLevelCache("student", Caffeine.newBuilder().maximumSize(100).build(), remote, invalidationBus);
+
+        assertThat(cache.get("student:9", String.class)).isEqualTo("Ivy");
+
+        assertThat(cache.getLocal("student:9")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not keep a loaded value on the heap when the key was invalidated during the load")
+    void get_WithLoader_InvalidatedDuringLoad_NotKeptOnHeap() {
+        String loaded = cache.get("student:10", () -> {
+            cache.evictLocal("student:10");
+            return "Jay";
+        });
+
+        assertThat(loaded).isEqualTo("Jay");
+        assertThat(cache.getLocal("student:10")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not keep values read before a clear arrived")
+    void get_ClearedDuringL2Read_NotKeptOnHeap() {
+        long stamp = cache.invalidationStamp("student:11");
+        cache.clearLocal();
+        cache.putLocal("student:11", "Kim", stamp);
+
+        assertThat(cache.getLocal("student:11")).isNull();
+    }
+}
@@ -19,11 +19,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.util.*;
 
 import static com.academy.util.TestDataBuilder.*;
@@ -174,6 +177,63 @@ class BatchServiceTest {
             .isInstanceOf(BatchTypeNotFoundException.class);
     }
     
+    // ========== createBatchLockless Tests ==========
+    
+    @Test
+    @DisplayName("Should create batch without scanning existing batches")
+    void createBatchLockless_WhenValid_InsertsWithoutLookup() {
+        // Given
+        BatchDTO inputDTO = batchDTO().name("New Batch").batchTypeId(1L).build();
+        Batch newBatch = batchEntity(null, "New Batch");
+        Batch savedBatch = batchEntity(2L, "New Batch");
+        BatchDTO savedDTO = batchDTO().id(2L).name("New Batch").build();
+        
+        when(batchTypeRepository.findById(1L)).thenReturn(Optional.of(batchTypeEntity));
+        when(batchMapper.toEntity(inputDTO)).thenReturn(newBatch);
+        when(batchRepository.saveAndFlush(newBatch)).thenReturn(savedBatch);
+        when(batchMapper.toDTO(savedBatch)).thenReturn(savedDTO);
+        
+        // When
+        BatchDTO result = batchService.createBatchLockless(inputDTO);
+        
+        // Then
+        assertThat(result).isEqualTo(savedDTO);
+        verify(batchRepository, never()).findAll();
+        verify(eventProducer).publishBatchCreatedEvent(savedBatch);
+    }
+    
+    @Test
+    @DisplayName("Should report a duplicate batch name rejected by the unique index as a conflict")
+    void createBatchLockless_WhenNameExists_ThrowsException() {
+        // Given
+        BatchDTO inputDTO = batchDTO().name("Existing Batch").batchTypeId(1L).build();
+        when(batchTypeRepository.findById(1L)).thenReturn(Optional.of(batchTypeEntity));
+        when(batchMapper.toEntity(inputDTO)).thenReturn(batchEntity);
+        when(batchRepository.saveAndFlush(batchEntity)).thenThrow(new DuplicateKeyException("uk_batches_name"));
+        
+        // When/Then
+        assertThatThrownBy(() -> batchService.createBatchLockless(inputDTO))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("already exists");
+        verify(eventProducer, never()).publishBatchCreatedEvent(any());
+    }
+    
+    @Test
+    @DisplayName("Should pass through integrity violations other than duplicate keys")
+    void createBatchLockless_WhenOtherIntegrityViolation_Rethrows() {
+        // Given
+        BatchDTO inputDTO = batchDTO().name("New Batch").batchTypeId(1L).build();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk",
+            new SQLException("Cannot add or update a child row", "23000", 1452));
+        when(batchTypeRepository.findById(1L)).thenReturn(Optional.of(batchTypeEntity));
+        when(batchMapper.toEntity(inputDTO)).thenReturn(batchEntity);
+        when(batchRepository.saveAndFlush(batchEntity)).thenThrow(violation);
+        
+        // When/Then
+        assertThatThrownBy(() -> batchService.createBatchLockless(inputDTO))
+            .isSameAs(violation);
+    }
+    
     @Test
     @DisplayName("Should create batch with classes when classIds provided")
     void createBatch_WithClasses_CreatesBatchWithClasses() {
@@ -0,0 +1,63 @@
+package com.academy.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ConsistentHashRing
+ */
+@DisplayName("ConsistentHashRing Tests")
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    @DisplayName("Should spread keys roughly evenly over the nodes")
+    void nodeFor_SpreadsKeysEvenly() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes("a", "b", "c"), 160);
+
+        Map<String, Integer> counts = new HashMap<>();
+        IntStream.range(0, KEYS).forEach(i -> counts.merge(ring.nodeFor("student:" + i), 1, Integer::sum));
+
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 3 * 8 / 10, KEYS / 3 * 12 / 10));
+    }
+
+    @Test
+    @DisplayName("Should only move the keys of a removed node")
+    void nodeFor_NodeRemoved_OtherKeysStay() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(nodes("a", "b", "c"), 160);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(nodes("a", "b"), 160);
+
+        long moved = IntStream.range(0, KEYS)
+            .mapToObj(i -> "batch:" + i)
+            .filter(key -> !before.nodeFor(key).equals("c") && !before.nodeFor(key).equals(after.nodeFor(key)))
+            .count();
+
+        assertThat(moved).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse lookups on an empty ring")
+    void nodeFor_EmptyRing_Throws() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(Map.of(), 160);
+
+        assertThat(ring.isEmpty()).isTrue();
+        assertThatThrownBy(() -> ring.nodeFor("student:1")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Map<String, String> nodes(String... names) {
+        Map<String, String> nodes = new HashMap<>();
+        for (String name : names) {
+            nodes.put(name + ":6379", name);
+        }
+        return nodes;
+    }
+}
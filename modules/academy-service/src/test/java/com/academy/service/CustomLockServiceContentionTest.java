@@ -0,0 +1,121 @@
+package com.academy.service;
+
+import com.academy.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention benchmark for CustomLockService against a real Redis
+ * Reports p50/p99 acquisition latency for the POLL and NOTIFY wait modes
+ */
+@Tag("benchmark")
+@DisplayName("CustomLockService Contention Benchmark")
+class CustomLockServiceContentionTest extends RedisContainerSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomLockServiceContentionTest.class);
+
+    private static final int THREADS = 16;
+    private static final int ACQUISITIONS_PER_THREAD = 20;
+    private static final long HOLD_MS = 2;
+
+    private static StringRedisTemplate redisTemplate;
+    private static RedisScriptLibrary scripts;
+    private static RedisMessageListenerContainer listenerContainer;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        scripts = new RedisScriptLibrary(redisTemplate);
+        scripts.readScripts();
+
+        listenerContainer = startListenerContainer();
+    }
+
+    @Test
+    @DisplayName("Should report acquisition latency for polling and notification wait modes")
+    void acquisitionLatency_PollVersusNotify() throws Exception {
+        LatencyReport poll = runContention(CustomLockService.WaitMode.POLL, "bench:poll");
+        LatencyReport notify = runContention(CustomLockService.WaitMode.NOTIFY, "bench:notify");
+
+        log.info("POLL   acquired={} failed={} p50={}ms p99={}ms",
+            poll.acquired(), poll.failed(), poll.percentile(50), poll.percentile(99));
+        log.info("NOTIFY acquired={} failed={} p50={}ms p99={}ms",
+            notify.acquired(), notify.failed(), notify.percentile(50), notify.percentile(99));
+
+        assertThat(notify.failed()).isZero();
+        assertThat(notify.acquired()).isEqualTo(THREADS * ACQUISITIONS_PER_THREAD);
+    }
+
+    private LatencyReport runContention(CustomLockService.WaitMode mode, String lockKey) throws Exception {
+        LockReleaseNotifier notifier = new LockReleaseNotifier(listenerContainer, 10_000);
+        notifier.subscribe();
+        CustomLockService lockService = new CustomLockService(redisTemplate, scripts, notifier,
+            new LockMetrics(new SimpleMeterRegistry()), mode, 500, 10_000);
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ACQUISITIONS_PER_THREAD; i++) {
+                    long begin = System.nanoTime();
+                    CustomLockService.LockMetadata lock = lockService.acquireLockWithRetry(
+                        lockKey, Duration.ofSeconds(30), 3, Duration.ofSeconds(10));
+                    if (lock == null) {
+                        failures.incrementAndGet();
+                        continue;
+                    }
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+                    Thread.sleep(HOLD_MS);
+                    lockService.releaseLock(lock);
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        listenerContainer.removeMessageListener(notifier);
+        return new LatencyReport(new ArrayList<>(latencies), failures.get());
+    }
+
+    private record LatencyReport(List<Long> latencies, int failed) {
+
+        int acquired() {
+            return latencies.size();
+        }
+
+        long percentile(double p) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.academy.service;
+
+import com.academy.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round-trip benchmark for the CustomLockService lock lifecycle against a real Redis
+ * Counts top-level EVALSHA calls per operation through INFO commandstats and reports
+ * the mean and p99 latency of acquire, extend and release.
+ */
+@Tag("benchmark")
+@DisplayName("CustomLockService Round-Trip Benchmark")
+class CustomLockServiceRoundTripTest extends RedisContainerSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomLockServiceRoundTripTest.class);
+
+    private static final int ITERATIONS = 1_000;
+
+    private static StringRedisTemplate redisTemplate;
+    private static CustomLockService lockService;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+
+        RedisScriptLibrary scripts = new RedisScriptLibrary(redisTemplate);
+        scripts.readScripts();
+
+        LockReleaseNotifier notifier = new LockReleaseNotifier(startListenerContainer(), 10_000);
+
+        lockService = new CustomLockService(redisTemplate, scripts, notifier,
+            new LockMetrics(new SimpleMeterRegistry()), CustomLockService.WaitMode.NOTIFY, 500, 10_000);
+    }
+
+    @Test
+    @DisplayName("Should take exactly one round-trip per acquire, extend and release")
+    void lockLifecycle_OneRoundTripPerOperation() {
+        // Warm up so SCRIPT LOAD is not part of the measurement
+        lockService.releaseLock(lockService.acquireLock("bench:warmup"));
+
+        long[] acquireNanos = new long[ITERATIONS];
+        long[] extendNanos = new long[ITERATIONS];
+        long[] releaseNanos = new long[ITERATIONS];
+        long evalShaBefore = commandCalls("evalsha");
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            String key = "bench:lifecycle:" + i;
+
+            long start = System.nanoTime();
+            CustomLockService.LockMetadata lock = lockService.acquireLockWithRetry(key, Duration.ofSeconds(30));
+            acquireNanos[i] = System.nanoTime() - start;
+            assertThat(lock).isNotNull();
+
+            start = System.nanoTime();
+            assertThat(lockService.extendLock(lock, Duration.ofSeconds(10))).isTrue();
+            extendNanos[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            assertThat(lockService.releaseLock(lock)).isTrue();
+            releaseNanos[i] = System.nanoTime() - start;
+        }
+
+        long evalShaCalls = commandCalls("evalsha") - evalShaBefore;
+        double roundTripsPerOperation = evalShaCalls / (ITERATIONS * 3.0);
+
+        log.info("round-trips/op={}", roundTripsPerOperation);
+        report("acquire", acquireNanos);
+        report("extend", extendNanos);
+        report("release", releaseNanos);
+
+        assertThat(roundTripsPerOperation).isEqualTo(1.0);
+    }
+
+    private static long commandCalls(String command) {
+        Properties stats = redisTemplate.execute((RedisCallback<Properties>) connection ->
+            connection.serverCommands().info("commandstats"));
+        String value = stats == null ? null : stats.getProperty("cmdstat_" + command);
+        if (value == null) {
+            return 0;
+        }
+        // Format: calls=N,usec=...,usec_per_call=...
+        return Long.parseLong(value.substring("calls=".length(), value.indexOf(',')));
+    }
+
+    private static void report(String operation, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double meanMicros = Arrays.stream(sorted).average().orElse(0) / 1_000.0;
+        long p99Micros = TimeUnit.NANOSECONDS.toMicros(sorted[(int) Math.ceil(0.99 * sorted.length) - 1]);
+        log.info("{} mean={}us p99={}us", operation, Math.round(meanMicros * 10) / 10.0, p99Micros);
+    }
+}
@@ -0,0 +1,197 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import com.academy.exception.LockAcquisitionException;
+import com.academy.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for DistributedLockService against a real Redis
+ * Each service instance stands in for a separate node with its own local lock tier.
+ */
+@DisplayName("DistributedLockService Tests")
+class DistributedLockServiceTest extends RedisContainerSupport {
+
+    private static final Duration HOLD = Duration.ofSeconds(30);
+    private static final Duration SHORT_WAIT = Duration.ofMillis(300);
+
+    private static StringRedisTemplate redisTemplate;
+    private static RedisScriptLibrary scripts;
+    private static LockReleaseNotifier notifier;
+
+    private DistributedLockService nodeA;
+    private DistributedLockService nodeB;
+    private DistributedLockService nodeC;
+
+    @BeforeAll
+    static void connect() throws Exception {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        scripts = new RedisScriptLibrary(redisTemplate);
+        scripts.readScripts();
+
+        notifier = new LockReleaseNotifier(startListenerContainer(), 10_000);
+        notifier.subscribe();
+    }
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        nodeA = newNode();
+        nodeB = newNode();
+        nodeC = newNode();
+    }
+
+    @Test
+    @DisplayName("Should let shared holders of a key proceed together")
+    void sharedLocks_AreHeldConcurrently() {
+        var first = nodeA.acquireLocksWithRetry(List.of("batch:1"), LockMode.SHARED, HOLD, 0, SHORT_WAIT);
+        var second = nodeB.acquireLocksWithRetry(List.of("batch:1"), LockMode.SHARED, HOLD, 0, SHORT_WAIT);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(nodeA.releaseLock(first)).isTrue();
+        assertThat(nodeB.releaseLock(second)).isTrue();
+        assertThat(nodeA.isLocked("batch:1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep a writer out while a reader holds the key")
+    void exclusiveLock_WhenReaderHolds_TimesOut() {
+        var reader = nodeA.acquireLocksWithRetry(List.of("batch:2"), LockMode.SHARED, HOLD, 0, SHORT_WAIT);
+
+        var writer = nodeB.acquireLocksWithRetry(List.of("batch:2"), LockMode.EXCLUSIVE, HOLD, 0, SHORT_WAIT);
+
+        assertThat(writer).isNull();
+        nodeA.releaseLock(reader);
+        assertThat(nodeB.acquireLocksWithRetry(List.of("batch:2"), LockMode.EXCLUSIVE, HOLD, 0, SHORT_WAIT))
+            .isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should turn new readers away while a writer is waiting")
+    void sharedLock_WhenWriterWaiting_IsRefused() {
+        var reader = nodeA.acquireLocksWithRetry(List.of("batch:3"), LockMode.SHARED, HOLD, 0, SHORT_WAIT);
+        nodeB.acquireLocksWithRetry(List.of("batch:3"), LockMode.EXCLUSIVE, HOLD, 0, SHORT_WAIT);
+
+        var lateReader = nodeC.acquireLocksWithRetry(List.of("batch:3"), LockMode.SHARED, HOLD, 0, SHORT_WAIT);
+
+        assertThat(lateReader).isNull();
+        nodeA.releaseLock(reader);
+    }
+
+    @Test
+    @DisplayName("Should acquire a key set all-or-nothing")
+    void exclusiveLocks_WhenOneKeyHeld_AcquiresNone() {
+        var held = nodeA.acquireLockWithRetry("class:4", HOLD, 0, SHORT_WAIT);
+
+        var both = nodeB.acquireLocksWithRetry(List.of("batch:4", "class:4"), LockMode.EXCLUSIVE, HOLD, 0, SHORT_WAIT);
+
+        assertThat(both).isNull();
+        assertThat(nodeB.isLocked("batch:4")).isFalse();
+        nodeA.releaseLock(held);
+    }
+
+    @Test
+    @DisplayName("Should refuse to upgrade a shared hold to exclusive on the same thread")
+    void exclusiveLock_WhenThreadHoldsShared_IsRefused() {
+        var reader = nodeA.acquireLocksWithRetry(List.of("batch:5"), LockMode.SHARED, HOLD, 0, SHORT_WAIT);
+
+        assertThat(nodeA.acquireLocksWithRetry(List.of("batch:5"), LockMode.EXCLUSIVE, HOLD, 0, SHORT_WAIT))
+            .isNull();
+        nodeA.releaseLock(reader);
+    }
+
+    @Test
+    @DisplayName("Should complete a pending async wait once the holder releases")
+    void acquireLockAsync_WhenHolderReleases_Completes() throws Exception {
+        var held = nodeA.acquireLockAsync("batch:6", HOLD, SHORT_WAIT).get(5, TimeUnit.SECONDS);
+
+        CompletableFuture<DistributedLockService.LockHandle> waiter =
+            nodeB.acquireLockAsync("batch:6", HOLD, Duration.ofSeconds(5));
+
+        assertThat(held).isNotNull();
+        assertThat(waiter).isNotDone();
+        assertThat(nodeA.releaseLockAsync(held).get(5, TimeUnit.SECONDS)).isTrue();
+        var acquired = waiter.get(5, TimeUnit.SECONDS);
+        assertThat(acquired).isNotNull();
+        nodeB.releaseLockAsync(acquired).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should complete an async wait with null when the holder keeps the lock")
+    void acquireLockAsync_WhenHeld_TimesOutWithNull() throws Exception {
+        var held = nodeA.acquireLockWithRetry("batch:7", HOLD, 0, SHORT_WAIT);
+
+        assertThat(nodeB.acquireLockAsync("batch:7", HOLD, SHORT_WAIT).get(5, TimeUnit.SECONDS)).isNull();
+        nodeA.releaseLock(held);
+    }
+
+    @Test
+    @DisplayName("Should release the lock after an async action completes")
+    void executeWithLockAsync_ReleasesAfterAction() throws Exception {
+        String result = nodeA.executeWithLockAsync("batch:8",
+            () -> CompletableFuture.supplyAsync(() -> nodeB.isLocked("batch:8") ? "locked" : "unlocked"))
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo("locked");
+        assertThat(nodeA.isLocked("batch:8")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should abort one side of a cross-node deadlock instead of waiting out the timeout")
+    void nestedLocks_InOppositeOrder_AbortYoungestWaiter() throws Exception {
+        Duration longWait = Duration.ofSeconds(10);
+        CountDownLatch bothHold = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(
+            () -> lockThenLock(nodeA, "batch:9", "student:9", longWait, bothHold));
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(
+            () -> lockThenLock(nodeB, "student:9", "batch:9", longWait, bothHold));
+
+        long startedAt = System.nanoTime();
+        CompletableFuture.allOf(first, second).exceptionally(ex -> null).get(15, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertThat(List.of(first.isCompletedExceptionally(), second.isCompletedExceptionally()))
+            .containsExactlyInAnyOrder(true, false);
+        CompletableFuture<Boolean> victim = first.isCompletedExceptionally() ? first : second;
+        assertThatThrownBy(victim::join).hasCauseInstanceOf(LockAcquisitionException.class);
+        assertThat(elapsedMs).isLessThan(longWait.toMillis());
+    }
+
+    private static boolean lockThenLock(DistributedLockService node, String outerKey, String innerKey,
+                                        Duration wait, CountDownLatch bothHold) {
+        var outer = node.acquireLockWithRetry(outerKey, HOLD, 0, SHORT_WAIT);
+        try {
+            bothHold.countDown();
+            bothHold.await(5, TimeUnit.SECONDS);
+            var inner = node.acquireLockWithRetry(innerKey, HOLD, 0, wait);
+            return node.releaseLock(inner);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            node.releaseLock(outer);
+        }
+    }
+
+    private static DistributedLockService newNode() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new DistributedLockService(redisTemplate, scripts, new LocalLockTable(16, meterRegistry),
+            new LeaseWatchdog(scripts, 2000, 500), new LockMetrics(meterRegistry), notifier, meterRegistry);
+    }
+}
@@ -0,0 +1,96 @@
+package com.academy.service;
+
+import com.academy.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for DistributedSemaphoreService against a real Redis
+ * Each service instance stands in for a separate node.
+ */
+@DisplayName("DistributedSemaphoreService Tests")
+class DistributedSemaphoreServiceTest extends RedisContainerSupport {
+
+    private static final Duration HOLD = Duration.ofSeconds(30);
+    private static final Duration SHORT_WAIT = Duration.ofMillis(300);
+
+    private static RedisScriptLibrary scripts;
+    private static LockReleaseNotifier notifier;
+
+    private DistributedSemaphoreService nodeA;
+    private DistributedSemaphoreService nodeB;
+
+    @BeforeAll
+    static void connect() throws Exception {
+        scripts = new RedisScriptLibrary(new StringRedisTemplate(connectionFactory));
+        scripts.readScripts();
+        notifier = new LockReleaseNotifier(startListenerContainer(), 10_000);
+        notifier.subscribe();
+    }
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @Test
+    @DisplayName("Should hand out no more permits than the limit across nodes")
+    void acquirePermit_BeyondLimit_TimesOut() {
+        var first = nodeA.acquirePermit("export", 2, HOLD, SHORT_WAIT);
+        var second = nodeB.acquirePermit("export", 2, HOLD, SHORT_WAIT);
+
+        var third = nodeA.acquirePermit("export", 2, HOLD, SHORT_WAIT);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(third).isNull();
+        assertThat(nodeA.releasePermit(first)).isTrue();
+        assertThat(nodeB.releasePermit(second)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should wake a waiting caller as soon as a permit is given back")
+    void acquirePermit_WhenReleased_WaiterProceeds() throws Exception {
+        var held = nodeA.acquirePermit("roster", 1, HOLD, SHORT_WAIT);
+
+        CompletableFuture<DistributedSemaphoreService.Permit> waiter =
+            CompletableFuture.supplyAsync(() -> nodeB.acquirePermit("roster", 1, HOLD, Duration.ofSeconds(5)));
+        Thread.sleep(100);
+        nodeA.releasePermit(held);
+
+        var acquired = waiter.get(5, TimeUnit.SECONDS);
+        assertThat(acquired).isNotNull();
+        nodeB.releasePermit(acquired);
+    }
+
+    @Test
+    @DisplayName("Should free the permit of a holder that stopped renewing")
+    void acquirePermit_WhenHolderCrashed_FreesAfterLease() {
+        // No watchdog is running here, so the first lease lapses like that of a crashed node
+        var crashed = nodeA.acquirePermit("import", 1, Duration.ofMillis(300), SHORT_WAIT);
+
+        var next = nodeB.acquirePermit("import", 1, HOLD, Duration.ofSeconds(2));
+
+        assertThat(crashed).isNotNull();
+        assertThat(next).isNotNull();
+        assertThat(nodeA.releasePermit(crashed)).isFalse();
+        nodeB.releasePermit(next);
+    }
+
+    private static DistributedSemaphoreService newNode() {
+        return new DistributedSemaphoreService(scripts, new LeaseWatchdog(scripts, 2000, 500), notifier,
+            new LockMetrics(new SimpleMeterRegistry()));
+    }
+}
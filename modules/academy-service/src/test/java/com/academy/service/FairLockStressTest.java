@@ -0,0 +1,137 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import com.academy.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test of the fair lock queue against a real Redis
+ * A burst of threads spread over several nodes hammers one hot key; reports the max and
+ * p999 wait of the plain Redis backend next to the fair one.
+ */
+@Tag("benchmark")
+@DisplayName("Fair Lock Stress Test")
+class FairLockStressTest extends RedisContainerSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(FairLockStressTest.class);
+
+    private static final int NODES = 4;
+    private static final int THREADS = 64;
+    private static final int ACQUISITIONS_PER_THREAD = 10;
+    private static final long HOLD_MS = 2;
+    private static final Duration HOLD = Duration.ofSeconds(30);
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    private static RedisMessageListenerContainer listenerContainer;
+    private static List<DistributedLockService> nodes;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        RedisScriptLibrary scripts = new RedisScriptLibrary(redisTemplate);
+        scripts.readScripts();
+
+        listenerContainer = startListenerContainer();
+
+        nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            LockReleaseNotifier notifier = new LockReleaseNotifier(listenerContainer, 10_000);
+            notifier.subscribe();
+            nodes.add(new DistributedLockService(redisTemplate, scripts, new LocalLockTable(256, meterRegistry),
+                new LeaseWatchdog(scripts, 6000, 2000), new LockMetrics(meterRegistry), notifier, meterRegistry));
+        }
+    }
+
+    @Test
+    @DisplayName("Should bound the tail wait on a hot key when waiters are served in order")
+    void hotKeyBurst_FairQueueBoundsTailWait() throws Exception {
+        WaitReport plain = runBurst("batch:hot:plain",
+            node -> node.acquireLocksWithRetry(List.of("batch:hot:plain"), LockMode.EXCLUSIVE, HOLD, 3, WAIT));
+        WaitReport fair = runBurst("batch:hot:fair",
+            node -> node.acquireLocksFairly(List.of("batch:hot:fair"), LockMode.EXCLUSIVE, HOLD, WAIT));
+
+        log.info("redis      acquired={} timedOut={} p50={}ms p999={}ms max={}ms",
+            plain.acquired(), plain.failed(), plain.percentile(50), plain.percentile(99.9), plain.percentile(100));
+        log.info("redis-fair acquired={} timedOut={} p50={}ms p999={}ms max={}ms",
+            fair.acquired(), fair.failed(), fair.percentile(50), fair.percentile(99.9), fair.percentile(100));
+
+        assertThat(fair.failed()).isZero();
+        assertThat(fair.acquired()).isEqualTo(THREADS * ACQUISITIONS_PER_THREAD);
+        assertThat(fair.percentile(100)).isLessThan(WAIT.toMillis());
+    }
+
+    private WaitReport runBurst(String lockKey, Acquirer acquirer) throws Exception {
+        List<Long> waits = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            DistributedLockService node = nodes.get(t % NODES);
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ACQUISITIONS_PER_THREAD; i++) {
+                    long begin = System.nanoTime();
+                    DistributedLockService.LockHandle handle = acquirer.acquire(node);
+                    if (handle == null) {
+                        failures.incrementAndGet();
+                        continue;
+                    }
+                    waits.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+                    Thread.sleep(HOLD_MS);
+                    node.releaseLock(handle);
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        assertThat(nodes.get(0).isLocked(lockKey)).isFalse();
+        return new WaitReport(new ArrayList<>(waits), failures.get());
+    }
+
+    @FunctionalInterface
+    private interface Acquirer {
+        DistributedLockService.LockHandle acquire(DistributedLockService node);
+    }
+
+    private record WaitReport(List<Long> waits, int failed) {
+
+        int acquired() {
+            return waits.size();
+        }
+
+        long percentile(double p) {
+            if (waits.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(waits);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.academy.service;
+
+import com.academy.support.RedisContainerSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for LeaseWatchdog against a real Redis
+ */
+@DisplayName("LeaseWatchdog Tests")
+class LeaseWatchdogTest extends RedisContainerSupport {
+
+    private static StringRedisTemplate redisTemplate;
+    private static RedisScriptLibrary scripts;
+
+    private LeaseWatchdog watchdog;
+
+    @BeforeAll
+    static void connect() throws Exception {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        scripts = new RedisScriptLibrary(redisTemplate);
+        scripts.readScripts();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Not started: ticks are driven explicitly through renewAll()
+        watchdog = new LeaseWatchdog(scripts, 2000, 500);
+    }
+
+    @Test
+    @DisplayName("Should size the lease from the hold timeout, capped at the configured TTL")
+    void leaseFor_CapsAtConfiguredTtl() {
+        assertThat(watchdog.leaseFor(Duration.ofSeconds(30))).isEqualTo(Duration.ofSeconds(2));
+        assertThat(watchdog.leaseFor(Duration.ofMillis(800))).isEqualTo(Duration.ofMillis(800));
+    }
+
+    @Test
+    @DisplayName("Should renew every held lease in one tick")
+    void renewAll_RenewsOwnedLeases() {
+        hold("lease:a", "token-a", 300);
+        hold("lease:b", "token-b", 300);
+        watchdog.track("lease:a", "token-a", Duration.ofSeconds(30));
+        watchdog.track("lease:b", "token-b", Duration.ofSeconds(30));
+
+        watchdog.renewAll();
+
+        assertThat(redisTemplate.getExpire("lease:a", TimeUnit.MILLISECONDS)).isGreaterThan(1000);
+        assertThat(redisTemplate.getExpire("lease:b", TimeUnit.MILLISECONDS)).isGreaterThan(1000);
+    }
+
+    @Test
+    @DisplayName("Should drop a lease whose key now belongs to another holder")
+    void renewAll_WhenTokenMismatch_MarksLeaseLost() {
+        hold("lease:c", "someone-else", 300);
+        LeaseWatchdog.Lease lease = watchdog.track("lease:c", "token-c", Duration.ofSeconds(30));
+
+        watchdog.renewAll();
+
+        assertThat(lease.isLost()).isTrue();
+        assertThat(watchdog.getHeldLeases()).doesNotContain(lease);
+        assertThat(redisTemplate.getExpire("lease:c", TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("Should let an untracked lease expire on its own")
+    void untrack_LeaseExpiresWithoutRenewal() throws Exception {
+        hold("lease:d", "token-d", 200);
+        LeaseWatchdog.Lease lease = watchdog.track("lease:d", "token-d", Duration.ofSeconds(30));
+        watchdog.untrack(lease);
+
+        Thread.sleep(300);
+        watchdog.renewAll();
+
+        assertThat(redisTemplate.hasKey("lease:d")).isFalse();
+    }
+
+    /**
+     * Write a lock hash the way lease-acquire.lua does
+     */
+    private static void hold(String key, String token, long ttlMs) {
+        redisTemplate.opsForHash().put(key, token, String.valueOf(System.currentTimeMillis() + ttlMs));
+        redisTemplate.expire(key, Duration.ofMillis(ttlMs));
+    }
+}
@@ -0,0 +1,152 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LocalLockTable
+ */
+@DisplayName("LocalLockTable Tests")
+class LocalLockTableTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalLockTable lockTable;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockTable = new LocalLockTable(100, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should round stripe count up to a power of two")
+    void constructor_RoundsStripeCountToPowerOfTwo() {
+        assertThat(lockTable.size()).isEqualTo(128);
+        assertThat(new LocalLockTable(256, meterRegistry).size()).isEqualTo(256);
+    }
+
+    @Test
+    @DisplayName("Should map the same key to the same stripe")
+    void stripeFor_SameKey_ReturnsSameStripe() {
+        assertThat(lockTable.stripeFor("batch:update:1")).isSameAs(lockTable.stripeFor("batch:update:1"));
+    }
+
+    @Test
+    @DisplayName("Should acquire an uncontended key without queueing")
+    void acquire_WhenUncontended_ReturnsLockWithoutQueueing() throws Exception {
+        Lock lock = lockTable.acquire("batch:update:1", 100);
+
+        assertThat(lock).isNotNull();
+        assertThat(meterRegistry.counter("academy.lock.local.queued").count()).isZero();
+        lock.unlock();
+    }
+
+    @Test
+    @DisplayName("Should queue a same-node contender and record saved Redis round-trips")
+    void acquire_WhenHeldByAnotherThread_QueuesAndRecordsSavings() throws Exception {
+        Lock held = lockTable.acquire("batch:update:1", 100);
+
+        CompletableFuture<Lock> contender = CompletableFuture.supplyAsync(() -> {
+            try {
+                return lockTable.acquire("batch:update:1", 5_000);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        Thread.sleep(250);
+        held.unlock();
+
+        Lock acquired = contender.get(5, TimeUnit.SECONDS);
+        assertThat(acquired).isNotNull();
+        assertThat(meterRegistry.counter("academy.lock.local.queued").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("academy.lock.local.redis.saved").count()).isGreaterThanOrEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should return null when the local wait times out")
+    void acquire_WhenWaitTimesOut_ReturnsNull() throws Exception {
+        Lock held = lockTable.acquire("batch:update:1", 100);
+
+        Lock contender = CompletableFuture.supplyAsync(() -> {
+            try {
+                return lockTable.acquire("batch:update:1", 50);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(contender).isNull();
+        held.unlock();
+    }
+
+    @Test
+    @DisplayName("Should acquire every stripe of a key set or none of them")
+    void acquireAll_WhenOneKeyIsHeld_ReleasesPartialAcquisition() throws Exception {
+        Lock held = lockTable.acquire("class:update:7", 100);
+
+        List<Lock> contender = CompletableFuture.supplyAsync(() -> {
+            try {
+                return lockTable.acquireAll(List.of("batch:update:1", "class:update:7"), LockMode.EXCLUSIVE, 50);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(contender).isNull();
+        assertThat(lockTable.stripeFor("batch:update:1").isWriteLocked()).isFalse();
+        held.unlock();
+    }
+
+    @Test
+    @DisplayName("Should not deadlock when key sets are requested in opposite orders")
+    void acquireAll_OppositeOrders_BothComplete() throws Exception {
+        List<String> forward = List.of("batch:update:1", "class:update:7");
+        List<String> reverse = List.of("class:update:7", "batch:update:1");
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> lockRepeatedly(forward));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> lockRepeatedly(reverse));
+
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+    }
+
+    private void lockRepeatedly(List<String> keys) {
+        try {
+            for (int i = 0; i < 500; i++) {
+                List<Lock> locks = lockTable.acquireAll(keys, LockMode.EXCLUSIVE, 5_000);
+                assertThat(locks).isNotNull();
+                lockTable.release(locks);
+            }
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Test
+    @DisplayName("Should let shared holders of a stripe proceed together")
+    void acquireAll_Shared_DoesNotQueueBehindOtherReaders() throws Exception {
+        List<Lock> reader = lockTable.acquireAll(List.of("batch:1"), LockMode.SHARED, 100);
+
+        List<Lock> otherReader = CompletableFuture.supplyAsync(() -> {
+            try {
+                return lockTable.acquireAll(List.of("batch:1"), LockMode.SHARED, 50);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(otherReader).isNotNull();
+        assertThat(meterRegistry.counter("academy.lock.local.queued").count()).isZero();
+        lockTable.release(reader);
+    }
+}
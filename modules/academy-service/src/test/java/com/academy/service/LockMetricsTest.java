@@ -0,0 +1,54 @@
+package com.academy.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LockMetrics
+ */
+@DisplayName("LockMetrics Tests")
+class LockMetricsTest {
+
+    @Test
+    @DisplayName("Should reduce a key locked without a declared pattern to its namespace")
+    void patternOf_Undeclared_Namespace() {
+        assertThat(LockMetrics.patternOf("batch:42")).isEqualTo("batch:*");
+        assertThat(LockMetrics.patternOf("batch:create:Spring Cohort 2025")).isEqualTo("batch:*");
+        assertThat(LockMetrics.patternOf("nightly-report")).isEqualTo("*");
+    }
+
+    @Test
+    @DisplayName("Should describe a key set by its sorted, distinct namespaces")
+    void patternOf_KeySet_JoinsDistinctNamespaces() {
+        assertThat(LockMetrics.patternOf(List.of("class:7", "batch:3", "batch:9"))).isEqualTo("batch:*,class:*");
+    }
+
+    @Test
+    @DisplayName("Should use the declared pattern while one is bound to the thread")
+    void withKeyPattern_Bound_OverridesKeys() {
+        String pattern = LockMetrics.withKeyPattern("batch:create:*",
+            () -> LockMetrics.patternOf(List.of("batch:create:Spring Cohort 2025")));
+
+        assertThat(pattern).isEqualTo("batch:create:*");
+        assertThat(LockMetrics.patternOf("batch:create:Spring Cohort 2025")).isEqualTo("batch:*");
+    }
+
+    @Test
+    @DisplayName("Should tag series by pattern so distinct keys share one timer")
+    void recordWait_SameTimerForKeysOfOnePattern() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LockMetrics metrics = new LockMetrics(registry);
+
+        metrics.recordWait("distributed", LockMetrics.patternOf("batch:1"), "acquired", Duration.ofMillis(5));
+        metrics.recordWait("distributed", LockMetrics.patternOf("batch:2"), "acquired", Duration.ofMillis(7));
+
+        assertThat(registry.find("academy.lock.wait").timers()).hasSize(1);
+        assertThat(registry.get("academy.lock.wait").tag("pattern", "batch:*").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,150 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import com.academy.support.RedisContainerSupport;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and latency benchmark of the three lock backends against a real Redis and MySQL
+ * Threads repeatedly lock one of a handful of keys and release it straight away, so the
+ * numbers are the cost of the backend itself under 1, 8 and 64 contending threads.
+ */
+@Tag("benchmark")
+@DisplayName("LockProvider Benchmark")
+class LockProviderBenchmarkTest extends RedisContainerSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(LockProviderBenchmarkTest.class);
+
+    private static final int[] THREAD_COUNTS = {1, 8, 64};
+    private static final int OPERATIONS_PER_THREAD = 100;
+    private static final int KEYS = 4;
+    private static final Duration HOLD = Duration.ofSeconds(30);
+    private static final Duration WAIT = Duration.ofSeconds(30);
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static HikariDataSource dataSource;
+    private static List<LockProvider> providers;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        RedisScriptLibrary scripts = new RedisScriptLibrary(redisTemplate);
+        scripts.readScripts();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(mysql.getJdbcUrl());
+        dataSource.setUsername(mysql.getUsername());
+        dataSource.setPassword(mysql.getPassword());
+        // Every holder and waiter pins a connection for its named locks; keep one spare
+        int maxThreads = THREAD_COUNTS[THREAD_COUNTS.length - 1];
+        dataSource.setMaximumPoolSize(maxThreads + 1);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DistributedLockService lockService = new DistributedLockService(redisTemplate, scripts,
+            new LocalLockTable(256, meterRegistry), new LeaseWatchdog(scripts, 6000, 2000),
+            new LockMetrics(meterRegistry), new LockReleaseNotifier(startListenerContainer(), 10_000), meterRegistry);
+
+        providers = List.of(
+            new InMemoryLockProvider(1024, meterRegistry),
+            new RedisLockProvider(lockService),
+            new MySqlLockProvider(dataSource, maxThreads));
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should report throughput and latency of each backend under 1/8/64 threads")
+    void throughputAndLatency_PerBackendAndThreadCount() throws Exception {
+        log.info(String.format("%-8s %7s %10s %8s %8s %8s", "backend", "threads", "ops/s", "p50(us)", "p99(us)", "max(us)"));
+        for (LockProvider provider : providers) {
+            // Warm up connections and scripts outside the measurement
+            run(provider, 8);
+            for (int threads : THREAD_COUNTS) {
+                Report report = run(provider, threads);
+                log.info(String.format("%-8s %7d %10.0f %8d %8d %8d", provider.getName(), threads,
+                    report.throughput(), report.percentile(50), report.percentile(99), report.percentile(100)));
+
+                assertThat(report.failed()).isZero();
+                assertThat(report.latencies()).hasSize(threads * OPERATIONS_PER_THREAD);
+            }
+        }
+    }
+
+    private Report run(LockProvider provider, int threads) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    String key = "bench:" + ThreadLocalRandom.current().nextInt(KEYS);
+                    long begin = System.nanoTime();
+                    LockProvider.Lease lease = provider.acquire(List.of(key), LockMode.EXCLUSIVE, HOLD, 3, WAIT);
+                    if (lease == null) {
+                        failures.incrementAndGet();
+                        continue;
+                    }
+                    lease.release();
+                    latencies.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin));
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - began;
+        return new Report(new ArrayList<>(latencies), failures.get(), elapsedNanos);
+    }
+
+    private record Report(List<Long> latencies, int failed, long elapsedNanos) {
+
+        double throughput() {
+            return latencies.size() / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        long percentile(double p) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index));
+        }
+    }
+}
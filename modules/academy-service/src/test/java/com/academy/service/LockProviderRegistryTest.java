@@ -0,0 +1,80 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import com.academy.config.LockBackendProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for LockProviderRegistry
+ */
+@DisplayName("LockProviderRegistry Tests")
+class LockProviderRegistryTest {
+
+    private final LockProvider memory = new NamedProvider("memory");
+    private final LockProvider redis = new NamedProvider("redis");
+    private final LockProvider mysql = new NamedProvider("mysql");
+
+    private LockBackendProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LockBackendProperties();
+        properties.setNamespaces(Map.of("student", "memory", "student:onboarding", "mysql"));
+    }
+
+    @Test
+    @DisplayName("Should route a key to the backend of its longest configured namespace")
+    void providerFor_LongestNamespaceWins() {
+        LockProviderRegistry registry = new LockProviderRegistry(List.of(memory, redis, mysql), properties);
+
+        assertThat(registry.providerFor("student:onboarding:a@b.com")).isSameAs(mysql);
+        assertThat(registry.providerFor("student:7")).isSameAs(memory);
+        assertThat(registry.providerFor("batch:3")).isSameAs(redis);
+    }
+
+    @Test
+    @DisplayName("Should group keys by backend in backend name order")
+    void partition_GroupsInNameOrder() {
+        LockProviderRegistry registry = new LockProviderRegistry(List.of(memory, redis, mysql), properties);
+
+        Map<LockProvider, List<String>> partitioned =
+            registry.partition(List.of("batch:3", "student:7", "student:onboarding:a@b.com", "class:4"));
+
+        assertThat(partitioned.keySet()).containsExactly(memory, mysql, redis);
+        assertThat(partitioned.get(redis)).containsExactly("batch:3", "class:4");
+    }
+
+    @Test
+    @DisplayName("Should fail at startup on an unknown backend name")
+    void constructor_UnknownBackend_FailsFast() {
+        properties.setNamespaces(Map.of("batch", "zookeeper"));
+
+        assertThatThrownBy(() -> new LockProviderRegistry(List.of(memory, redis, mysql), properties))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("zookeeper");
+    }
+
+    private record NamedProvider(String name) implements LockProvider {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Lease acquire(Collection<String> lockKeys, LockMode mode, Duration holdTimeout, int maxRetries,
+                             Duration waitTimeout) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.academy.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for LockReleaseNotifier
+ */
+@DisplayName("LockReleaseNotifier Tests")
+class LockReleaseNotifierTest {
+
+    private LockReleaseNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new LockReleaseNotifier(mock(RedisMessageListenerContainer.class), 2);
+    }
+
+    @Test
+    @DisplayName("Should drop a key once its last waiter cancels")
+    void cancel_LastWaiter_RemovesKey() {
+        CompletableFuture<Void> first = notifier.listen("student:a@x.com");
+        CompletableFuture<Void> second = notifier.listen("student:a@x.com");
+
+        notifier.cancel("student:a@x.com", first);
+        assertThat(notifier.getWaitingKeyCount()).isEqualTo(1);
+        notifier.cancel("student:a@x.com", second);
+
+        assertThat(notifier.getWaitingKeyCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stop tracking new keys once the waiter table is full")
+    void listen_TableFull_ReturnsUnregisteredFuture() {
+        notifier.listen("student:1");
+        notifier.listen("student:2");
+
+        CompletableFuture<Void> overflow = notifier.listen("student:3");
+        notifier.notifyReleased("student:3");
+
+        assertThat(notifier.getWaitingKeyCount()).isEqualTo(2);
+        assertThat(overflow).isNotDone();
+    }
+
+    @Test
+    @DisplayName("Should still register more waiters on a key already tracked when full")
+    void listen_TableFull_KnownKeyStillRegistered() {
+        notifier.listen("student:1");
+        notifier.listen("student:2");
+
+        CompletableFuture<Void> waiter = notifier.listen("student:1");
+        notifier.notifyReleased("student:1");
+
+        assertThat(waiter).isDone();
+    }
+
+    @Test
+    @DisplayName("Should expire and wake registrations never cancelled")
+    void expireUnusedOlderThan_StaleWaiter_CompletedAndDropped() {
+        CompletableFuture<Void> abandoned = notifier.listen("student:1");
+
+        int expired = notifier.expireUnusedOlderThan(Duration.ZERO);
+
+        assertThat(expired).isEqualTo(1);
+        assertThat(abandoned).isDone();
+        assertThat(notifier.getWaitingKeyCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep registrations younger than the idle age")
+    void expireUnusedOlderThan_RecentWaiter_Kept() {
+        CompletableFuture<Void> waiter = notifier.listen("student:1");
+
+        assertThat(notifier.expireUnusedOlderThan(Duration.ofMinutes(10))).isZero();
+        assertThat(waiter).isNotDone();
+        assertThat(notifier.getWaitingKeyCount()).isEqualTo(1);
+    }
+}
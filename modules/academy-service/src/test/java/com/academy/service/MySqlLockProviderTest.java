@@ -0,0 +1,120 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for MySqlLockProvider against a real MySQL
+ * Holders open a second connection from the same pool while locked, the way their
+ * {@code @Transactional} body would.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("MySqlLockProvider Tests")
+class MySqlLockProviderTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int MAX_SESSIONS = 3;
+    private static final int CALLERS = 12;
+    private static final Duration HOLD = Duration.ofSeconds(30);
+    private static final Duration WAIT = Duration.ofSeconds(30);
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static HikariDataSource dataSource;
+
+    @BeforeAll
+    static void connect() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(mysql.getJdbcUrl());
+        dataSource.setUsername(mysql.getUsername());
+        dataSource.setPassword(mysql.getPassword());
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+        dataSource.setConnectionTimeout(2000);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should leave holders a connection for their work with more waiters than the pool has connections")
+    void acquire_MoreWaitersThanConnections_HoldersStillGetConnection() throws Exception {
+        MySqlLockProvider provider = new MySqlLockProvider(dataSource, MAX_SESSIONS);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    LockProvider.Lease lease = provider.acquire(
+                        List.of("student:onboarding:jane@example.com"), LockMode.EXCLUSIVE, HOLD, 0, WAIT);
+                    if (lease == null) {
+                        return false;
+                    }
+                    try {
+                        return queryOnSecondConnection();
+                    } finally {
+                        lease.release();
+                    }
+                }));
+            }
+            start.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(60, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should give up on a session within the wait timeout when every session is taken")
+    void acquire_NoSessionFree_ReturnsNullWithinWait() {
+        MySqlLockProvider provider = new MySqlLockProvider(dataSource, 1);
+        LockProvider.Lease holder = provider.acquire(List.of("batch:1"), LockMode.EXCLUSIVE, HOLD, 0, WAIT);
+        try {
+            long startedAt = System.nanoTime();
+            LockProvider.Lease other = provider.acquire(List.of("batch:2"), LockMode.EXCLUSIVE, HOLD, 0,
+                Duration.ofMillis(300));
+
+            assertThat(other).isNull();
+            assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+        } finally {
+            holder.release();
+        }
+    }
+
+    private static boolean queryOnSecondConnection() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("SELECT 1");
+             ResultSet rs = ps.executeQuery()) {
+            Thread.sleep(5);
+            return rs.next();
+        }
+    }
+}
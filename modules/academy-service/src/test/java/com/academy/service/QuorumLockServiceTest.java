@@ -0,0 +1,194 @@
+package com.academy.service;
+
+import com.academy.annotation.LockMode;
+import com.academy.config.LockNodesProperties;
+import com.academy.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.academy.support.RedisContainerSupport.endpoint;
+import static com.academy.support.RedisContainerSupport.newRedisContainer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for QuorumLockService against three independent Redis servers
+ * A node is made to refuse by planting a foreign holder on it directly.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("QuorumLockService Tests")
+class QuorumLockServiceTest {
+
+    private static final Duration HOLD = Duration.ofSeconds(30);
+    private static final Duration SHORT_WAIT = Duration.ofMillis(300);
+
+    @Container
+    static final GenericContainer<?> redis1 = newRedisContainer();
+    @Container
+    static final GenericContainer<?> redis2 = newRedisContainer();
+    @Container
+    static final GenericContainer<?> redis3 = newRedisContainer();
+
+    // Direct connections for arranging and inspecting each node, bypassing the service
+    private static final Map<GenericContainer<?>, LettuceConnectionFactory> directConnections = new HashMap<>();
+    private static RedisLockNodes lockNodes;
+    private static QuorumLockService service;
+
+    @BeforeAll
+    static void connect() throws Exception {
+        LockNodesProperties properties = new LockNodesProperties();
+        properties.setEndpoints(List.of(endpoint(redis1), endpoint(redis2), endpoint(redis3)));
+        properties.setCommandTimeoutMs(500);
+        lockNodes = new RedisLockNodes(properties);
+        lockNodes.connect();
+        for (GenericContainer<?> redis : List.of(redis1, redis2, redis3)) {
+            directConnections.put(redis, RedisContainerSupport.connect(redis));
+        }
+        service = new QuorumLockService(lockNodes, new LockMetrics(new SimpleMeterRegistry()), properties);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        lockNodes.close();
+        directConnections.values().forEach(LettuceConnectionFactory::destroy);
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (GenericContainer<?> redis : List.of(redis1, redis2, redis3)) {
+            try (RedisConnection connection = connectionTo(redis)) {
+                connection.serverCommands().flushAll();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should need a quorum lock to be released before granting it again")
+    void acquireQuorum_HeldKey_RefusedUntilReleased() {
+        var first = service.acquireQuorum(List.of("batch:1"), LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+        var contender = service.acquireQuorum(List.of("batch:1"), LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+
+        assertThat(first).isNotNull();
+        assertThat(first.isValid()).isTrue();
+        assertThat(contender).isNull();
+
+        assertThat(service.release(first)).isTrue();
+        var second = service.acquireQuorum(List.of("batch:1"), LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+        assertThat(second).isNotNull();
+        assertThat(service.release(second)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should grant a quorum lock while a minority of nodes refuses")
+    void acquireQuorum_MinorityRefuses_Granted() {
+        plantForeignHolder(redis1, "batch:2");
+
+        var lock = service.acquireQuorum(List.of("batch:2"), LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+
+        assertThat(lock).isNotNull();
+        assertThat(service.release(lock)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stop reporting a quorum lease as held once its validity has passed")
+    void nodeLockLease_AfterValidity_NotHeld() throws Exception {
+        LockProvider.Lease lease = new QuorumRedisLockProvider(service)
+            .acquire(List.of("batch:9"), LockMode.EXCLUSIVE, Duration.ofMillis(500), 0, SHORT_WAIT);
+
+        assertThat(lease).isNotNull();
+        assertThat(lease.isHeld()).isTrue();
+        Thread.sleep(600);
+        assertThat(lease.isHeld()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refuse a quorum lock and roll back its grants when a majority refuses")
+    void acquireQuorum_MajorityRefuses_RolledBack() {
+        plantForeignHolder(redis1, "batch:3");
+        plantForeignHolder(redis2, "batch:3");
+
+        var lock = service.acquireQuorum(List.of("batch:3"), LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+
+        assertThat(lock).isNull();
+        try (RedisConnection connection = connectionTo(redis3)) {
+            assertThat(connection.keyCommands().exists("academy-locks:batch:3".getBytes())).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should let shared quorum holders in together")
+    void acquireQuorum_Shared_Coexist() {
+        var readerA = service.acquireQuorum(List.of("batch:4"), LockMode.SHARED, HOLD, SHORT_WAIT);
+        var readerB = service.acquireQuorum(List.of("batch:4"), LockMode.SHARED, HOLD, SHORT_WAIT);
+        var writer = service.acquireQuorum(List.of("batch:4"), LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+
+        assertThat(readerA).isNotNull();
+        assertThat(readerB).isNotNull();
+        assertThat(writer).isNull();
+        service.release(readerA);
+        service.release(readerB);
+    }
+
+    @Test
+    @DisplayName("Should hold each sharded key on exactly the node it hashes to")
+    void acquireSharded_KeysLandOnTheirNode() {
+        List<String> keys = List.of("student:1", "student:2", "student:3", "student:4", "student:5", "student:6");
+
+        var lock = service.acquireSharded(keys, LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+
+        assertThat(lock).isNotNull();
+        Map<String, GenericContainer<?>> byEndpoint = Map.of(
+            endpoint(redis1), redis1, endpoint(redis2), redis2, endpoint(redis3), redis3);
+        for (String key : keys) {
+            String owner = lockNodes.nodeFor(key).getEndpoint();
+            byEndpoint.forEach((endpoint, redis) -> {
+                try (RedisConnection connection = connectionTo(redis)) {
+                    assertThat(connection.keyCommands().exists(("academy-locks:" + key).getBytes()))
+                        .isEqualTo(endpoint.equals(owner));
+                }
+            });
+        }
+        assertThat(service.acquireSharded(List.of("student:3"), LockMode.EXCLUSIVE, HOLD, SHORT_WAIT)).isNull();
+        assertThat(service.release(lock)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should roll back the shards already granted when another shard refuses")
+    void acquireSharded_LaterShardRefuses_RolledBack() {
+        var held = service.acquireSharded(List.of("student:9"), LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+        List<String> keys = List.of("student:1", "student:2", "student:3", "student:4", "student:9");
+
+        var blocked = service.acquireSharded(keys, LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+        service.release(held);
+        var free = service.acquireSharded(List.of("student:1", "student:2", "student:3", "student:4"),
+            LockMode.EXCLUSIVE, HOLD, SHORT_WAIT);
+
+        assertThat(blocked).isNull();
+        assertThat(free).isNotNull();
+        service.release(free);
+    }
+
+    private static void plantForeignHolder(GenericContainer<?> redis, String lockKey) {
+        try (RedisConnection connection = connectionTo(redis)) {
+            connection.hashCommands().hSet(("academy-locks:" + lockKey).getBytes(), "w:other".getBytes(),
+                String.valueOf(System.currentTimeMillis() + HOLD.toMillis()).getBytes());
+        }
+    }
+
+    private static RedisConnection connectionTo(GenericContainer<?> redis) {
+        return directConnections.get(redis).getConnection();
+    }
+}
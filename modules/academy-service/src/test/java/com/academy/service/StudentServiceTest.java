@@ -16,11 +16,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -235,6 +237,48 @@ class StudentServiceTest {
         verify(studentRepository, never()).save(any());
     }
     
+    // ========== createStudentLockless Tests ==========
+    
+    @Test
+    @DisplayName("Should register student without looking up the email first")
+    void createStudentLockless_WhenValid_InsertsWithoutLookup() {
+        // Given
+        StudentDTO inputDTO = studentDTO().email("new@example.com").batchId(null).build();
+        Student newStudent = studentEntity(null, "new@example.com");
+        Student savedStudent = studentEntity(2L, "new@example.com");
+        StudentDTO savedDTO = studentDTO().id(2L).email("new@example.com").build();
+        
+        when(studentMapper.toEntity(inputDTO)).thenReturn(newStudent);
+        when(studentRepository.saveAndFlush(newStudent)).thenReturn(savedStudent);
+        when(studentMapper.toDTO(savedStudent)).thenReturn(savedDTO);
+        
+        // When
+        StudentDTO result = studentService.createStudentLockless(inputDTO);
+        
+        // Then
+        assertThat(result).isEqualTo(savedDTO);
+        verify(studentRepository, never()).findByEmail(any());
+        verify(eventProducer).publishStudentRegisteredEvent(savedStudent);
+    }
+    
+    @Test
+    @DisplayName("Should report an email rejected by the unique index as already existing")
+    void createStudentLockless_WhenEmailExists_ThrowsException() {
+        // Given
+        StudentDTO inputDTO = studentDTO().email("existing@example.com").batchId(null).build();
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("email",
+            new SQLException("Duplicate entry 'existing@example.com' for key 'students.email'", "23000", 1062));
+        when(studentMapper.toEntity(inputDTO)).thenReturn(studentEntity);
+        when(studentRepository.saveAndFlush(studentEntity)).thenThrow(duplicate);
+        
+        // When/Then
+        assertThatThrownBy(() -> studentService.createStudentLockless(inputDTO))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("already exists")
+            .hasCause(duplicate);
+        verify(eventProducer, never()).publishStudentRegisteredEvent(any());
+    }
+    
     @Test
     @DisplayName("Should throw BatchNotFoundException when batch not found")
     void createStudent_WhenBatchNotFound_ThrowsException() {
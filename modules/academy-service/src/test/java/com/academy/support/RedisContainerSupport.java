@@ -0,0 +1,89 @@
+package com.academy.support;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for tests against a real Redis
+ * Starts a Redis container for the test class and connects {@link #connectionFactory} to it before any
+ * of the subclass's {@code @BeforeAll} methods run. Listener containers opened through
+ * {@link #startListenerContainer()} and the connection are closed after the subclass's {@code @AfterAll}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class RedisContainerSupport {
+
+    private static final String REDIS_IMAGE = "redis:7-alpine";
+    private static final int REDIS_PORT = 6379;
+
+    @Container
+    protected static final GenericContainer<?> redis = newRedisContainer();
+
+    protected static LettuceConnectionFactory connectionFactory;
+
+    private static final List<RedisMessageListenerContainer> listenerContainers = new ArrayList<>();
+
+    @BeforeAll
+    static void connectRedis() {
+        connectionFactory = connect(redis);
+    }
+
+    @AfterAll
+    static void disconnectRedis() throws Exception {
+        for (RedisMessageListenerContainer listenerContainer : listenerContainers) {
+            listenerContainer.destroy();
+        }
+        listenerContainers.clear();
+        connectionFactory.destroy();
+    }
+
+    /**
+     * A Redis container not yet started, for tests that need more than one server
+     */
+    public static GenericContainer<?> newRedisContainer() {
+        return new GenericContainer<>(REDIS_IMAGE).withExposedPorts(REDIS_PORT);
+    }
+
+    /**
+     * A started connection factory to a running container; the caller destroys it
+     */
+    public static LettuceConnectionFactory connect(GenericContainer<?> container) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(container.getHost(), container.getMappedPort(REDIS_PORT));
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    /**
+     * "host:port" of a running container, as lock node endpoints are configured
+     */
+    public static String endpoint(GenericContainer<?> container) {
+        return container.getHost() + ":" + container.getMappedPort(REDIS_PORT);
+    }
+
+    /**
+     * A started listener container on {@link #connectionFactory}, destroyed after the test class
+     */
+    protected static RedisMessageListenerContainer startListenerContainer() {
+        RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        listenerContainers.add(listenerContainer);
+        return listenerContainer;
+    }
+
+    protected static void flushAll() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+    }
+}